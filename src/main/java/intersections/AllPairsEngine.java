@@ -0,0 +1,69 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * AllPairsEngine Class:  Default engine that compares every rectangle of the newest generation against every other rectangle.
+ *
+ * Cost is O(n²) overlap tests per generation, regardless of how sparse the rectangles are.  Best suited to small inputs.
+ * overlapPresent() holds the overlap rule for Rectangle objects used by IntersectionReporter.
+ *
+ * */
+
+
+public class AllPairsEngine implements IntersectionEngine {
+
+	@Override
+	public void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition) {
+		int[] leftX = store.minXArray();
+		int[] bottomY = store.minYArray();
+		int[] rightX = store.maxXArray();
+		int[] topY = store.maxYArray();
+
+		//Iterate over all rectangles, only pairing with rectangles from the newest generation:
+		for (int i = 0; i < endPoint; i++) {
+			//Stop condition checked every 64 rectangles (each compared against up to endPoint others):
+			if ((i & 63) == 0 && stopCondition.getAsBoolean())
+				return;
+			int startPoint = Math.max(i + 1, lastIntersection);
+
+			//Iteratively compare rectangles starting from next rectangle to rectangle i:
+			for (int j = startPoint; j < endPoint; j++) {
+				if (!(leftX[i] > rightX[j] || rightX[i] < leftX[j] || topY[i] < bottomY[j] || bottomY[i] > topY[j]))
+					consumer.accept(i, j);
+			}
+		}
+	}
+
+
+	/**
+	 * Determines if 2 rectangles overlap with each other or not.  Touching edges count as an overlap.
+	 *
+	 * @param rectangle1, 1st rectangle.
+	 * @param rectangle2, 2nd rectangle.
+	 *
+	 * @return true, overlap exists.
+	 * @return false, no overlap exists.
+	 *
+	 * */
+	static boolean overlapPresent(Rectangle rectangle1, Rectangle rectangle2) {
+		//Rectangle 1 coordinates:
+		int R1LeftX = rectangle1.getX();
+		int R1RightX = R1LeftX + rectangle1.getDeltaX();
+		int R1BottomY = rectangle1.getY();
+		int R1TopY = R1BottomY + rectangle1.getDeltaY();
+
+		//Rectangle 2 coordinates:
+		int R2LeftX = rectangle2.getX();
+		int R2RightX = R2LeftX + rectangle2.getDeltaX();
+		int R2BottomY = rectangle2.getY();
+		int R2TopY = R2BottomY + rectangle2.getDeltaY();
+
+		//Determine if at least one set of sides overlap between two rectangles:
+		return !(R1LeftX > R2RightX || R1RightX < R2LeftX || R1TopY < R2BottomY || R1BottomY > R2TopY);
+	}
+
+}
@@ -1,8 +1,20 @@
 package intersections;
 
 //Java Language Imports and local imports: 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FileInputStream;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.security.InvalidAlgorithmParameterException;
 import java.util.ArrayList;
@@ -14,9 +26,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
-import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
 
 
 
@@ -34,56 +44,171 @@ import org.everit.json.schema.loader.SchemaLoader;
  * 
  * Readability: Full English names used for coding style to enforce maximum readability.  (Apologies if Verbose) 
  * 
+ * Binary Inputs: A binary rectangle file (see RectangleFile) can be given in place of a JSON file, and is detected by its header. 
+ * 
+ * Large Inputs: Every input rectangle is processed.  Optional arguments after the file path configure the search: 
+ * 
+ * 		--engine=sweep|all-pairs|parallel|rtree|grid   Engine used to find overlapping pairs (default sweep). 
+ * 
+ * 		--max-intersections=N          Stop after N intersections (default 1000000). 
+ * 
+ * 		--max-generations=N            Stop after N generations of intersections (default unlimited). 
+ * 
+ * 		--max-contributors=N           Leave out intersections of more than N rectangles, at least 2 (default unlimited). 
+ * 
+ * 		--mode=generations|clique      Build generations of intersections, or enumerate cliques of the overlap graph (default generations). 
+ * 
+ * 		--output=text|jsonl|csv        Format intersections are written in as they are found (default text). 
+ * 
  * */
 
 
 public class App {
 	
 	
-	private static final String SCHEMAURI = "C:\\Users\\dzb10\\Programming\\Java\\Java_MasterClass\\intersectionsProject\\src\\main\\resources\\Schema\\"; 
+	//Guard used in place of reducing large inputs: 
+	private static final int DEFAULT_MAX_INTERSECTIONS = 1000000; 
 	
     public static void main(String[] args) {
+    	//Buffer console output, since large inputs print many lines: 
+    	System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false));
+    	
+    	//Plain text output ends with a closing line (JSON Lines and CSV output hold results only): 
+    	boolean textOutput = true; 
+    	
     	try {
     		//Resource Safety 1: Check for null Input, incorrect file name format: 
     		String jsonFilePath = args[0]; 
     		if (!isFilePathValid(jsonFilePath))
-    			System.exit(404);
+    			exit(404);
 
-			//Resource Safety 2: Check for existence of JSON file, file is not null, correct JSON schema.  
-    		
-    		if (!isFileCorrect(jsonFilePath))
-    			System.exit(400); 
-    		
-    		FileReader jsonReader = new FileReader(jsonFilePath);
-			JSONTokener tokener = new JSONTokener(jsonReader); 
-			JSONObject parser = new JSONObject(tokener); 
-			
-			
-			//Resource Safety 3: Check for existence of  Negative X/Y + Delta Values, only 1 rectangle specified:   
-			JSONArray rectangleCoordinates = parser.getJSONArray("rects");
-			ArrayList<Rectangle> rectangles = createRectangles(rectangleCoordinates);
-			if (rectangles == null || rectangles.size() == 1)
-				System.exit(400);
-			
-			//Reduce Rectangle set size if necessary: 
-			else if (rectangles.size() > 10)
-				rectangles = reduceToTen(rectangles); 
+			//Load rectangles from a binary or JSON file, then configure engine and guards from optional arguments: 
+			IntersectionReporter reporter; 
+			if (isBinaryFile(jsonFilePath)) {
+				//Resource Safety 2 + 3: Map the binary file into a store, checking Negative X/Y + Delta Values and only 1 rectangle specified:   
+				RectangleStore store = loadRectangles(jsonFilePath); 
+				if (store == null || store.size() == 1)
+					exit(400); 
+				reporter = createReporter(store, args); 
+			} else {
+				//Resource Safety 2 + 3: Stream the JSON file once, checking schema rules, Negative X/Y + Delta Values and only 1 rectangle specified:   
+				ArrayList<Rectangle> rectangles = readRectangles(jsonFilePath);
+				if (rectangles == null || rectangles.size() == 1)
+					exit(400);
+				reporter = createReporter(rectangles, args); 
+			}
+			if (reporter == null)
+				exit(400); 
 			
-			
-			//Find intersections and print inputs + intersections:  
-			IntersectionReporter reporter = new IntersectionReporter(rectangles);
-			ArrayList<Rectangle> intersections = reporter.getIntersections();
-			reporter.printInputs();
-			reporter.printIntersections(intersections);
+			//Print inputs, then stream intersections to the output as they are found:  
+			IntersectionSink sink = createSink(args, new OutputStreamWriter(System.out, StandardCharsets.UTF_8)); 
+			if (sink == null)
+				exit(400); 
+			textOutput = sink instanceof TextIntersectionSink; 
+			if (textOutput)
+				reporter.printInputs();
+			int count = reporter.reportIntersections(sink); 
+			if (reporter.isLimitReached())
+				(textOutput ? System.out : System.err).println("Intersection limit reached.  Only " + count + " intersections are reported, see --max-intersections and --max-generations");
 			
 		} catch (Exception exception) {
 			exception.printStackTrace();
 		} finally {
-			System.out.println("Program closing");
+			if (textOutput)
+				System.out.println("Program closing");
+			System.out.flush();
 		}
     }    
     
     
+    /**
+     * Flushes buffered output before exiting with an error code. 
+     * */
+    private static void exit(int status) {
+    	System.out.flush();
+    	System.exit(status);
+    }
+    
+    
+    /**
+     * Creates an IntersectionReporter for the input rectangles, configured by the optional arguments following the file path. 
+     * 
+     * @param rectangles, the input rectangles. 
+     * @param args, the command line arguments (args[0] is the file path). 
+     * 
+     * @return reporter, the configured reporter. 
+     * 
+     * @return null, an optional argument is unknown or has an invalid value. 
+     * */
+    public static IntersectionReporter createReporter(ArrayList<Rectangle> rectangles, String[] args) {
+    	return createReporter(rectangles, null, args); 
+    }
+    
+    
+    /**
+     * Creates an IntersectionReporter for input rectangles held in a store, configured by the optional arguments following the file path. 
+     * 
+     * @param store, the input rectangles. 
+     * @param args, the command line arguments (args[0] is the file path). 
+     * 
+     * @return reporter, the configured reporter. 
+     * 
+     * @return null, an optional argument is unknown or has an invalid value. 
+     * */
+    public static IntersectionReporter createReporter(RectangleStore store, String[] args) {
+    	return createReporter(null, store, args); 
+    }
+    
+    
+    private static IntersectionReporter createReporter(ArrayList<Rectangle> rectangles, RectangleStore store, String[] args) {
+    	IntersectionEngine engine = new PlaneSweepEngine(); 
+    	int maxIntersections = DEFAULT_MAX_INTERSECTIONS; 
+    	int maxGenerations = Integer.MAX_VALUE; 
+    	int maxContributors = Integer.MAX_VALUE; 
+    	boolean cliqueSearch = false; 
+    	
+    	try {
+	    	for (int i = 1; i < args.length; i++) {
+	    		String argument = args[i]; 
+	    		if (argument.equals("--engine=sweep"))
+	    			engine = new PlaneSweepEngine(); 
+	    		else if (argument.equals("--engine=all-pairs"))
+	    			engine = new AllPairsEngine(); 
+	    		else if (argument.equals("--engine=parallel"))
+	    			engine = new ParallelEngine(); 
+	    		else if (argument.equals("--engine=rtree"))
+	    			engine = new RTreeEngine(); 
+	    		else if (argument.equals("--engine=grid"))
+	    			engine = new GridEngine(); 
+	    		else if (argument.startsWith("--max-intersections="))
+	    			maxIntersections = Integer.parseInt(argument.substring("--max-intersections=".length())); 
+	    		else if (argument.startsWith("--max-generations="))
+	    			maxGenerations = Integer.parseInt(argument.substring("--max-generations=".length())); 
+	    		else if (argument.startsWith("--max-contributors="))
+	    			maxContributors = Integer.parseInt(argument.substring("--max-contributors=".length())); 
+	    		else if (argument.equals("--mode=generations"))
+	    			cliqueSearch = false; 
+	    		else if (argument.equals("--mode=clique"))
+	    			cliqueSearch = true; 
+	    		else if (argument.startsWith("--output="))
+	    			continue; 
+	    		else
+	    			throw new IllegalArgumentException(argument); 
+	    	}
+	    	
+	    	IntersectionReporter reporter = rectangles != null ? new IntersectionReporter(rectangles, engine) : new IntersectionReporter(store, engine); 
+	    	reporter.setMaxIntersections(maxIntersections);
+	    	reporter.setMaxGenerations(maxGenerations);
+	    	reporter.setMaxContributors(maxContributors);
+	    	reporter.setCliqueSearch(cliqueSearch);
+	    	return reporter; 
+    	} catch (IllegalArgumentException exception) {
+    		System.out.println("Unknown or invalid option.  Please use --engine=sweep|all-pairs|parallel|rtree|grid, --max-intersections=N, --max-generations=N, --max-contributors=N or --mode=generations|clique or --output=text|jsonl|csv");
+    		return null; 
+    	}
+    }
+    
+    
     
     
     /**
@@ -122,17 +247,17 @@ public class App {
      * @return false, The file isn't JSON, doesn't exist or does not conform to the schema format. 
      */
     public static boolean isFileCorrect(String jsonFilePath) {
-    	try {
-        	FileReader testReader = new FileReader(jsonFilePath);
+    	//Schema is compiled once and shared (see RectangleSchema), so only the file is parsed here: 
+    	try (FileReader testReader = new FileReader(jsonFilePath)) {
     		JSONTokener testTokener = new JSONTokener(testReader);
     		JSONObject JSON = new JSONObject(testTokener);
-    		FileReader schemaReader = new FileReader(SCHEMAURI + "JSONSchema.json"); 
-    		JSONObject schemaJSON = new JSONObject(new JSONTokener(schemaReader)); 
-    		Schema JSONSchema = SchemaLoader.load(schemaJSON);
-    		JSONSchema.validate(JSON);
+    		RectangleSchema.validate(JSON);
     	} catch (FileNotFoundException exception) {
     		System.out.println("The file was not found.  Please ensure file exists");
     		return false;  
+    	} catch (IOException exception) {
+    		System.out.println("The file could not be read.  Please ensure file is readable");
+    		return false; 
     	} catch (JSONException exception) {
     		System.out.println("File type is not invalid. Please supply a JSON file");
     		return false; 
@@ -145,6 +270,111 @@ public class App {
     }
     
    
+    /**
+     * Creates the IntersectionSink selected by the --output argument following the file path (text by default). 
+     * 
+     * @param args, the command line arguments (args[0] is the file path). 
+     * @param writer, the writer the sink writes to. 
+     * 
+     * @return sink, the selected sink. 
+     * 
+     * @return null, the --output argument has an unknown value. 
+     * */
+    public static IntersectionSink createSink(String[] args, Writer writer) {
+    	String output = "text"; 
+    	for (int i = 1; i < args.length; i++) {
+    		if (args[i].startsWith("--output="))
+    			output = args[i].substring("--output=".length()); 
+    	}
+    	
+    	if (output.equals("text"))
+    		return new TextIntersectionSink(writer); 
+    	if (output.equals("jsonl"))
+    		return new JsonLinesIntersectionSink(writer); 
+    	if (output.equals("csv"))
+    		return new CsvIntersectionSink(writer); 
+    	
+    	System.out.println("Unknown output format.  Please use --output=text|jsonl|csv");
+    	return null; 
+    }
+    
+    
+    /**
+     * Determines if a file is a binary rectangle file (see RectangleFile), rather than a JSON file. 
+     * */
+    private static boolean isBinaryFile(String filePath) {
+    	try {
+    		return RectangleFile.isRectangleFile(Paths.get(filePath)); 
+    	} catch (IOException exception) {
+    		return false; 
+    	}
+    }
+    
+    
+    /**
+     * Loads the rectangles of a binary rectangle file into a store through a memory mapping, validating the rectangle parameters. 
+     * 
+     * @param filePath, A string of the relative file path to the binary rectangle file. 
+     * 
+     * @return store, A store of the rectangles that can be processed by an instance of IntersectionReporter. 
+     * 
+     * @return null, The file doesn't exist, is corrupt or holds a negative or 0 parameter. 
+     * */
+    public static RectangleStore loadRectangles(String filePath) {
+    	try {
+    		RectangleStore store = RectangleFile.load(Paths.get(filePath)); 
+    		for (int row = 0; row < store.size(); row++) {
+    			if (!checkCoordinates(store.getMaxX(row) - store.getMinX(row), store.getMaxY(row) - store.getMinY(row), store.getMinX(row), store.getMinY(row)))
+    				return null; 
+    		}
+    		return store; 
+    	} catch (NoSuchFileException exception) {
+    		System.out.println("The file was not found.  Please ensure file exists");
+    		return null;  
+    	} catch (IOException exception) {
+    		System.out.println("The binary rectangle file could not be read: " + exception.getMessage());
+    		return null; 
+    	}
+    }
+    
+    
+    /**
+     * Reads the rectangles of a JSON file in a single streaming pass, validating the schema rules and rectangle parameters as it goes. 
+     * Replaces isFileCorrect() followed by createRectangles(), which parse the whole file twice. 
+     * 
+     * @param jsonFilePath, A string of the relative file path to the specified JSON file
+     * 
+     * @return rectangles, An array list of rectangle objects that can be processed by an instance of IntersectionReporter. 
+     * 
+     * @return null, The file doesn't exist, isn't JSON, does not conform to the schema format, holds a negative or 0 parameter or a 
+     * rectangle reaching beyond the int coordinate range. 
+     * */
+    public static ArrayList<Rectangle> readRectangles(String jsonFilePath) {
+    	ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>(); 
+    	try (Reader jsonReader = new InputStreamReader(new FileInputStream(jsonFilePath), StandardCharsets.UTF_8)) {
+    		boolean completed = new RectangleReader(jsonReader).read((x, y, deltaX, deltaY) -> {
+    			if (!checkCoordinates(deltaX, deltaY, x, y))
+    				return false; 
+    			rectangles.add(new Rectangle(deltaX, deltaY, x, y, rectangles.size() + 1)); 
+    			return true; 
+    		}); 
+    		return completed ? rectangles : null; 
+    	} catch (FileNotFoundException exception) {
+    		System.out.println("The file was not found.  Please ensure file exists");
+    		return null;  
+    	} catch (JSONException exception) {
+    		System.out.println("File type is not invalid. Please supply a JSON file");
+    		return null; 
+    	} catch (ValidationException exception) {
+    		System.out.println("JSON format does not match the required format.  Please supply a correctly formatted JSON file");
+    		return null; 
+    	} catch (IOException exception) {
+    		System.out.println("The file could not be read.  Please ensure file is readable");
+    		return null; 
+    	}
+    }
+    
+    
     /**
      * 
      * Converts a formatted JSON array into a set of Rectangle objects with coordinates (x, y) and dimensions deltaX and deltaY. 
@@ -173,14 +403,15 @@ public class App {
     
     
     /**
-     * Checks rectangle parameters deltaX, deltaY, x, and y to see if they are negative or 0.  
+     * Checks rectangle parameters deltaX, deltaY, x, and y to see if they are negative or 0, or if x + deltaX or y + deltaY 
+     * overflows an int (the check of RectangleReader.readStore()).  
      * @param deltaX, Rectangle width 
      * @param deltaY, Rectangle height
      * @param x, x-coordinate of bottom-right Rectangle point. 
      * @param y, y-coordinate of bottom-right Rectangle point.
      * 
-     * @return true, all coordinates are greater than 0. 
-     * @return false, at least one coordinate is negative or 0. 
+     * @return true, all coordinates are greater than 0 and the rectangle fits in the int coordinate range. 
+     * @return false, at least one coordinate is negative or 0, or the rectangle exceeds the coordinate range. 
      * */
     
     private static boolean checkCoordinates(int deltaX, int deltaY, int x, int y) {
@@ -191,10 +422,32 @@ public class App {
 			System.out.println("Negative rectangle size or coordinates.  Please use different coordinates");
 			return false; 
 		}
+    	if ((long) x + deltaX > Integer.MAX_VALUE || (long) y + deltaY > Integer.MAX_VALUE) {
+    		System.out.println("Rectangle exceeds the coordinate range.  Please use different coordinates");
+    		return false; 
+    	}
     	return true; 
     }
     
     
+    /**
+     * Finds the first rectangle of a store with a negative or 0 parameter (the checks of checkCoordinates(), without printing). 
+     * 
+     * @param store, the rectangles to check. 
+     * 
+     * @return id, the contributor id of the first invalid rectangle. 
+     * 
+     * @return -1, every parameter is greater than 0. 
+     * */
+    static int findInvalidRectangle(RectangleStore store) {
+    	for (int row = 0; row < store.size(); row++) {
+    		if (store.getMinX(row) <= 0 || store.getMinY(row) <= 0 || store.getMaxX(row) <= store.getMinX(row) || store.getMaxY(row) <= store.getMinY(row))
+    			return store.getContributor(row); 
+    	}
+    	return -1; 
+    }
+    
+    
     /**
      * Reduces size of rectangle set to a set of 10 rectangles. 
      * 
@@ -202,7 +455,10 @@ public class App {
      * 
      * @return reducedRectangles, the reduced array list of Rectangle instances. 
      * 
+     * @deprecated Inputs are no longer reduced.  Use IntersectionReporter.setMaxIntersections() or setMaxGenerations() to bound the search. 
+     * 
      * */
+    @Deprecated
     public static ArrayList<Rectangle> reduceToTen(ArrayList<Rectangle> rectangles) {
     	ArrayList<Rectangle> reducedRectangles = new ArrayList<Rectangle>(); 
     	
@@ -0,0 +1,506 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+
+//External Library classes:
+import org.everit.json.schema.ValidationException;
+import org.json.JSONException;
+
+
+/**
+ * BatchRunner Class:  Processes many rectangle files in one JVM, each on its own task of a bounded executor.
+ *
+ * Usage: java -cp target/classes:... intersections.BatchRunner <directory|glob> <output directory> [--threads=N] [App options]
+ *
+ * Batch Process:
+ *
+ * 		1. Collect every regular file of a directory, or every file under the glob's base directory matching the glob
+ * 		   (e.g. "layouts/*.json" or "layouts/**.rects"), in path order.
+ *
+ * 		2. Run each file on a task, with at most N files in progress (default one per processor).  Tasks run on virtual threads
+ * 		   when the runtime has them (Java 21 and later), and on a fixed pool of N threads otherwise.
+ *
+ * 		3. Write the intersections of each file to its own output file, at the file's path relative to the base directory with the
+ * 		   extension of the --output format (.txt, .jsonl or .csv) appended.
+ *
+ * 		4. Print one line per file in input order, then a summary of counts and timings.
+ *
+ * A file that cannot be read, breaks the format rules or fails while searching is reported with its error and does not stop the
+ * other files; System.exit() is only used once every file is done (status 400 if any file failed).  App options (--engine,
+ * --max-intersections, --max-generations, --max-contributors, --mode and --output) apply to every file.
+ *
+ * */
+
+
+public final class BatchRunner {
+
+	private final Path outputDirectory;
+	private final String[] options;
+	private final int threads;
+
+
+	/**
+	 * @param outputDirectory, directory receiving one output file per input file.
+	 * @param options, App options applied to every file.
+	 * @param threads, the most files processed at once.
+	 * */
+	public BatchRunner(Path outputDirectory, String[] options, int threads) {
+		if (outputDirectory == null || options == null)
+			throw new NullPointerException("Null output directory or options not accepted");
+		if (threads < 1)
+			throw new IllegalArgumentException("At least 1 thread is required");
+		this.outputDirectory = outputDirectory;
+		this.options = options.clone();
+		this.threads = threads;
+	}
+
+
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.out.println("Usage: BatchRunner <directory|glob> <output directory> [--threads=N] [App options]");
+			System.exit(400);
+		}
+
+		//Split batch options from App options:
+		int threads = Runtime.getRuntime().availableProcessors();
+		ArrayList<String> options = new ArrayList<String>();
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].startsWith("--threads=")) {
+				try {
+					threads = Integer.parseInt(args[i].substring("--threads=".length()));
+				} catch (NumberFormatException exception) {
+					threads = 0;
+				}
+				if (threads < 1) {
+					System.out.println("Invalid thread count.  Please use --threads=N with N of at least 1");
+					System.exit(400);
+				}
+			} else {
+				options.add(args[i]);
+			}
+		}
+		String[] appOptions = options.toArray(new String[0]);
+
+		//Check options once, so every file is not rejected for the same reason:
+		String[] checkArgs = withPath("options", appOptions);
+		if (App.createReporter(new RectangleStore(), checkArgs) == null || App.createSink(checkArgs, new StringWriter()) == null)
+			System.exit(400);
+
+		try {
+			Path baseDirectory = baseDirectory(args[0]);
+			List<Path> inputs = findInputs(args[0]);
+			Summary summary = new BatchRunner(Paths.get(args[1]), appOptions, threads).run(baseDirectory, inputs);
+			summary.print(System.out);
+			System.out.flush();
+			if (summary.getFailed() > 0)
+				System.exit(400);
+		} catch (IOException exception) {
+			System.out.println("The input files could not be listed: " + exception.getMessage());
+			System.exit(404);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			System.out.println("Batch interrupted");
+			System.exit(400);
+		}
+	}
+
+
+	/**
+	 * Finds the input files of a directory or glob.
+	 *
+	 * @param directoryOrGlob, a directory (every regular file directly inside it) or a glob such as "layouts/*.json".
+	 *
+	 * @return inputs, the matching regular files in path order.
+	 * */
+	public static List<Path> findInputs(String directoryOrGlob) throws IOException {
+		ArrayList<Path> inputs = new ArrayList<Path>();
+		if (!isGlob(directoryOrGlob)) {
+			try (Stream<Path> files = Files.list(Paths.get(directoryOrGlob))) {
+				files.filter(Files::isRegularFile).forEach(inputs::add);
+			}
+		} else {
+			Path base = baseDirectory(directoryOrGlob);
+			PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob.substring(prefixLength(directoryOrGlob)));
+			try (Stream<Path> files = Files.walk(base)) {
+				files.filter(file -> Files.isRegularFile(file) && matcher.matches(base.relativize(file))).forEach(inputs::add);
+			}
+		}
+		Collections.sort(inputs);
+		return inputs;
+	}
+
+
+	/**
+	 * Finds the directory input file paths are made relative to: the directory itself, or the part of a glob before its first
+	 * wildcard.
+	 *
+	 * @param directoryOrGlob, a directory or a glob.
+	 *
+	 * @return base, the base directory.
+	 * */
+	static Path baseDirectory(String directoryOrGlob) {
+		if (!isGlob(directoryOrGlob))
+			return Paths.get(directoryOrGlob);
+		String prefix = directoryOrGlob.substring(0, prefixLength(directoryOrGlob));
+		return prefix.isEmpty() ? Paths.get(".") : Paths.get(prefix);
+	}
+
+
+	/**
+	 * Processes every input file and collects the results in input order.
+	 *
+	 * @param baseDirectory, the directory output paths are made relative to.
+	 * @param inputs, the files to process.
+	 *
+	 * @return summary, the result of every file and the total time.
+	 * */
+	public Summary run(Path baseDirectory, List<Path> inputs) throws InterruptedException {
+		long startTime = System.nanoTime();
+		Semaphore permits = new Semaphore(threads);
+		ExecutorService executor = createExecutor(threads);
+		ArrayList<Future<FileResult>> futures = new ArrayList<Future<FileResult>>(inputs.size());
+		try {
+			for (Path input : inputs) {
+				//Admit a file only when one of the N permits is free, so queued work stays bounded:
+				permits.acquire();
+				futures.add(executor.submit(() -> {
+					try {
+						return processFile(input, outputPath(baseDirectory, input));
+					} finally {
+						permits.release();
+					}
+				}));
+			}
+
+			ArrayList<FileResult> results = new ArrayList<FileResult>(inputs.size());
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					results.add(futures.get(i).get());
+				} catch (ExecutionException exception) {
+					results.add(FileResult.failed(inputs.get(i), 0, String.valueOf(exception.getCause())));
+				}
+			}
+			return new Summary(results, System.nanoTime() - startTime);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * Processes one file, writing its intersections to an output file.  Every exception is caught and returned in the result,
+	 * and a file that fails leaves no output file behind.  Errors (e.g. OutOfMemoryError) are not caught here.
+	 *
+	 * @param input, the binary or JSON rectangle file.
+	 * @param output, the output file.
+	 *
+	 * @return result, the counts and time of the file, or its error.
+	 * */
+	FileResult processFile(Path input, Path output) {
+		long startTime = System.nanoTime();
+		try {
+			RectangleStore store = loadStore(input);
+			if (store.size() == 1)
+				return FileResult.failed(input, System.nanoTime() - startTime, "Only 1 rectangle specified.  At least 2 rectangles are needed");
+
+			//Options were checked by main(), but runs built in code may pass anything:
+			String[] args = withPath(input.toString(), options);
+			IntersectionReporter reporter = App.createReporter(store, args);
+			if (reporter == null)
+				return FileResult.failed(input, System.nanoTime() - startTime, "Unknown or invalid option");
+
+			if (output.getParent() != null)
+				Files.createDirectories(output.getParent());
+			int count;
+			boolean written = false;
+			try {
+				try (Writer writer = new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8)) {
+					IntersectionSink sink = App.createSink(args, writer);
+					if (sink == null)
+						return FileResult.failed(input, System.nanoTime() - startTime, "Unknown output format");
+					count = reporter.reportIntersections(sink);
+				}
+				written = true;
+			} finally {
+				//Partially written output of a failed file:
+				if (!written)
+					deleteOutput(output);
+			}
+			return new FileResult(input, store.size(), count, reporter.isLimitReached(), System.nanoTime() - startTime, null);
+		} catch (NoSuchFileException exception) {
+			return FileResult.failed(input, System.nanoTime() - startTime, "The file was not found: " + exception.getMessage());
+		} catch (JSONException exception) {
+			return FileResult.failed(input, System.nanoTime() - startTime, "File is not valid JSON: " + exception.getMessage());
+		} catch (ValidationException exception) {
+			return FileResult.failed(input, System.nanoTime() - startTime, "JSON format does not match the required format (" + exception.getMessage() + ")");
+		} catch (IOException exception) {
+			return FileResult.failed(input, System.nanoTime() - startTime, exception.getMessage());
+		} catch (RuntimeException exception) {
+			return FileResult.failed(input, System.nanoTime() - startTime, exception.toString());
+		}
+	}
+
+
+	/**
+	 * Removes the output file of a failed file.  An output that cannot be removed is left, as the file result already reports the failure.
+	 * */
+	private static void deleteOutput(Path output) {
+		try {
+			Files.deleteIfExists(output);
+		} catch (IOException exception) {
+			//Left in place: The failure is reported for the file:
+		}
+	}
+
+
+	/**
+	 * Loads a binary or JSON rectangle file into a store, with the parameter checks of App.
+	 * */
+	private static RectangleStore loadStore(Path input) throws IOException {
+		RectangleStore store;
+		if (RectangleFile.isRectangleFile(input)) {
+			store = RectangleFile.load(input);
+		} else {
+			try (Reader jsonReader = new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8)) {
+				store = new RectangleReader(jsonReader).readStore();
+			}
+		}
+
+		int invalid = App.findInvalidRectangle(store);
+		if (invalid != -1)
+			throw new IOException("Negative rectangle size or coordinates for rectangle " + invalid);
+		return store;
+	}
+
+
+	/**
+	 * @return output, the input path relative to the base directory, under the output directory, with the format extension.
+	 * */
+	Path outputPath(Path baseDirectory, Path input) {
+		Path relative = input.startsWith(baseDirectory) ? baseDirectory.relativize(input) : input.getFileName();
+		String extension = ".txt";
+		for (String option : options) {
+			if (option.equals("--output=jsonl"))
+				extension = ".jsonl";
+			else if (option.equals("--output=csv"))
+				extension = ".csv";
+			else if (option.equals("--output=text"))
+				extension = ".txt";
+		}
+		return outputDirectory.resolve(relative.toString() + extension);
+	}
+
+
+	/**
+	 * Creates a virtual thread per task executor when the runtime provides one (found by reflection, since the build targets
+	 * Java 8), or a fixed pool of threads otherwise.
+	 * */
+	static ExecutorService createExecutor(int threads) {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			return Executors.newFixedThreadPool(threads);
+		}
+	}
+
+
+	private static String[] withPath(String path, String[] options) {
+		String[] args = new String[options.length + 1];
+		args[0] = path;
+		System.arraycopy(options, 0, args, 1, options.length);
+		return args;
+	}
+
+
+	private static boolean isGlob(String path) {
+		return prefixLength(path) < path.length();
+	}
+
+
+	/**
+	 * @return length, the length of the directory part of a path before its first wildcard (including the separator).
+	 * */
+	private static int prefixLength(String path) {
+		int wildcard = path.length();
+		for (char character : new char[] {'*', '?', '[', '{'}) {
+			int index = path.indexOf(character);
+			if (index >= 0 && index < wildcard)
+				wildcard = index;
+		}
+		int separator = Math.max(path.lastIndexOf('/', wildcard), path.lastIndexOf('\\', wildcard));
+		return wildcard == path.length() ? path.length() : separator + 1;
+	}
+
+
+
+	/**
+	 * FileResult Class:  Outcome of one input file.
+	 * */
+	public static final class FileResult {
+
+		private final Path input;
+		private final int rectangles;
+		private final int intersections;
+		private final boolean limitReached;
+		private final long elapsedNanos;
+		private final String error;
+
+		FileResult(Path input, int rectangles, int intersections, boolean limitReached, long elapsedNanos, String error) {
+			this.input = input;
+			this.rectangles = rectangles;
+			this.intersections = intersections;
+			this.limitReached = limitReached;
+			this.elapsedNanos = elapsedNanos;
+			this.error = error;
+		}
+
+		static FileResult failed(Path input, long elapsedNanos, String error) {
+			return new FileResult(input, 0, 0, false, elapsedNanos, error);
+		}
+
+		public Path getInput() {
+			return input;
+		}
+
+		public int getRectangles() {
+			return rectangles;
+		}
+
+		public int getIntersections() {
+			return intersections;
+		}
+
+		public boolean isLimitReached() {
+			return limitReached;
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 * @return error, the reason the file failed, or null if it succeeded.
+		 * */
+		public String getError() {
+			return error;
+		}
+
+		public boolean isSucceeded() {
+			return error == null;
+		}
+	}
+
+
+
+	/**
+	 * Summary Class:  Results of every file of a batch, in input order, with aggregated counts and timings.
+	 * */
+	public static final class Summary {
+
+		private final List<FileResult> results;
+		private final long elapsedNanos;
+
+		Summary(List<FileResult> results, long elapsedNanos) {
+			this.results = Collections.unmodifiableList(results);
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public List<FileResult> getResults() {
+			return results;
+		}
+
+		public int getFailed() {
+			int failed = 0;
+			for (FileResult result : results) {
+				if (!result.isSucceeded())
+					failed++;
+			}
+			return failed;
+		}
+
+		public long getIntersections() {
+			long intersections = 0;
+			for (FileResult result : results)
+				intersections += result.getIntersections();
+			return intersections;
+		}
+
+		/**
+		 * @return elapsedNanos, wall clock time of the whole batch.
+		 * */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 * Prints one line per file, then the totals.
+		 *
+		 * @param out, the stream to print to.
+		 * */
+		public void print(PrintStream out) {
+			long rectangles = 0;
+			long fileNanos = 0;
+			long slowestNanos = -1;
+			Path slowest = null;
+			int limited = 0;
+			for (FileResult result : results) {
+				if (result.isSucceeded()) {
+					out.println("OK     " + result.getInput() + ": " + result.getRectangles() + " rectangles, " + result.getIntersections()
+						+ " intersections" + (result.isLimitReached() ? " (limit reached)" : "") + ", " + millis(result.getElapsedNanos()) + " ms");
+				} else {
+					out.println("FAILED " + result.getInput() + ": " + result.getError());
+				}
+				rectangles += result.getRectangles();
+				fileNanos += result.getElapsedNanos();
+				if (result.isLimitReached())
+					limited++;
+				if (result.getElapsedNanos() > slowestNanos) {
+					slowestNanos = result.getElapsedNanos();
+					slowest = result.getInput();
+				}
+			}
+
+			out.println("Batch summary: ");
+			out.println("Files: " + results.size() + " (" + (results.size() - getFailed()) + " succeeded, " + getFailed() + " failed, "
+				+ limited + " limit reached)");
+			out.println("Rectangles: " + rectangles + ", intersections: " + getIntersections());
+			out.println("Wall time: " + millis(elapsedNanos) + " ms, file time: " + millis(fileNanos) + " ms"
+				+ (results.isEmpty() ? "" : ", mean " + millis(fileNanos / results.size()) + " ms per file"));
+			if (slowest != null)
+				out.println("Slowest file: " + slowest + " (" + millis(slowestNanos) + " ms)");
+		}
+
+		private static String millis(long nanos) {
+			return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+		}
+	}
+
+}
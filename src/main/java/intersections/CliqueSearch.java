@@ -0,0 +1,331 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * CliqueSearch Class:  Enumerates intersection regions as cliques of the overlap graph, without building generations.
+ *
+ * Axis-aligned rectangles have a common intersection of positive area exactly when every pair of them overlaps with positive area,
+ * so every intersection region is the region of a clique of the (positive area) overlap graph.  Many cliques share a region, so
+ * only closed cliques are reported: a clique is closed when no other rectangle contains its region.  Each distinct region has
+ * exactly one closed clique, holding every rectangle that covers the region.
+ *
+ * Algorithm Process:
+ *
+ * 		1. Build the overlap graph once from the pairs reported by an IntersectionEngine.
+ *
+ * 		2. Extend a closed clique P by a candidate e (a neighbour of every member) with a higher index than the last extension.
+ *
+ * 		3. Close the extension by adding every candidate containing the new region, and reject it if that adds a rectangle with a
+ * 		   lower index than e (the clique is then reached from another branch).
+ *
+ * 		4. Report the closed clique when it has at least 2 rectangles, then continue the search from it.
+ *
+ * This is a Bron–Kerbosch style search with the candidate set kept as the neighbours common to all members.  Pivoting is replaced by
+ * the closure test of step 3, since pivoting only skips non-maximal cliques, while every closed clique is an intersection.
+ * Each region is reached exactly once, so no results need to be held for uniqueness checks.  The search uses an explicit stack of
+ * frames reused by depth, so it allocates nothing per clique once their arrays have grown.
+ *
+ * Stopping:  A stop condition (e.g. a deadline) is passed to the engine building the graph, checked every 4096 overlapping pairs
+ * and every 256 search steps, so a search stops soon after it holds even before reporting any clique.
+ *
+ * Size Bound:  Extensions only add rectangles, so a clique larger than a maximum size has no descendant within it and is dropped
+ * with its whole branch.  Every ancestor of a closed clique is smaller than it, so each closed clique within the bound is still found.
+ *
+ * */
+
+
+final class CliqueSearch {
+
+	private final RectangleStore store;
+	private final IntersectionEngine engine;
+	private final int count;
+
+	//Overlap graph adjacency (neighbours of rectangle i are adjacency[adjacencyStart[i]] to adjacency[adjacencyStart[i + 1] - 1]),
+	//built by the first run():
+	private int[] adjacencyStart;
+	private int[] adjacency;
+
+	//Largest clique reported or extended:
+	private int maxSize = Integer.MAX_VALUE;
+
+	//Checked as the search goes, stopping it when true:
+	private BooleanSupplier stopCondition = () -> false;
+
+	//Search stack (frames[d] holds the clique at depth d):
+	private Frame[] frames = new Frame[8];
+
+
+	/**
+	 * Receiver of closed cliques found by the search.
+	 * */
+	interface CliqueConsumer {
+
+		/**
+		 * @param minX, left edge of the clique region.
+		 * @param minY, bottom edge of the clique region.
+		 * @param maxX, right edge of the clique region.
+		 * @param maxY, top edge of the clique region.
+		 * @param members, store rows of the clique (only the first size entries are valid, and the array is reused).
+		 * @param size, number of rectangles in the clique.
+		 *
+		 * @return true, continue the search.
+		 * @return false, stop the search.
+		 * */
+		boolean accept(int minX, int minY, int maxX, int maxY, int[] members, int size);
+	}
+
+
+	/**
+	 * @param store, the rectangles to search.
+	 * @param engine, the engine used to find overlapping pairs.
+	 * */
+	CliqueSearch(RectangleStore store, IntersectionEngine engine) {
+		this.store = store;
+		this.engine = engine;
+		this.count = store.size();
+	}
+
+
+	/**
+	 * Builds the overlap graph of the rectangles of the store.
+	 * */
+	private void buildGraph() {
+		//Collect pairs sharing a positive area (touching rectangles have no intersection):
+		long[][] pairs = {new long[16]};
+		int[] pairCount = new int[1];
+		int[] degrees = new int[count];
+		int[] seen = new int[1];
+		engine.findOverlaps(store, 0, count, (first, second) -> {
+			if ((++seen[0] & 4095) == 0 && stopCondition.getAsBoolean())
+				throw new SearchStoppedException();
+			if (!sharesArea(first, second))
+				return;
+			if (pairCount[0] == pairs[0].length)
+				pairs[0] = Arrays.copyOf(pairs[0], pairCount[0] * 2);
+			pairs[0][pairCount[0]++] = ((long) first << 32) | second;
+			degrees[first]++;
+			degrees[second]++;
+		}, stopCondition);
+		if (stopCondition.getAsBoolean())
+			throw new SearchStoppedException();
+
+		int[] starts = new int[count + 1];
+		for (int i = 0; i < count; i++)
+			starts[i + 1] = starts[i] + degrees[i];
+		adjacency = new int[starts[count]];
+		int[] fill = Arrays.copyOf(starts, count);
+		for (int k = 0; k < pairCount[0]; k++) {
+			int first = (int) (pairs[0][k] >>> 32);
+			int second = (int) pairs[0][k];
+			adjacency[fill[first]++] = second;
+			adjacency[fill[second]++] = first;
+		}
+		adjacencyStart = starts;
+	}
+
+
+	/**
+	 * Sets the largest clique reported.  Larger cliques are neither reported nor extended.
+	 *
+	 * @param maxSize, maximum number of rectangles in a clique.
+	 * */
+	void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+
+	/**
+	 * Sets a condition checked as the search goes (e.g. a deadline).  The search stops once it holds.
+	 *
+	 * @param stopCondition, true to stop the search.
+	 * */
+	void setStopCondition(BooleanSupplier stopCondition) {
+		this.stopCondition = stopCondition;
+	}
+
+
+	/**
+	 * Runs the search, passing every closed clique of at least 2 rectangles to a consumer.
+	 *
+	 * @param consumer, receives each closed clique.
+	 *
+	 * @return true, the search completed.
+	 * @return false, the consumer or the stop condition stopped the search.
+	 * */
+	boolean run(CliqueConsumer consumer) {
+		if (adjacencyStart == null) {
+			try {
+				buildGraph();
+			} catch (SearchStoppedException exception) {
+				return false;
+			}
+		}
+
+		//Frames are reused by depth, so the search allocates nothing once its buffers have grown to the deepest clique:
+		int depth = 0;
+		int[] output = new int[16];
+		int steps = 0;
+
+		for (int root = 0; root < count; root++) {
+			//Root clique {root} closed by the rectangles containing it:
+			if (!extend(null, root, adjacency, adjacencyStart[root], adjacencyStart[root + 1], frameAt(0)) || frames[0].size > maxSize)
+				continue;
+			depth = 1;
+
+			while (depth > 0) {
+				if ((++steps & 255) == 0 && stopCondition.getAsBoolean())
+					return false;
+				Frame top = frames[depth - 1];
+				if (!top.reported) {
+					top.reported = true;
+					if (top.size >= 2) {
+						if (output.length < top.size)
+							output = new int[top.members.length];
+						System.arraycopy(top.members, 0, output, 0, top.size);
+						if (!consumer.accept(top.minX, top.minY, top.maxX, top.maxY, output, top.size))
+							return false;
+					}
+				}
+
+				//Find next candidate with a higher index than the last extension:
+				boolean extended = false;
+				while (!extended && top.position < top.candidateCount) {
+					int candidate = top.candidates[top.position++];
+					if (candidate > top.core) {
+						Frame child = frameAt(depth);
+						extended = extend(top, candidate, top.candidates, 0, top.candidateCount, child) && child.size <= maxSize;
+					}
+				}
+				if (extended)
+					depth++;
+				else
+					depth--;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return frame, the reused frame of a stack depth.
+	 * */
+	private Frame frameAt(int depth) {
+		if (depth == frames.length)
+			frames = Arrays.copyOf(frames, 2 * depth);
+		if (frames[depth] == null)
+			frames[depth] = new Frame();
+		return frames[depth];
+	}
+
+
+	/**
+	 * Extends a closed clique by a candidate and closes the result into a frame.
+	 *
+	 * @param parent, the clique to extend (null for the empty clique).
+	 * @param candidate, the rectangle added to the clique.
+	 * @param candidates, array holding the parent candidates (every non-member overlapping the parent region).
+	 * @param first, index of the first parent candidate.
+	 * @param last, index after the last parent candidate.
+	 * @param target, the frame receiving the closed clique (not the parent, whose candidates are read).
+	 *
+	 * @return true, target holds the closed clique.
+	 * @return false, the closure adds a rectangle with a lower index than the candidate.
+	 * */
+	private boolean extend(Frame parent, int candidate, int[] candidates, int first, int last, Frame target) {
+		//New region:
+		int minX = store.getMinX(candidate);
+		int minY = store.getMinY(candidate);
+		int maxX = store.getMaxX(candidate);
+		int maxY = store.getMaxY(candidate);
+		if (parent != null) {
+			minX = Math.max(minX, parent.minX);
+			minY = Math.max(minY, parent.minY);
+			maxX = Math.min(maxX, parent.maxX);
+			maxY = Math.min(maxY, parent.maxY);
+		}
+
+		//Split parent candidates into rectangles containing the region (closure) and rectangles still overlapping it:
+		int parentSize = parent == null ? 0 : parent.size;
+		int[] members = target.reserveMembers(parentSize + 1 + (last - first));
+		if (parent != null)
+			System.arraycopy(parent.members, 0, members, 0, parentSize);
+		int size = parentSize;
+		members[size++] = candidate;
+
+		int[] remaining = target.reserveCandidates(last - first);
+		int remainingCount = 0;
+		for (int k = first; k < last; k++) {
+			int other = candidates[k];
+			if (other == candidate)
+				continue;
+			if (store.getMinX(other) <= minX && store.getMinY(other) <= minY && store.getMaxX(other) >= maxX && store.getMaxY(other) >= maxY) {
+				if (other < candidate)
+					return false;
+				members[size++] = other;
+			} else if (Math.min(maxX, store.getMaxX(other)) > Math.max(minX, store.getMinX(other))
+					&& Math.min(maxY, store.getMaxY(other)) > Math.max(minY, store.getMinY(other))) {
+				remaining[remainingCount++] = other;
+			}
+		}
+
+		target.set(minX, minY, maxX, maxY, size, candidate, remainingCount);
+		return true;
+	}
+
+
+	private boolean sharesArea(int row1, int row2) {
+		return Math.min(store.getMaxX(row1), store.getMaxX(row2)) > Math.max(store.getMinX(row1), store.getMinX(row2))
+			&& Math.min(store.getMaxY(row1), store.getMaxY(row2)) > Math.max(store.getMinY(row1), store.getMinY(row2));
+	}
+
+
+
+	/**
+	 * Frame Class:  A closed clique on the search stack, with its region and the candidates left to extend it by.  A frame is reused
+	 * for every clique at its depth, and its arrays only grow.
+	 * */
+	private static final class Frame {
+
+		private int minX;
+		private int minY;
+		private int maxX;
+		private int maxY;
+		private int[] members = new int[16];
+		private int size;
+		private int core;
+		private int[] candidates = new int[16];
+		private int candidateCount;
+		private int position;
+		private boolean reported;
+
+		int[] reserveMembers(int capacity) {
+			if (members.length < capacity)
+				members = new int[Math.max(capacity, 2 * members.length)];
+			return members;
+		}
+
+		int[] reserveCandidates(int capacity) {
+			if (candidates.length < capacity)
+				candidates = new int[Math.max(capacity, 2 * candidates.length)];
+			return candidates;
+		}
+
+		void set(int minX, int minY, int maxX, int maxY, int size, int core, int candidateCount) {
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			this.size = size;
+			this.core = core;
+			this.candidateCount = candidateCount;
+			this.position = 0;
+			this.reported = false;
+		}
+	}
+
+}
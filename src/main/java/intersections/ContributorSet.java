@@ -0,0 +1,330 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * ContributorSet Class:  Set of initial rectangle ids contributing to an intersection rectangle.
+ *
+ * Storage:
+ *
+ * 		1. Ids 0 to 63 are held as bits of a single long mask, so small inputs never allocate beyond the set itself.
+ *
+ * 		2. Ids from 64 up spill into a sparse bitset: only the non-zero 64-bit words are kept, each with its word index, in
+ * 		   ascending order.  Memory grows with the number of ids held rather than with the largest id, so a set of two ids near
+ * 		   Integer.MAX_VALUE holds two words.
+ *
+ * Union, subset and equality checks merge the word lists a word at a time.  Ids are always visited in ascending order.  Ids must
+ * not be negative, matching Rectangle.
+ *
+ * */
+
+
+public final class ContributorSet {
+
+	//Shared empty index list for searches before any word is held (never modified):
+	private static final int[] EMPTY_INDEXES = new int[0];
+
+	//Ids 0 to 63 (bit id):
+	private long mask;
+
+	//Ids from 64 up: extraWords[k] holds ids 64 * wordIndexes[k] to 64 * wordIndexes[k] + 63.  Only the first wordCount entries
+	//are used, with ascending indexes and no zero word (null until needed):
+	private int[] wordIndexes;
+	private long[] extraWords;
+	private int wordCount;
+
+
+	public ContributorSet() {
+	}
+
+
+	/**
+	 * Creates a set holding the given contributor ids.
+	 *
+	 * @param ids, non-negative contributor ids.
+	 *
+	 * @return contributors, the new set.
+	 * */
+	public static ContributorSet of(int... ids) {
+		ContributorSet contributors = new ContributorSet();
+		for (int id : ids)
+			contributors.add(id);
+		return contributors;
+	}
+
+
+	/**
+	 * Creates a set holding the ids of a contributor list.
+	 *
+	 * @param contributorList, a list of non-negative contributor ids.
+	 *
+	 * @return contributors, the new set.
+	 * */
+	public static ContributorSet fromList(List<Integer> contributorList) {
+		ContributorSet contributors = new ContributorSet();
+		for (Integer id : contributorList)
+			contributors.add(id);
+		return contributors;
+	}
+
+
+	/**
+	 * Adds a single contributor id to the set.
+	 *
+	 * @param id, a non-negative contributor id.
+	 * */
+	public void add(int id) {
+		if (id < 0)
+			throw new IllegalArgumentException("Contributor ids must not be negative");
+
+		if (id < 64) {
+			mask |= 1L << id;
+			return;
+		}
+		int wordIndex = id >>> 6;
+		int k = Arrays.binarySearch(wordIndexes == null ? EMPTY_INDEXES : wordIndexes, 0, wordCount, wordIndex);
+		if (k < 0) {
+			k = -k - 1;
+			insertWord(k, wordIndex);
+		}
+		extraWords[k] |= 1L << id;
+	}
+
+
+	/**
+	 * Adds every contributor of another set to this set (union).
+	 *
+	 * @param other, the set to add.
+	 * */
+	public void addAll(ContributorSet other) {
+		mask |= other.mask;
+		if (other.wordCount == 0)
+			return;
+		if (wordCount == 0) {
+			wordIndexes = Arrays.copyOf(other.wordIndexes, other.wordCount);
+			extraWords = Arrays.copyOf(other.extraWords, other.wordCount);
+			wordCount = other.wordCount;
+			return;
+		}
+
+		//Words of the other set missing from this set:
+		int missing = 0;
+		for (int i = 0, j = 0; j < other.wordCount; j++) {
+			while (i < wordCount && wordIndexes[i] < other.wordIndexes[j])
+				i++;
+			if (i == wordCount || wordIndexes[i] != other.wordIndexes[j])
+				missing++;
+		}
+
+		//Merge in place when every word is already present, otherwise into new arrays:
+		int[] indexes = missing == 0 ? wordIndexes : new int[wordCount + missing];
+		long[] words = missing == 0 ? extraWords : new long[wordCount + missing];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < wordCount || j < other.wordCount) {
+			if (j == other.wordCount || (i < wordCount && wordIndexes[i] < other.wordIndexes[j])) {
+				indexes[k] = wordIndexes[i];
+				words[k++] = extraWords[i++];
+			} else if (i == wordCount || other.wordIndexes[j] < wordIndexes[i]) {
+				indexes[k] = other.wordIndexes[j];
+				words[k++] = other.extraWords[j++];
+			} else {
+				indexes[k] = wordIndexes[i];
+				words[k++] = extraWords[i++] | other.extraWords[j++];
+			}
+		}
+		wordIndexes = indexes;
+		extraWords = words;
+		wordCount = k;
+	}
+
+
+	/**
+	 * Determines if every contributor of another set is also in this set (subset).
+	 *
+	 * @param other, the set to compare.
+	 *
+	 * @return true, other is a subset of this set.
+	 * @return false, other holds at least one contributor missing from this set.
+	 * */
+	public boolean containsAll(ContributorSet other) {
+		if ((other.mask & ~mask) != 0)
+			return false;
+
+		for (int i = 0, j = 0; j < other.wordCount; j++) {
+			while (i < wordCount && wordIndexes[i] < other.wordIndexes[j])
+				i++;
+			if (i == wordCount || wordIndexes[i] != other.wordIndexes[j] || (other.extraWords[j] & ~extraWords[i]) != 0)
+				return false;
+		}
+		return true;
+	}
+
+
+	public boolean contains(int id) {
+		if (id < 0)
+			return false;
+		if (id < 64)
+			return (mask & (1L << id)) != 0;
+
+		int k = Arrays.binarySearch(wordIndexes == null ? EMPTY_INDEXES : wordIndexes, 0, wordCount, id >>> 6);
+		return k >= 0 && (extraWords[k] & (1L << id)) != 0;
+	}
+
+
+	/**
+	 * Number of contributors in the union of two sets, without building the union.
+	 *
+	 * @param other, the set to combine with.
+	 *
+	 * @return size, the size of the union.
+	 * */
+	public int unionSize(ContributorSet other) {
+		int size = Long.bitCount(mask | other.mask);
+		int i = 0;
+		int j = 0;
+		while (i < wordCount || j < other.wordCount) {
+			if (j == other.wordCount || (i < wordCount && wordIndexes[i] < other.wordIndexes[j]))
+				size += Long.bitCount(extraWords[i++]);
+			else if (i == wordCount || other.wordIndexes[j] < wordIndexes[i])
+				size += Long.bitCount(other.extraWords[j++]);
+			else
+				size += Long.bitCount(extraWords[i++] | other.extraWords[j++]);
+		}
+		return size;
+	}
+
+
+	public int size() {
+		int size = Long.bitCount(mask);
+		for (int k = 0; k < wordCount; k++)
+			size += Long.bitCount(extraWords[k]);
+		return size;
+	}
+
+
+	public boolean isEmpty() {
+		return mask == 0 && wordCount == 0;
+	}
+
+
+	/**
+	 * Finds the smallest contributor id at or above a starting id.  Iterate with:
+	 * for (int id = set.nextContributor(0); id != -1; id = set.nextContributor(id + 1))
+	 *
+	 * @param fromId, the id to start searching from (negative, as id + 1 past Integer.MAX_VALUE, finds none).
+	 *
+	 * @return id, the next contributor id, or -1 if there are no more.
+	 * */
+	public int nextContributor(int fromId) {
+		if (fromId < 0)
+			return -1;
+
+		//Search the mask first:
+		if (fromId < 64) {
+			long remaining = mask & (-1L << fromId);
+			if (remaining != 0)
+				return Long.numberOfTrailingZeros(remaining);
+			fromId = 64;
+		}
+
+		//Then the word holding fromId, and the words after it:
+		int k = Arrays.binarySearch(wordIndexes == null ? EMPTY_INDEXES : wordIndexes, 0, wordCount, fromId >>> 6);
+		if (k >= 0) {
+			long remaining = extraWords[k] & (-1L << fromId);
+			if (remaining != 0)
+				return (wordIndexes[k] << 6) + Long.numberOfTrailingZeros(remaining);
+			k++;
+		} else {
+			k = -k - 1;
+		}
+		if (k == wordCount)
+			return -1;
+		return (wordIndexes[k] << 6) + Long.numberOfTrailingZeros(extraWords[k]);
+	}
+
+
+	/**
+	 * Copies the contributors into a sorted list, for callers that work with lists of ids.
+	 *
+	 * @return contributorList, the contributor ids in ascending order.
+	 * */
+	public ArrayList<Integer> toList() {
+		ArrayList<Integer> contributorList = new ArrayList<Integer>(size());
+		for (int id = nextContributor(0); id != -1; id = nextContributor(id + 1))
+			contributorList.add(id);
+		return contributorList;
+	}
+
+
+	public ContributorSet copy() {
+		ContributorSet contributors = new ContributorSet();
+		contributors.mask = mask;
+		if (wordCount > 0) {
+			contributors.wordIndexes = Arrays.copyOf(wordIndexes, wordCount);
+			contributors.extraWords = Arrays.copyOf(extraWords, wordCount);
+			contributors.wordCount = wordCount;
+		}
+		return contributors;
+	}
+
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof ContributorSet))
+			return false;
+
+		//Word lists never hold zero words, so they compare directly:
+		ContributorSet other = (ContributorSet) object;
+		if (mask != other.mask || wordCount != other.wordCount)
+			return false;
+		for (int k = 0; k < wordCount; k++) {
+			if (wordIndexes[k] != other.wordIndexes[k] || extraWords[k] != other.extraWords[k])
+				return false;
+		}
+		return true;
+	}
+
+
+	@Override
+	public int hashCode() {
+		int hash = Long.hashCode(mask);
+		for (int k = 0; k < wordCount; k++)
+			hash = 31 * (31 * hash + wordIndexes[k]) + Long.hashCode(extraWords[k]);
+		return hash;
+	}
+
+
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+
+
+	/**
+	 * Inserts an empty word for a word index at a position of the word list, growing the arrays as needed.
+	 * */
+	private void insertWord(int position, int wordIndex) {
+		if (wordIndexes == null) {
+			wordIndexes = new int[2];
+			extraWords = new long[2];
+		} else if (wordCount == wordIndexes.length) {
+			wordIndexes = Arrays.copyOf(wordIndexes, wordCount * 2);
+			extraWords = Arrays.copyOf(extraWords, wordCount * 2);
+		}
+		System.arraycopy(wordIndexes, position, wordIndexes, position + 1, wordCount - position);
+		System.arraycopy(extraWords, position, extraWords, position + 1, wordCount - position);
+		wordIndexes[position] = wordIndex;
+		extraWords[position] = 0L;
+		wordCount++;
+	}
+
+}
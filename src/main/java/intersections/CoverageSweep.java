@@ -0,0 +1,162 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+
+
+/**
+ * CoverageSweep Class:  Measures the area covered by the rectangles of a store, without finding any intersection.
+ *
+ * Sweep Process:
+ *
+ * 		1. Compress the y edges of all rectangles into sorted distinct coordinates (elementary intervals between neighbours).
+ *
+ * 		2. Sort the left and right edges of all rectangles on x as enter and leave events.
+ *
+ * 		3. Sweep the events in x order, adding 1 over a rectangle's y interval in a segment tree when it enters and removing it
+ * 		   when it leaves.  Between two event x-coordinates the covered lengths at the root times the distance is covered area.
+ *
+ * Each segment tree node holds the number of rectangles covering its whole interval and the length of its interval covered at
+ * least j times for each j from 1 to the depth measured (K).  With c rectangles on a node, a length of depth j is the whole
+ * interval when c >= j, and otherwise the children's lengths of depth j - c.  A count on a node is never pushed down, so each
+ * event updates O(log n) nodes and the sweep takes O(K n log n) time and O(K n) memory, however many intersections the
+ * rectangles have.
+ *
+ * */
+
+
+final class CoverageSweep {
+
+	private final RectangleStore store;
+	private final int depth;
+
+	//Distinct y-coordinates (elementary interval i is ys[i] to ys[i + 1]):
+	private int[] ys;
+
+	//Segment tree over the elementary intervals (node 1 is the root).  Length of depth j of a node is lengths[node * depth + j - 1]:
+	private int[] cover;
+	private long[] lengths;
+
+
+	/**
+	 * @param store, the rectangles to measure.
+	 * @param depth, the largest coverage depth measured (at least 1).
+	 * */
+	CoverageSweep(RectangleStore store, int depth) {
+		this.store = store;
+		this.depth = depth;
+	}
+
+
+	/**
+	 * Runs the sweep.
+	 *
+	 * @return areas, the area covered by at least k rectangles at index k, for k from 1 to depth (index 0 is always 0).
+	 * */
+	long[] run() {
+		long[] areas = new long[depth + 1];
+		ys = compressY(store);
+		if (ys.length < 2)
+			return areas;
+		long[] events = sortedEvents(store);
+
+		int intervals = ys.length - 1;
+		cover = new int[4 * intervals];
+		lengths = new long[4 * intervals * depth];
+
+		long previousX = events[0] >> 32;
+		for (long event : events) {
+			long x = event >> 32;
+			for (int j = 1; j <= depth; j++)
+				areas[j] += lengths[depth + j - 1] * (x - previousX);
+			previousX = x;
+
+			int index = (int) event;
+			int row = index >>> 1;
+			int first = Arrays.binarySearch(ys, store.getMinY(row));
+			int last = Arrays.binarySearch(ys, store.getMaxY(row));
+			if (first < last)
+				update(1, 0, intervals, first, last, (index & 1) == 0 ? 1 : -1);
+		}
+
+		return areas;
+	}
+
+
+	/**
+	 * @return ys, the distinct y edges of the rectangles of a store, in increasing order.
+	 * */
+	static int[] compressY(RectangleStore store) {
+		int count = store.size();
+		int[] edges = new int[2 * count];
+		for (int row = 0; row < count; row++) {
+			edges[2 * row] = store.getMinY(row);
+			edges[2 * row + 1] = store.getMaxY(row);
+		}
+		Arrays.sort(edges);
+		int distinct = 0;
+		for (int k = 0; k < edges.length; k++) {
+			if (k == 0 || edges[k] != edges[k - 1])
+				edges[distinct++] = edges[k];
+		}
+		return Arrays.copyOf(edges, distinct);
+	}
+
+
+	/**
+	 * @return events, the x edges of the rectangles of a store packed with their event index (2 * row enters the rectangle of
+	 * a row, 2 * row + 1 leaves it) in the low 32 bits, sorted on x.
+	 * */
+	static long[] sortedEvents(RectangleStore store) {
+		int count = store.size();
+		long[] events = new long[2 * count];
+		for (int row = 0; row < count; row++) {
+			events[2 * row] = ((long) store.getMinX(row) << 32) | (2 * row);
+			events[2 * row + 1] = ((long) store.getMaxX(row) << 32) | (2 * row + 1);
+		}
+		Arrays.sort(events);
+		return events;
+	}
+
+
+	/**
+	 * Adds a count over the elementary intervals first to last - 1.
+	 *
+	 * @param node, the segment tree node covering intervals low to high - 1.
+	 * */
+	private void update(int node, int low, int high, int first, int last, int delta) {
+		if (first <= low && high <= last) {
+			cover[node] += delta;
+		} else {
+			int middle = (low + high) >>> 1;
+			if (first < middle)
+				update(2 * node, low, middle, first, last, delta);
+			if (middle < last)
+				update(2 * node + 1, middle, high, first, last, delta);
+		}
+		pull(node, low, high);
+	}
+
+
+	/**
+	 * Recomputes the covered lengths of a node from its count and its children.
+	 * */
+	private void pull(int node, int low, int high) {
+		long length = (long) ys[high] - ys[low];
+		boolean leaf = high - low == 1;
+		int count = cover[node];
+		int base = node * depth;
+		int left = 2 * node * depth;
+		int right = (2 * node + 1) * depth;
+		for (int j = 1; j <= depth; j++) {
+			if (count >= j)
+				lengths[base + j - 1] = length;
+			else if (leaf)
+				lengths[base + j - 1] = 0;
+			else
+				lengths[base + j - 1] = lengths[left + j - count - 1] + lengths[right + j - count - 1];
+		}
+	}
+
+}
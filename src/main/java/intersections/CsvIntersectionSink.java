@@ -0,0 +1,67 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * CsvIntersectionSink Class:  Writes intersections as comma separated values, after a header row.
+ *
+ * Contributors share the last column, separated by semicolons.
+ *
+ * Example:  "x,y,delta_x,delta_y,contributors" followed by "140,160,210,20,1;3"
+ *
+ * */
+
+
+public class CsvIntersectionSink implements IntersectionSink {
+
+	private static final String HEADER = "x,y,delta_x,delta_y,contributors\n";
+
+	private final Writer writer;
+	private final StringBuilder line = new StringBuilder();
+	private boolean headerWritten;
+
+
+	public CsvIntersectionSink(Writer writer) {
+		if (writer == null)
+			throw new NullPointerException("Null writer not accepted");
+		this.writer = new BufferedWriter(writer, 1 << 16);
+	}
+
+
+	@Override
+	public void accept(int x, int y, int deltaX, int deltaY, ContributorSet contributors) throws IOException {
+		writeHeader();
+
+		line.setLength(0);
+		line.append(x).append(',').append(y).append(',').append(deltaX).append(',').append(deltaY).append(',');
+		int lineStart = line.length();
+		for (int contributor = contributors.nextContributor(0); contributor != -1; contributor = contributors.nextContributor(contributor + 1)) {
+			if (line.length() > lineStart)
+				line.append(';');
+			line.append(contributor);
+		}
+		line.append('\n');
+		writer.append(line);
+	}
+
+
+	@Override
+	public void flush() throws IOException {
+		writeHeader();
+		writer.flush();
+	}
+
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			headerWritten = true;
+			writer.write(HEADER);
+		}
+	}
+
+}
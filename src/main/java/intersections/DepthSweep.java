@@ -0,0 +1,136 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+
+
+/**
+ * DepthSweep Class:  Finds a region covered by the most rectangles of a store, without finding any intersection.
+ *
+ * Sweep Process:
+ *
+ * 		1. Compress the y edges of all rectangles and sort their x edges as enter and leave events (see CoverageSweep).
+ *
+ * 		2. Sweep the events in x order, adding 1 over a rectangle's y interval in a max segment tree when it enters and removing it
+ * 		   when it leaves.  Once all events at one x-coordinate are applied, the root holds the depth of the deepest elementary
+ * 		   interval up to the next event x-coordinate.
+ *
+ * 		3. When the root beats the best depth so far, descend to an elementary interval of that depth and remember the cell.
+ *
+ * 		4. After the sweep, the rectangles containing the remembered cell are the contributors, and their common region is the result.
+ *
+ * Each node holds the maximum depth of its interval including a pending addition for the whole interval (lazy propagation:  the
+ * addition is kept on the node rather than pushed to its children).  The sweep takes O(n log n) time and O(n) memory.  Ties go to
+ * the leftmost, then lowest, cell.
+ *
+ * */
+
+
+final class DepthSweep {
+
+	private final RectangleStore store;
+
+	//Distinct y-coordinates (elementary interval i is ys[i] to ys[i + 1]):
+	private int[] ys;
+
+	//Max segment tree over the elementary intervals (node 1 is the root):
+	private int[] max;
+	private int[] pending;
+
+
+	DepthSweep(RectangleStore store) {
+		this.store = store;
+	}
+
+
+	/**
+	 * Runs the sweep.
+	 *
+	 * @return rows, the store rows of every rectangle covering the deepest region (empty for an empty store).
+	 * */
+	int[] run() {
+		ys = CoverageSweep.compressY(store);
+		if (ys.length < 2)
+			return new int[0];
+		long[] events = CoverageSweep.sortedEvents(store);
+
+		int intervals = ys.length - 1;
+		max = new int[4 * intervals];
+		pending = new int[4 * intervals];
+
+		//Deepest cell so far (x range and elementary interval):
+		int bestDepth = 0;
+		long bestMinX = 0;
+		long bestMaxX = 0;
+		int bestInterval = -1;
+		for (int k = 0; k < events.length; k++) {
+			int index = (int) events[k];
+			int row = index >>> 1;
+			int first = Arrays.binarySearch(ys, store.getMinY(row));
+			int last = Arrays.binarySearch(ys, store.getMaxY(row));
+			if (first < last)
+				update(1, 0, intervals, first, last, (index & 1) == 0 ? 1 : -1);
+
+			//Check the slab up to the next event x-coordinate once every event at this one is applied:
+			long x = events[k] >> 32;
+			if (k + 1 < events.length && (events[k + 1] >> 32) > x && max[1] > bestDepth) {
+				bestDepth = max[1];
+				bestMinX = x;
+				bestMaxX = events[k + 1] >> 32;
+				bestInterval = findDeepest(1, 0, intervals);
+			}
+		}
+		if (bestInterval == -1)
+			return new int[0];
+
+		//Rectangles containing the deepest cell:
+		int[] rows = new int[bestDepth];
+		int size = 0;
+		for (int row = 0; row < store.size() && size < bestDepth; row++) {
+			if (store.getMinX(row) <= bestMinX && store.getMaxX(row) >= bestMaxX
+					&& store.getMinY(row) <= ys[bestInterval] && store.getMaxY(row) >= ys[bestInterval + 1])
+				rows[size++] = row;
+		}
+		return rows;
+	}
+
+
+	/**
+	 * Adds a depth over the elementary intervals first to last - 1.
+	 *
+	 * @param node, the segment tree node covering intervals low to high - 1.
+	 * */
+	private void update(int node, int low, int high, int first, int last, int delta) {
+		if (first <= low && high <= last) {
+			max[node] += delta;
+			pending[node] += delta;
+			return;
+		}
+		int middle = (low + high) >>> 1;
+		if (first < middle)
+			update(2 * node, low, middle, first, last, delta);
+		if (middle < last)
+			update(2 * node + 1, middle, high, first, last, delta);
+		max[node] = Math.max(max[2 * node], max[2 * node + 1]) + pending[node];
+	}
+
+
+	/**
+	 * @return interval, the lowest elementary interval of a node holding the node's maximum depth.
+	 * */
+	private int findDeepest(int node, int low, int high) {
+		while (high - low > 1) {
+			int middle = (low + high) >>> 1;
+			if (max[2 * node] >= max[2 * node + 1]) {
+				node = 2 * node;
+				high = middle;
+			} else {
+				node = 2 * node + 1;
+				low = middle;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,26 @@
+package intersections;
+
+
+/**
+ * GenerationListener Interface:  Hook notified by IntersectionReporter each time a generation of intersections is completed. 
+ * 
+ * Generation 1 holds intersections of 2 initial rectangles, and each later generation is built from the one before it. 
+ * Listeners are called on the thread running the reporter, so they should return quickly. 
+ * 
+ * */
+
+
+public interface GenerationListener {
+
+	/**
+	 * Called after a generation of intersections is completed. 
+	 * 
+	 * @param generation, the generation number (starting at 1). 
+	 * @param intersections, the number of new intersections in this generation. 
+	 * @param elapsedNanos, the time taken to generate this generation. 
+	 * @param usedMemory, the heap memory in use after this generation, in bytes. 
+	 * 
+	 * */
+	void generationCompleted(int generation, int intersections, long elapsedNanos, long usedMemory);
+
+}
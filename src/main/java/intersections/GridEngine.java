@@ -0,0 +1,132 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * GridEngine Class:  Engine that finds overlapping pairs by binning rectangles into a uniform grid of cells.
+ *
+ * Algorithm Process:
+ *
+ * 		1. Size the cells from the mean rectangle width and height, so a typical rectangle covers about four cells.
+ *
+ * 		2. Bin every rectangle into each cell its bounding box covers (edges included).
+ *
+ * 		3. Test only pairs of rectangles sharing a cell, with at least one rectangle from the newest generation.
+ *
+ * 		4. Report an overlapping pair only from the cell holding its reference point, the bottom-left corner of the overlap.
+ *
+ * The reference point lies inside both rectangles, so it is in a cell both were binned into, and a pair spanning several cells is
+ * still reported exactly once.  Best suited to similarly sized rectangles spread over a bounded canvas, where each cell holds few
+ * rectangles and the work per generation is close to O(n + k) for k overlapping pairs.
+ *
+ * */
+
+
+public class GridEngine implements IntersectionEngine {
+
+	//Upper bound on cells per rectangle, limiting grid memory for sparse canvases:
+	private static final int CELLS_PER_RECTANGLE = 4;
+
+	@Override
+	public void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition) {
+		if (endPoint - Math.max(lastIntersection, 0) <= 0)
+			return;
+
+		//Rectangle coordinates:
+		int[] leftX = store.minXArray();
+		int[] rightX = store.maxXArray();
+		int[] bottomY = store.minYArray();
+		int[] topY = store.maxYArray();
+
+		//Canvas bounds and mean rectangle size:
+		long originX = Long.MAX_VALUE;
+		long originY = Long.MAX_VALUE;
+		long endX = Long.MIN_VALUE;
+		long endY = Long.MIN_VALUE;
+		long totalWidth = 0;
+		long totalHeight = 0;
+		for (int i = 0; i < endPoint; i++) {
+			originX = Math.min(originX, leftX[i]);
+			originY = Math.min(originY, bottomY[i]);
+			endX = Math.max(endX, rightX[i]);
+			endY = Math.max(endY, topY[i]);
+			totalWidth += (long) rightX[i] - leftX[i];
+			totalHeight += (long) topY[i] - bottomY[i];
+		}
+
+		//Size cells from the mean rectangle, growing them if the grid would hold too many cells:
+		long cellWidth = Math.max(totalWidth / endPoint, 1);
+		long cellHeight = Math.max(totalHeight / endPoint, 1);
+		long maxCells = (long) CELLS_PER_RECTANGLE * endPoint + 16;
+		while ((double) ((endX - originX) / cellWidth + 1) * ((endY - originY) / cellHeight + 1) > maxCells) {
+			cellWidth *= 2;
+			cellHeight *= 2;
+		}
+		int columns = (int) ((endX - originX) / cellWidth + 1);
+		int rows = (int) ((endY - originY) / cellHeight + 1);
+
+		//Count rectangles per cell, then bin them (rows stay in increasing order within a cell):
+		int[] cellStart = new int[columns * rows + 1];
+		for (int i = 0; i < endPoint; i++) {
+			int firstColumn = (int) ((leftX[i] - originX) / cellWidth);
+			int lastColumn = (int) ((rightX[i] - originX) / cellWidth);
+			int firstRow = (int) ((bottomY[i] - originY) / cellHeight);
+			int lastRow = (int) ((topY[i] - originY) / cellHeight);
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++)
+					cellStart[row * columns + column + 1]++;
+			}
+		}
+		for (int cell = 0; cell < columns * rows; cell++)
+			cellStart[cell + 1] += cellStart[cell];
+
+		int[] cellFill = new int[columns * rows];
+		int[] cellRectangles = new int[cellStart[columns * rows]];
+		for (int i = 0; i < endPoint; i++) {
+			int firstColumn = (int) ((leftX[i] - originX) / cellWidth);
+			int lastColumn = (int) ((rightX[i] - originX) / cellWidth);
+			int firstRow = (int) ((bottomY[i] - originY) / cellHeight);
+			int lastRow = (int) ((topY[i] - originY) / cellHeight);
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					int cell = row * columns + column;
+					cellRectangles[cellStart[cell] + cellFill[cell]++] = i;
+				}
+			}
+		}
+
+		//Test co-resident pairs, reporting each from the cell of its reference point (stop condition checked every 256 rectangles):
+		int steps = 0;
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				int cell = row * columns + column;
+				int first = cellStart[cell];
+				int last = cellStart[cell + 1];
+
+				//Skip to the first rectangle of the newest generation:
+				int newest = first;
+				while (newest < last && cellRectangles[newest] < lastIntersection)
+					newest++;
+
+				for (int b = newest; b < last; b++) {
+					if ((steps++ & 255) == 0 && stopCondition.getAsBoolean())
+						return;
+					int j = cellRectangles[b];
+					for (int a = first; a < b; a++) {
+						int i = cellRectangles[a];
+						if (leftX[i] > rightX[j] || rightX[i] < leftX[j] || topY[i] < bottomY[j] || bottomY[i] > topY[j])
+							continue;
+						if ((Math.max(leftX[i], leftX[j]) - originX) / cellWidth != column
+								|| (Math.max(bottomY[i], bottomY[j]) - originY) / cellHeight != row)
+							continue;
+						consumer.accept(i, j);
+					}
+				}
+			}
+		}
+	}
+
+}
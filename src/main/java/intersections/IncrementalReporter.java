@@ -0,0 +1,348 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+
+
+/**
+ * IncrementalReporter Class:  Mutable intersection reporter for layouts edited one rectangle at a time.
+ *
+ * The reporter holds the intersections of clique mode: every distinct region formed by 2 or more rectangles, with every rectangle
+ * covering the region as contributors.  Unlike generations, this set does not depend on the order rectangles arrive in, so it can
+ * be kept up to date as rectangles come and go.  Rectangles that only touch along an edge have no intersection.
+ *
+ * Index Structures:
+ *
+ * 		1. A uniform grid of rectangle ids (cells of cellSize units), finding the rectangles overlapping a new rectangle.
+ *
+ * 		2. A reverse map from each rectangle id to the regions of the intersections it contributes to.
+ *
+ * 		3. The intersections, keyed by region (each region has exactly one set of contributors).
+ *
+ * Add Process:  Every new intersection of a rectangle R is the overlap of R with an old region: a rectangle overlapping R, or an
+ * intersection of such rectangles (found through the reverse map).  Each distinct overlap gets R and every overlapping rectangle
+ * containing it as contributors, replacing the old intersection of the same region if there is one.
+ *
+ * Remove Process:  Only intersections R contributes to change.  Each is removed, and comes back without R when the remaining
+ * contributors still form the same region on their own.
+ *
+ * Both updates touch only the rectangles overlapping the changed rectangle and their intersections, and return an
+ * IntersectionDelta.  The reporter is not thread-safe.
+ *
+ * */
+
+
+public final class IncrementalReporter {
+
+	private static final int DEFAULT_CELL_SIZE = 64;
+
+	private final int cellSize;
+
+	//Rectangle edges by id (minX, minY, maxX, maxY):
+	private final HashMap<Integer, int[]> rectangles = new HashMap<Integer, int[]>();
+
+	//Grid cells (key from cellKey()) holding the ids of rectangles crossing them:
+	private final HashMap<Long, ArrayList<Integer>> cells = new HashMap<Long, ArrayList<Integer>>();
+
+	//Intersections by region, and the regions each rectangle contributes to:
+	private final HashMap<Region, ContributorSet> intersections = new HashMap<Region, ContributorSet>();
+	private final HashMap<Integer, HashSet<Region>> reverseMap = new HashMap<Integer, HashSet<Region>>();
+
+
+	public IncrementalReporter() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+
+	/**
+	 * @param cellSize, the side of a grid cell (around the typical rectangle size works best).
+	 * */
+	public IncrementalReporter(int cellSize) {
+		if (cellSize < 1)
+			throw new IllegalArgumentException("Cell size must be at least 1");
+		this.cellSize = cellSize;
+	}
+
+
+	/**
+	 * Creates a reporter holding a list of input rectangles.
+	 *
+	 * @param rectangles, the input rectangles (ids from getId()).
+	 * @param cellSize, the side of a grid cell.
+	 * */
+	public IncrementalReporter(ArrayList<Rectangle> rectangles, int cellSize) {
+		this(cellSize);
+		//Check for Null list:
+		if (rectangles == null)
+			throw new NullPointerException("Null list not accepted");
+		for (Rectangle rectangle : rectangles)
+			addRectangle(rectangle);
+	}
+
+
+	/**
+	 * Adds an input rectangle and updates the intersections it overlaps.
+	 *
+	 * @param rectangle, an input rectangle with an id not yet held by the reporter.
+	 *
+	 * @return delta, the intersections added, and the intersections replaced by a version with the rectangle as a contributor.
+	 * */
+	public IntersectionDelta addRectangle(Rectangle rectangle) {
+		//Check for Null rectangle, or an id already held:
+		if (rectangle == null)
+			throw new NullPointerException("Null rectangle not accepted");
+		int id = rectangle.getId();
+		if (id < 1 || rectangles.containsKey(id))
+			throw new IllegalArgumentException("Rectangle id " + id + " is not positive or is already held");
+		if (rectangle.getDeltaX() <= 0 || rectangle.getDeltaY() <= 0)
+			throw new IllegalArgumentException("Rectangle " + id + " has no area");
+		int[] edges = {rectangle.getX(), rectangle.getY(), rectangle.getX() + rectangle.getDeltaX(), rectangle.getY() + rectangle.getDeltaY()};
+
+		ArrayList<Rectangle> added = new ArrayList<Rectangle>();
+		ArrayList<Rectangle> removed = new ArrayList<Rectangle>();
+
+		//Old regions overlapping the rectangle: Overlapping rectangles, then their intersections:
+		ArrayList<Integer> overlapping = findOverlapping(edges);
+		LinkedHashSet<Region> overlaps = new LinkedHashSet<Region>();
+		HashSet<Region> visited = new HashSet<Region>();
+		for (int other : overlapping) {
+			overlaps.add(Region.overlap(edges, rectangles.get(other)));
+			HashSet<Region> otherRegions = reverseMap.get(other);
+			if (otherRegions == null)
+				continue;
+			for (Region region : otherRegions) {
+				if (visited.add(region) && region.overlapsArea(edges))
+					overlaps.add(Region.overlap(edges, region.edges()));
+			}
+		}
+
+		//Each distinct overlap is an intersection of the rectangle and every overlapping rectangle containing it:
+		for (Region overlap : overlaps) {
+			ContributorSet contributors = new ContributorSet();
+			contributors.add(id);
+			for (int other : overlapping) {
+				if (overlap.isContainedBy(rectangles.get(other)))
+					contributors.add(other);
+			}
+
+			ContributorSet old = intersections.put(overlap, contributors);
+			if (old != null)
+				removed.add(overlap.toRectangle(old));
+			added.add(overlap.toRectangle(contributors));
+			for (int contributor = contributors.nextContributor(0); contributor != -1; contributor = contributors.nextContributor(contributor + 1))
+				regionsOf(contributor).add(overlap);
+		}
+
+		rectangles.put(id, edges);
+		updateCells(id, edges, true);
+		return new IntersectionDelta(added, removed);
+	}
+
+
+	/**
+	 * Removes an input rectangle and updates the intersections it contributes to.
+	 *
+	 * @param id, the id of a rectangle held by the reporter.
+	 *
+	 * @return delta, the intersections removed, and the intersections that remain without the rectangle as a contributor.
+	 * */
+	public IntersectionDelta removeRectangle(int id) {
+		int[] edges = rectangles.remove(id);
+		if (edges == null)
+			throw new IllegalArgumentException("Rectangle id " + id + " is not held");
+		updateCells(id, edges, false);
+
+		ArrayList<Rectangle> added = new ArrayList<Rectangle>();
+		ArrayList<Rectangle> removed = new ArrayList<Rectangle>();
+		HashSet<Region> regions = reverseMap.remove(id);
+		if (regions == null)
+			return new IntersectionDelta(added, removed);
+
+		for (Region region : regions) {
+			ContributorSet old = intersections.remove(region);
+			removed.add(region.toRectangle(old));
+
+			//Common region of the remaining contributors:
+			ContributorSet remaining = new ContributorSet();
+			int[] common = null;
+			for (int contributor = old.nextContributor(0); contributor != -1; contributor = old.nextContributor(contributor + 1)) {
+				if (contributor == id)
+					continue;
+				remaining.add(contributor);
+				regionsOf(contributor).remove(region);
+				common = common == null ? rectangles.get(contributor).clone() : Region.intersect(common, rectangles.get(contributor));
+			}
+
+			//Region is unchanged without the rectangle: Intersection stays with the remaining contributors:
+			if (remaining.size() >= 2 && region.equalsEdges(common)) {
+				intersections.put(region, remaining);
+				added.add(region.toRectangle(remaining));
+				for (int contributor = remaining.nextContributor(0); contributor != -1; contributor = remaining.nextContributor(contributor + 1))
+					regionsOf(contributor).add(region);
+			}
+		}
+		return new IntersectionDelta(added, removed);
+	}
+
+
+	/**
+	 * @return intersections, the current intersections as Rectangles with contributor sets, in no particular order.
+	 * */
+	public ArrayList<Rectangle> getIntersections() {
+		ArrayList<Rectangle> results = new ArrayList<Rectangle>(intersections.size());
+		for (HashMap.Entry<Region, ContributorSet> entry : intersections.entrySet())
+			results.add(entry.getKey().toRectangle(entry.getValue()));
+		return results;
+	}
+
+
+	/**
+	 * @return count, the number of current intersections.
+	 * */
+	public int size() {
+		return intersections.size();
+	}
+
+
+	/**
+	 * @return count, the number of input rectangles held.
+	 * */
+	public int getRectangleCount() {
+		return rectangles.size();
+	}
+
+
+	/**
+	 * Finds the ids of rectangles overlapping an area with positive area.  A rectangle is taken only from the cell holding the
+	 * bottom-left corner of its overlap, so one crossing several cells is found once.
+	 * */
+	private ArrayList<Integer> findOverlapping(int[] edges) {
+		ArrayList<Integer> overlapping = new ArrayList<Integer>();
+		int firstColumn = Math.floorDiv(edges[0], cellSize);
+		int lastColumn = Math.floorDiv(edges[2] - 1, cellSize);
+		int firstRow = Math.floorDiv(edges[1], cellSize);
+		int lastRow = Math.floorDiv(edges[3] - 1, cellSize);
+		for (int column = firstColumn; column <= lastColumn; column++) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				ArrayList<Integer> cell = cells.get(cellKey(column, row));
+				if (cell == null)
+					continue;
+				for (int other : cell) {
+					int[] otherEdges = rectangles.get(other);
+					if (!Region.overlapsArea(edges, otherEdges))
+						continue;
+					if (Math.floorDiv(Math.max(edges[0], otherEdges[0]), cellSize) == column
+							&& Math.floorDiv(Math.max(edges[1], otherEdges[1]), cellSize) == row)
+						overlapping.add(other);
+				}
+			}
+		}
+		return overlapping;
+	}
+
+
+	private void updateCells(int id, int[] edges, boolean add) {
+		for (int column = Math.floorDiv(edges[0], cellSize); column <= Math.floorDiv(edges[2] - 1, cellSize); column++) {
+			for (int row = Math.floorDiv(edges[1], cellSize); row <= Math.floorDiv(edges[3] - 1, cellSize); row++) {
+				Long key = cellKey(column, row);
+				if (add) {
+					cells.computeIfAbsent(key, unused -> new ArrayList<Integer>()).add(id);
+				} else {
+					ArrayList<Integer> cell = cells.get(key);
+					cell.remove(Integer.valueOf(id));
+					if (cell.isEmpty())
+						cells.remove(key);
+				}
+			}
+		}
+	}
+
+
+	private HashSet<Region> regionsOf(int id) {
+		return reverseMap.computeIfAbsent(id, unused -> new HashSet<Region>());
+	}
+
+
+	private static long cellKey(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+
+
+	/**
+	 * Region Class:  Immutable edges of an intersection, used as its key.
+	 * */
+	private static final class Region {
+
+		private final int minX;
+		private final int minY;
+		private final int maxX;
+		private final int maxY;
+
+		Region(int minX, int minY, int maxX, int maxY) {
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+
+		static Region overlap(int[] edges1, int[] edges2) {
+			int[] common = intersect(edges1.clone(), edges2);
+			return new Region(common[0], common[1], common[2], common[3]);
+		}
+
+		/**
+		 * Narrows the first edges to their overlap with the second edges.
+		 * */
+		static int[] intersect(int[] edges, int[] other) {
+			edges[0] = Math.max(edges[0], other[0]);
+			edges[1] = Math.max(edges[1], other[1]);
+			edges[2] = Math.min(edges[2], other[2]);
+			edges[3] = Math.min(edges[3], other[3]);
+			return edges;
+		}
+
+		static boolean overlapsArea(int[] edges1, int[] edges2) {
+			return Math.min(edges1[2], edges2[2]) > Math.max(edges1[0], edges2[0])
+				&& Math.min(edges1[3], edges2[3]) > Math.max(edges1[1], edges2[1]);
+		}
+
+		boolean overlapsArea(int[] edges) {
+			return overlapsArea(edges(), edges);
+		}
+
+		boolean isContainedBy(int[] edges) {
+			return edges[0] <= minX && edges[1] <= minY && edges[2] >= maxX && edges[3] >= maxY;
+		}
+
+		boolean equalsEdges(int[] edges) {
+			return edges != null && edges[0] == minX && edges[1] == minY && edges[2] == maxX && edges[3] == maxY;
+		}
+
+		int[] edges() {
+			return new int[] {minX, minY, maxX, maxY};
+		}
+
+		Rectangle toRectangle(ContributorSet contributors) {
+			return new Rectangle(maxX - minX, maxY - minY, minX, minY, contributors.copy());
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Region))
+				return false;
+			Region other = (Region) object;
+			return minX == other.minX && minY == other.minY && maxX == other.maxX && maxY == other.maxY;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((minX * 31 + minY) * 31 + maxX) * 31 + maxY;
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * IntersectionDelta Class:  Intersections added and removed by one update of an IncrementalReporter.
+ *
+ * An intersection whose region stays but whose contributors change (a rectangle added over it, or removed from it) appears in
+ * both lists: its old contributors in getRemoved() and its new contributors in getAdded().
+ *
+ * */
+
+
+public final class IntersectionDelta {
+
+	private final List<Rectangle> added;
+	private final List<Rectangle> removed;
+
+
+	IntersectionDelta(ArrayList<Rectangle> added, ArrayList<Rectangle> removed) {
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+	}
+
+
+	/**
+	 * @return added, the intersections the update created, with their contributors after the update.
+	 * */
+	public List<Rectangle> getAdded() {
+		return added;
+	}
+
+
+	/**
+	 * @return removed, the intersections the update removed, with their contributors before the update.
+	 * */
+	public List<Rectangle> getRemoved() {
+		return removed;
+	}
+
+
+	/**
+	 * @return true, the update changed no intersection.
+	 * */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty();
+	}
+
+}
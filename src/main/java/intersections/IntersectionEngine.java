@@ -0,0 +1,71 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * IntersectionEngine Interface:  Strategy used by IntersectionReporter to find which rectangles of a set overlap.
+ *
+ * An engine only reports overlapping pairs, using the same rule as IntersectionReporter.overlapPresent().  Intersection rectangles,
+ * contributors and uniqueness are always handled by the reporter, so every engine produces the same intersections.
+ * Engines read rectangle edges straight from a RectangleStore.
+ *
+ * Stopping:  Engines check a stop condition (e.g. a deadline) in their outer loop, at least every few hundred thousand overlap
+ * tests, and return early once it holds, whether or not they are finding pairs.  The pairs reported are then incomplete, so the
+ * caller checks the condition again after findOverlaps() returns.  The condition may be checked from worker threads.
+ *
+ * Engines:
+ *
+ * 		1. AllPairsEngine: Compares every rectangle against every later rectangle (original algorithm).
+ *
+ * 		2. PlaneSweepEngine: Sweeps rectangle edges on x with an active set ordered by y.
+ *
+ * 		3. ParallelEngine: Splits the all-pairs loops into fork/join tasks.
+ *
+ * 		4. RTreeEngine: Queries a packed R-tree with each rectangle of the newest generation.
+ *
+ * 		5. GridEngine: Bins rectangles into a uniform grid and tests rectangles sharing a cell.
+ *
+ * */
+
+
+public interface IntersectionEngine {
+
+	/**
+	 * Reports every overlapping pair (i, j) with i < j among the first endPoint rows of a store, where j is at or after lastIntersection.
+	 * Pairs may be reported in any order, but each pair must be reported exactly once.
+	 *
+	 * @param store, the rectangles to search for overlaps.
+	 * @param lastIntersection, index of the first rectangle of the newest generation (0 to report all pairs).
+	 * @param endPoint, number of rows from the start of the store to consider.
+	 * @param consumer, receives the row indices of each overlapping pair.
+	 *
+	 * */
+	default void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer) {
+		findOverlaps(store, lastIntersection, endPoint, consumer, () -> false);
+	}
+
+
+	/**
+	 * Reports overlapping pairs as findOverlaps() above, returning early once a stop condition holds.
+	 *
+	 * @param store, the rectangles to search for overlaps.
+	 * @param lastIntersection, index of the first rectangle of the newest generation (0 to report all pairs).
+	 * @param endPoint, number of rows from the start of the store to consider.
+	 * @param consumer, receives the row indices of each overlapping pair.
+	 * @param stopCondition, true to stop the search (thread-safe, since parallel engines check it from their workers).
+	 *
+	 * */
+	void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition);
+
+
+	/**
+	 * Receiver of overlapping pairs found by an engine.  Indices refer to rows of the store the engine was given.
+	 * */
+	interface PairConsumer {
+		void accept(int first, int second);
+	}
+
+}
@@ -0,0 +1,254 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+
+
+/**
+ * IntersectionIndex Class:  Hash index over intersection rectangles, replacing a linear scan with Rectangle.isIntersectionUnique().
+ *
+ * A candidate is a duplicate when an indexed intersection has the same (x, y, deltaX, deltaY) and holds every candidate contributor.
+ * This is the "unique by contributors, even if spatially degenerate" rule of Rectangle.isIntersectionUnique().
+ *
+ * Lookup Process:
+ *
+ * 		1. Find the geometry slot for (x, y, deltaX, deltaY).  No slot means the candidate is unique.
+ *
+ * 		2. An empty candidate contributor set is contained by any intersection of that geometry.
+ *
+ * 		3. Look up the exact (geometry, contributor set) entry by the set's hash signature.
+ *
+ * 		4. Only when the geometry holds a larger contributor set, scan its entries for a superset.
+ *
+ * All steps except the rare superset scan take O(1) expected time.
+ *
+ * */
+
+
+final class IntersectionIndex {
+
+	//Geometry slots:
+	private int[] geometryTable;
+	private int[] geometryNext;
+	private int[] slotX;
+	private int[] slotY;
+	private int[] slotDeltaX;
+	private int[] slotDeltaY;
+	private int[] slotMaxSize;
+	private int[] slotFirstEntry;
+	private int slots;
+
+	//Entries (one per indexed intersection):
+	private int[] exactTable;
+	private int[] exactNext;
+	private int[] entrySlot;
+	private int[] entryHash;
+	private int[] entryNextInSlot;
+	private ContributorSet[] entryContributors;
+	private int entries;
+
+
+	IntersectionIndex() {
+		geometryTable = emptyTable(16);
+		exactTable = emptyTable(16);
+		geometryNext = new int[16];
+		slotX = new int[16];
+		slotY = new int[16];
+		slotDeltaX = new int[16];
+		slotDeltaY = new int[16];
+		slotMaxSize = new int[16];
+		slotFirstEntry = new int[16];
+		exactNext = new int[16];
+		entrySlot = new int[16];
+		entryHash = new int[16];
+		entryNextInSlot = new int[16];
+		entryContributors = new ContributorSet[16];
+	}
+
+
+	int size() {
+		return entries;
+	}
+
+
+	/**
+	 * Determines if an intersection with the same parameters already holds every contributor of a candidate.
+	 *
+	 * @param x, candidate x-coordinate.
+	 * @param y, candidate y-coordinate.
+	 * @param deltaX, candidate width.
+	 * @param deltaY, candidate height.
+	 * @param contributors, candidate contributors (null counts as empty).
+	 *
+	 * @return true, the candidate duplicates an indexed intersection.
+	 * @return false, the candidate is unique.
+	 * */
+	boolean isDuplicate(int x, int y, int deltaX, int deltaY, ContributorSet contributors) {
+		int slot = findSlot(x, y, deltaX, deltaY);
+		if (slot < 0)
+			return false;
+		if (contributors == null || contributors.isEmpty())
+			return true;
+
+		//Exact contributor set match:
+		int hash = exactHash(slot, contributors);
+		for (int entry = exactTable[hash & (exactTable.length - 1)]; entry != -1; entry = exactNext[entry]) {
+			if (entrySlot[entry] == slot && entryHash[entry] == hash && entryContributors[entry].equals(contributors))
+				return true;
+		}
+
+		//Strict superset, only possible when the geometry holds a larger set:
+		int size = contributors.size();
+		if (slotMaxSize[slot] <= size)
+			return false;
+		for (int entry = slotFirstEntry[slot]; entry != -1; entry = entryNextInSlot[entry]) {
+			if (entryContributors[entry].containsAll(contributors))
+				return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 * Adds an intersection to the index.  The contributor set is kept by reference and must not change afterwards.
+	 *
+	 * @param x, intersection x-coordinate.
+	 * @param y, intersection y-coordinate.
+	 * @param deltaX, intersection width.
+	 * @param deltaY, intersection height.
+	 * @param contributors, intersection contributors.
+	 * */
+	void add(int x, int y, int deltaX, int deltaY, ContributorSet contributors) {
+		if (contributors == null)
+			contributors = new ContributorSet();
+
+		//Find or create geometry slot:
+		int slot = findSlot(x, y, deltaX, deltaY);
+		if (slot < 0)
+			slot = addSlot(x, y, deltaX, deltaY);
+
+		//Create entry and link it into its slot and the exact table:
+		if (entries == entrySlot.length)
+			growEntries();
+		int entry = entries++;
+		int hash = exactHash(slot, contributors);
+		entrySlot[entry] = slot;
+		entryHash[entry] = hash;
+		entryContributors[entry] = contributors;
+		entryNextInSlot[entry] = slotFirstEntry[slot];
+		slotFirstEntry[slot] = entry;
+		slotMaxSize[slot] = Math.max(slotMaxSize[slot], contributors.size());
+
+		if (entries > exactTable.length / 2)
+			exactTable = rehash(exactTable, exactNext, entryHash, entries - 1);
+		int bucket = hash & (exactTable.length - 1);
+		exactNext[entry] = exactTable[bucket];
+		exactTable[bucket] = entry;
+	}
+
+
+	private int findSlot(int x, int y, int deltaX, int deltaY) {
+		int hash = geometryHash(x, y, deltaX, deltaY);
+		for (int slot = geometryTable[hash & (geometryTable.length - 1)]; slot != -1; slot = geometryNext[slot]) {
+			if (slotX[slot] == x && slotY[slot] == y && slotDeltaX[slot] == deltaX && slotDeltaY[slot] == deltaY)
+				return slot;
+		}
+		return -1;
+	}
+
+
+	private int addSlot(int x, int y, int deltaX, int deltaY) {
+		if (slots == slotX.length)
+			growSlots();
+		int slot = slots++;
+		slotX[slot] = x;
+		slotY[slot] = y;
+		slotDeltaX[slot] = deltaX;
+		slotDeltaY[slot] = deltaY;
+		slotMaxSize[slot] = 0;
+		slotFirstEntry[slot] = -1;
+
+		if (slots > geometryTable.length / 2)
+			geometryTable = rehashSlots(geometryTable.length * 2);
+		int bucket = geometryHash(x, y, deltaX, deltaY) & (geometryTable.length - 1);
+		geometryNext[slot] = geometryTable[bucket];
+		geometryTable[bucket] = slot;
+		return slot;
+	}
+
+
+	private int[] rehashSlots(int length) {
+		int[] table = emptyTable(length);
+		for (int slot = 0; slot < slots - 1; slot++) {
+			int bucket = geometryHash(slotX[slot], slotY[slot], slotDeltaX[slot], slotDeltaY[slot]) & (length - 1);
+			geometryNext[slot] = table[bucket];
+			table[bucket] = slot;
+		}
+		return table;
+	}
+
+
+	private static int[] rehash(int[] table, int[] next, int[] hashes, int count) {
+		int[] newTable = emptyTable(table.length * 2);
+		for (int entry = 0; entry < count; entry++) {
+			int bucket = hashes[entry] & (newTable.length - 1);
+			next[entry] = newTable[bucket];
+			newTable[bucket] = entry;
+		}
+		return newTable;
+	}
+
+
+	private void growSlots() {
+		int length = slotX.length * 2;
+		geometryNext = Arrays.copyOf(geometryNext, length);
+		slotX = Arrays.copyOf(slotX, length);
+		slotY = Arrays.copyOf(slotY, length);
+		slotDeltaX = Arrays.copyOf(slotDeltaX, length);
+		slotDeltaY = Arrays.copyOf(slotDeltaY, length);
+		slotMaxSize = Arrays.copyOf(slotMaxSize, length);
+		slotFirstEntry = Arrays.copyOf(slotFirstEntry, length);
+	}
+
+
+	private void growEntries() {
+		int length = entrySlot.length * 2;
+		exactNext = Arrays.copyOf(exactNext, length);
+		entrySlot = Arrays.copyOf(entrySlot, length);
+		entryHash = Arrays.copyOf(entryHash, length);
+		entryNextInSlot = Arrays.copyOf(entryNextInSlot, length);
+		entryContributors = Arrays.copyOf(entryContributors, length);
+	}
+
+
+	private static int[] emptyTable(int length) {
+		int[] table = new int[length];
+		Arrays.fill(table, -1);
+		return table;
+	}
+
+
+	private static int geometryHash(int x, int y, int deltaX, int deltaY) {
+		int hash = x;
+		hash = 31 * hash + y;
+		hash = 31 * hash + deltaX;
+		hash = 31 * hash + deltaY;
+		return mix(hash);
+	}
+
+
+	/**
+	 * Canonical signature of a (geometry, contributor set) key.
+	 * */
+	private static int exactHash(int slot, ContributorSet contributors) {
+		return mix(31 * slot + contributors.hashCode());
+	}
+
+
+	private static int mix(int hash) {
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+}
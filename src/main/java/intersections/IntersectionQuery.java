@@ -0,0 +1,203 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+
+/**
+ * IntersectionQuery Class:  Spatial queries over a computed set of intersections and the input rectangles they came from.
+ *
+ * Queries:
+ *
+ * 		1. Point stabbing:  The intersections, or the input rectangles, covering a point.
+ *
+ * 		2. Window query:  The intersections overlapping a bounding box.
+ *
+ * 		3. Deepest region:  The intersection covered by the most input rectangles, over the whole set or at a point.
+ *
+ * Both rectangle lists are indexed once by a static RTree, so each query visits only the nodes around the point or window
+ * rather than scanning every intersection.  The depth of an intersection (the number of input rectangles containing it) is
+ * also computed once, when the index is built.  In clique mode this is the size of its contributor set.
+ *
+ * Edges are closed:  A point on an edge is covered, and a rectangle touching the window overlaps it, as in
+ * IntersectionReporter.overlapPresent().  Results are the caller's Rectangle objects, in the order of their lists.  The index
+ * does not follow later changes to the lists.
+ *
+ * */
+
+
+public final class IntersectionQuery {
+
+	private final ArrayList<Rectangle> inputs;
+	private final ArrayList<Rectangle> intersections;
+
+	//Rows of each store match the list indices:
+	private final RectangleStore inputStore;
+	private final RectangleStore intersectionStore;
+	private final RTree inputTree;
+	private final RTree intersectionTree;
+
+	//Number of input rectangles containing each intersection, and the first deepest intersection (-1 if there is none):
+	private final int[] depth;
+	private final int deepest;
+
+	//Row of each intersection object, for getDepth():
+	private final IdentityHashMap<Rectangle, Integer> rows;
+
+
+	/**
+	 * Builds the index over a set of input rectangles and their intersections.
+	 *
+	 * @param inputs, the input rectangles.
+	 * @param intersections, the intersections found among the input rectangles (in any mode).
+	 * */
+	public IntersectionQuery(ArrayList<Rectangle> inputs, ArrayList<Rectangle> intersections) {
+		//Check for Null lists:
+		if (inputs == null || intersections == null)
+			throw new NullPointerException("Null list not accepted");
+		this.inputs = new ArrayList<Rectangle>(inputs);
+		this.intersections = new ArrayList<Rectangle>(intersections);
+		this.inputStore = RectangleStore.fromRectangles(this.inputs);
+		this.intersectionStore = RectangleStore.fromRectangles(this.intersections);
+		this.inputTree = new RTree(inputStore);
+		this.intersectionTree = new RTree(intersectionStore);
+
+		this.depth = new int[intersectionStore.size()];
+		this.rows = new IdentityHashMap<Rectangle, Integer>(depth.length);
+		int deepestRow = -1;
+		for (int row = 0; row < depth.length; row++) {
+			rows.putIfAbsent(this.intersections.get(row), row);
+			depth[row] = countContaining(intersectionStore.getMinX(row), intersectionStore.getMinY(row),
+										 intersectionStore.getMaxX(row), intersectionStore.getMaxY(row));
+			if (deepestRow == -1 || depth[row] > depth[deepestRow])
+				deepestRow = row;
+		}
+		this.deepest = deepestRow;
+	}
+
+
+	/**
+	 * @return size, the number of indexed intersections.
+	 * */
+	public int size() {
+		return intersections.size();
+	}
+
+
+	/**
+	 * Finds the intersections covering a point.
+	 *
+	 * @param x, x-coordinate of the point.
+	 * @param y, y-coordinate of the point.
+	 *
+	 * @return intersections, the intersections covering the point.
+	 * */
+	public ArrayList<Rectangle> findIntersectionsAt(int x, int y) {
+		return findIntersections(x, y, x, y);
+	}
+
+
+	/**
+	 * Finds the input rectangles covering a point.
+	 *
+	 * @param x, x-coordinate of the point.
+	 * @param y, y-coordinate of the point.
+	 *
+	 * @return inputs, the input rectangles covering the point.
+	 * */
+	public ArrayList<Rectangle> findInputsAt(int x, int y) {
+		return collect(inputTree, inputs, x, y, x, y);
+	}
+
+
+	/**
+	 * Finds the intersections overlapping a window.
+	 *
+	 * @param minX, left edge of the window.
+	 * @param minY, bottom edge of the window.
+	 * @param maxX, right edge of the window.
+	 * @param maxY, top edge of the window.
+	 *
+	 * @return intersections, the intersections overlapping the window.
+	 * */
+	public ArrayList<Rectangle> findIntersections(int minX, int minY, int maxX, int maxY) {
+		return collect(intersectionTree, intersections, minX, minY, maxX, maxY);
+	}
+
+
+	/**
+	 * Finds the intersection covered by the most input rectangles.  Ties go to the intersection first in the list.
+	 *
+	 * @return deepest, the deepest intersection.
+	 * @return null, there are no intersections.
+	 * */
+	public Rectangle findDeepest() {
+		return deepest == -1 ? null : intersections.get(deepest);
+	}
+
+
+	/**
+	 * Finds the deepest intersection covering a point.  Ties go to the intersection first in the list.
+	 *
+	 * @param x, x-coordinate of the point.
+	 * @param y, y-coordinate of the point.
+	 *
+	 * @return deepest, the deepest intersection covering the point.
+	 * @return null, no intersection covers the point.
+	 * */
+	public Rectangle findDeepestAt(int x, int y) {
+		int[] found = {-1};
+		intersectionTree.query(x, y, x, y, row -> {
+			if (found[0] == -1 || depth[row] > depth[found[0]] || (depth[row] == depth[found[0]] && row < found[0]))
+				found[0] = row;
+		});
+		return found[0] == -1 ? null : intersections.get(found[0]);
+	}
+
+
+	/**
+	 * @param intersection, an indexed intersection.
+	 *
+	 * @return depth, the number of input rectangles containing the intersection.
+	 * @return -1, the intersection is not indexed.
+	 * */
+	public int getDepth(Rectangle intersection) {
+		Integer row = rows.get(intersection);
+		return row == null ? -1 : depth[row];
+	}
+
+
+	private int countContaining(int minX, int minY, int maxX, int maxY) {
+		int[] count = {0};
+		inputTree.query(minX, minY, maxX, maxY, row -> {
+			if (inputStore.getMinX(row) <= minX && inputStore.getMinY(row) <= minY
+					&& inputStore.getMaxX(row) >= maxX && inputStore.getMaxY(row) >= maxY)
+				count[0]++;
+		});
+		return count[0];
+	}
+
+
+	/**
+	 * Collects the rectangles a tree reports for a window, in list order.
+	 * */
+	private static ArrayList<Rectangle> collect(RTree tree, ArrayList<Rectangle> rectangles, int minX, int minY, int maxX, int maxY) {
+		int[][] hits = {new int[8]};
+		int[] count = {0};
+		tree.query(minX, minY, maxX, maxY, row -> {
+			if (count[0] == hits[0].length)
+				hits[0] = Arrays.copyOf(hits[0], count[0] * 2);
+			hits[0][count[0]++] = row;
+		});
+		Arrays.sort(hits[0], 0, count[0]);
+
+		ArrayList<Rectangle> found = new ArrayList<Rectangle>(count[0]);
+		for (int k = 0; k < count[0]; k++)
+			found.add(rectangles.get(hits[0][k]));
+		return found;
+	}
+
+}
@@ -2,7 +2,20 @@ package intersections;
 
 
 //Local imports and Java language imports: 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -12,12 +25,41 @@ import java.util.ArrayList;
  * 
  * 		1. Generate initial intersection rectangles from initial rectangles. 
  * 
- * 		2. Recurse and generate a new set of intersection rectangles from all previous set of intersection rectangles. 
+ * 		2. Generate the next generation of intersection rectangles by pairing each rectangle of the newest generation with all intersection rectangles. 
  * 
- * 		3. Continue until all intersection rectangles have been found among set of initial rectangles. 
+ * 		3. Continue until a generation adds no new intersection rectangles. 
  * 
  * 
- * Nature of Recursion: A deeper level of recursion represents intersections comprised of larger numbers of contributing initial rectangles. 
+ * Nature of Generations: A later generation represents intersections comprised of larger numbers of contributing initial rectangles. 
+ * Generations are driven by a loop over the newest generation (the frontier), so stack usage does not grow with overlap depth. 
+ * 
+ * Engines: Overlapping pairs are found by an IntersectionEngine (all-pairs by default, plane sweep for large sparse inputs, 
+ * or fork/join parallel all-pairs for dense inputs on many cores). 
+ * All engines give the same intersections, since candidates are always processed in the order of the original nested loops. 
+ * 
+ * Guards: A maximum intersection count, a maximum number of generations and a deadline can be set for large inputs.  When a guard 
+ * stops the search, isLimitReached() reports that the results are incomplete.  Interrupting the searching thread stops the search 
+ * as the deadline does (the interrupt status is kept).  Both are checked between generations, inside the outer loop of every engine, 
+ * every few thousand pairs and every few hundred clique search steps, so a search stops soon after its deadline even when it 
+ * finds no overlapping pair. 
+ * A maximum contributor count bounds the depth of the search instead, leaving out intersections of more rectangles by choice. 
+ * 
+ * Clique Mode: Instead of building generations, intersections can be enumerated as closed cliques of the overlap graph (see 
+ * CliqueSearch).  Each distinct intersection region is reported once with every initial rectangle covering it as contributors. 
+ * Regions are the same as in generation mode, but generation mode may report a region once per pair of rectangles sharing it, 
+ * lists fewer contributors when a region is reached through a subset, and orders results by generation.  Results therefore only 
+ * match exactly when no region is shared by several contributor sets. 
+ * 
+ * Output: reportIntersections() pushes each intersection into an IntersectionSink as soon as it is found, instead of returning a list. 
+ * iterator() and stream() compute intersections on demand, one generation at a time, so callers stopping early skip later generations. 
+ * 
+ * Statistics: computeStats() counts the intersections of the active mode by contributor count.  Only clique mode counts without 
+ * holding intersections; generation mode holds every one as a store row.  The maximum depth and the overlapped area come from 
+ * sweeps that find no intersection. 
+ * findDeepestRegion() finds where the most rectangles overlap with a sweep, without searching every generation. 
+ * 
+ * Storage: Rectangles are searched from struct-of-arrays RectangleStores, with one ContributorSet per intersection.  Rectangle 
+ * objects for intersections are only created when getIntersections() returns. 
  * 
  * */
 
@@ -25,16 +67,56 @@ import java.util.ArrayList;
 
 public class IntersectionReporter {
 
-	//Initial rectangles from JSON
+	//Initial rectangles from JSON (null when created from a store)
 	private ArrayList<Rectangle> initialRectangles; 
 	
 	//Intersections found by algorithm
 	private ArrayList<Rectangle> allIntersections; 
 	
-	//Last intersection generated at a level of recursion
-	private int lastIntersection; 
+	//Struct-of-arrays storage searched by the engines (intersection store column indexes contributorSets): 
+	private final RectangleStore initialStore; 
+	private final RectangleStore intersectionStore; 
+	private final ArrayList<ContributorSet> contributorSets; 
+	
+	//Hash index over allIntersections for uniqueness checks: 
+	private IntersectionIndex intersectionIndex; 
+	
+	//Strategy used to find overlapping pairs: 
+	private final IntersectionEngine engine; 
+	
+	//Shared empty candidate set for geometry-only uniqueness checks (never modified): 
+	private static final ContributorSet EMPTY_CONTRIBUTORS = new ContributorSet(); 
+	
+	//Guards for large inputs (deadline is a System.nanoTime() value, only checked when hasDeadline is set): 
+	private int maxIntersections; 
+	private int maxGenerations; 
+	private long deadline; 
+	private boolean hasDeadline; 
+	private int generations; 
+	private boolean limitReached; 
+	
+	//Generation loop state (frontierStart is -1 until the initial generation has run): 
+	private int frontierStart = -1; 
+	private boolean searchDone; 
+	
+	//Bound on the contributors of an intersection (pairs merging into more are skipped): 
+	private int maxContributors; 
+	
+	//Enumerate intersections as closed cliques of the overlap graph instead of generations: 
+	private boolean cliqueSearch; 
+	
+	//Sink receiving intersections as they are found (only set during reportIntersections()): 
+	private IntersectionSink sink; 
+	
+	//Optional per-generation hook: 
+	private GenerationListener generationListener; 
 	
 	public IntersectionReporter(ArrayList<Rectangle> initialRectangles) {
+		this(initialRectangles, new AllPairsEngine()); 
+	}
+	
+	
+	public IntersectionReporter(ArrayList<Rectangle> initialRectangles, IntersectionEngine engine) {
 		//Check for Null list: 
 		if (initialRectangles == null) 
 			throw new NullPointerException("Null list of rectangles not accepted"); 
@@ -45,51 +127,450 @@ public class IntersectionReporter {
 				throw new NullPointerException("At least 1 rectangle is null in list"); 
 		}
 		
+		//Check for Null engine: 
+		if (engine == null)
+			throw new NullPointerException("Null engine not accepted"); 
+		
+		this.engine = engine; 
 		this.initialRectangles = initialRectangles; 
 		this.allIntersections = new ArrayList<Rectangle>();
-		this.lastIntersection = 0; 
+		this.initialStore = RectangleStore.fromRectangles(initialRectangles); 
+		this.intersectionStore = new RectangleStore(); 
+		this.contributorSets = new ArrayList<ContributorSet>(); 
+		this.intersectionIndex = new IntersectionIndex(); 
+		this.maxIntersections = Integer.MAX_VALUE; 
+		this.maxGenerations = Integer.MAX_VALUE; 
+		this.maxContributors = Integer.MAX_VALUE; 
+	}
+	
+	
+	/**
+	 * Creates a reporter over initial rectangles already held in a store (e.g. loaded by RectangleFile), without Rectangle objects. 
+	 * The contributor column of each row is the rectangle id, and the store must not be changed while the reporter is in use. 
+	 * 
+	 * @param initialStore, the initial rectangles. 
+	 * @param engine, the engine used to find overlapping pairs. 
+	 * */
+	public IntersectionReporter(RectangleStore initialStore, IntersectionEngine engine) {
+		//Check for Null store and engine: 
+		if (initialStore == null) 
+			throw new NullPointerException("Null store of rectangles not accepted"); 
+		if (engine == null)
+			throw new NullPointerException("Null engine not accepted"); 
+		
+		this.engine = engine; 
+		this.allIntersections = new ArrayList<Rectangle>();
+		this.initialStore = initialStore; 
+		this.intersectionStore = new RectangleStore(); 
+		this.contributorSets = new ArrayList<ContributorSet>(); 
+		this.intersectionIndex = new IntersectionIndex(); 
+		this.maxIntersections = Integer.MAX_VALUE; 
+		this.maxGenerations = Integer.MAX_VALUE; 
+		this.maxContributors = Integer.MAX_VALUE; 
+	}
+	
+	
+	/**
+	 * Sets the maximum number of intersections reported.  The search stops once another unique intersection would exceed it. 
+	 * 
+	 * @param maxIntersections, maximum intersection count (at least 1). 
+	 * */
+	public void setMaxIntersections(int maxIntersections) {
+		if (maxIntersections < 1)
+			throw new IllegalArgumentException("Maximum intersections must be at least 1"); 
+		this.maxIntersections = maxIntersections; 
+	}
+	
+	
+	/**
+	 * Sets the maximum number of generations searched.  Generation 1 holds intersections of 2 initial rectangles. 
+	 * 
+	 * @param maxGenerations, maximum generation count (at least 1). 
+	 * */
+	public void setMaxGenerations(int maxGenerations) {
+		if (maxGenerations < 1)
+			throw new IllegalArgumentException("Maximum generations must be at least 1"); 
+		this.maxGenerations = maxGenerations; 
+	}
+	
+	
+	/**
+	 * Sets the maximum number of contributors of an intersection.  Pairs whose merged contributors would exceed it are skipped before 
+	 * their intersection is calculated (and clique mode stops extending a clique past it), so the search ends once no intersection 
+	 * of at most maxContributors rectangles is left, after polynomial rather than exponential work.  Intersections of more 
+	 * rectangles are left out by choice, so isLimitReached() is not set. 
+	 * 
+	 * @param maxContributors, maximum contributor count (at least 2). 
+	 * */
+	public void setMaxContributors(int maxContributors) {
+		if (maxContributors < 2)
+			throw new IllegalArgumentException("Maximum contributors must be at least 2"); 
+		this.maxContributors = maxContributors; 
+	}
+	
+	
+	/**
+	 * Sets a deadline after which the search stops, as if a guard were reached.  The search checks the deadline (and the interrupt 
+	 * status of its thread) between generations and as it goes through pairs and cliques, so it stops soon after the deadline even 
+	 * while no intersection is found. 
+	 * 
+	 * @param deadline, the System.nanoTime() value after which the search stops. 
+	 * */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline; 
+		this.hasDeadline = true; 
+	}
+	
+	
+	/**
+	 * Selects clique mode, which enumerates each intersection region once from the overlap graph instead of building generations. 
+	 * Generation guards and the generation listener do not apply in clique mode. 
+	 * 
+	 * @param cliqueSearch, true to use clique mode. 
+	 * */
+	public void setCliqueSearch(boolean cliqueSearch) {
+		this.cliqueSearch = cliqueSearch; 
+	}
+	
+	
+	/**
+	 * Sets a listener notified with the count, time and memory of each generation as it completes. 
+	 * 
+	 * @param generationListener, the listener (null to remove). 
+	 * */
+	public void setGenerationListener(GenerationListener generationListener) {
+		this.generationListener = generationListener; 
+	}
+	
+	
+	/**
+	 * @return true, a guard stopped the search before all intersections were found. 
+	 * @return false, all intersections were found. 
+	 * */
+	public boolean isLimitReached() {
+		return limitReached; 
 	}
 	
 	
 	/**
-	 * Client level method to recursively finds all intersections of initial rectangles given to Reporter instance. 
+	 * Client level method to find all intersections of initial rectangles given to Reporter instance, one generation at a time. 
 	 * 
 	 * @return allIntersections, the set of all intersections found for all input rectangles from JSON file. 
 	 * */
 	public ArrayList<Rectangle> getIntersections() {
-		//Generate initial rectangles: 
-		generateIntersections(initialRectangles, 0);
-		boolean noIntersection = noIntersections(0); 
+		if (cliqueSearch) {
+			if (allIntersections.isEmpty() && !limitReached)
+				searchCliques((x, y, deltaX, deltaY, contributors) -> allIntersections.add(new Rectangle(deltaX, deltaY, x, y, contributors))); 
+			return allIntersections; 
+		}
+		
+		searchGenerations(); 
 		
-		//Generate further rectangles until all intersection rectangles are found: 
-		getIntersections(noIntersection, this.lastIntersection - 1);
+		//Create Rectangle objects for intersections not yet returned: 
+		allIntersections.ensureCapacity(intersectionStore.size());
+		for (int row = allIntersections.size(); row < intersectionStore.size(); row++) 
+			allIntersections.add(toIntersection(row)); 
 		
 		return allIntersections; 
 	}
 	
 	
 	/**
-	 * Recursive portion of algorithm that finds intersections comprised of more than 2 contributing rectangles (contributors). 
+	 * Client level method to push all intersections into a sink as they are found, without building a list of Rectangle objects. 
+	 * Intersections found by an earlier call are pushed first, so every call reports the complete set. 
 	 * 
-	 * @param noIntersections, boolean value that reports whether or not the current set of intersection rectangles have more intersections. 
+	 * @param sink, receives each intersection, then is flushed. 
 	 * 
-	 * @param lastIntersection, index of the last intersection rectangle from the previous recursive calculation of sets.  
+	 * @return count, the number of intersections pushed into the sink. 
+	 * */
+	public int reportIntersections(IntersectionSink sink) throws IOException {
+		//Check for Null sink: 
+		if (sink == null)
+			throw new NullPointerException("Null sink not accepted"); 
+		
+		int count; 
+		try {
+			if (cliqueSearch) {
+				count = searchCliques(sink); 
+			} else {
+				//Intersections already found: 
+				for (int row = 0; row < intersectionStore.size(); row++)
+					push(sink, row); 
+				
+				this.sink = sink; 
+				searchGenerations(); 
+				count = intersectionStore.size(); 
+			}
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause(); 
+		} finally {
+			this.sink = null; 
+		}
+		
+		sink.flush();
+		return count; 
+	}
+	
+	
+	/**
+	 * Client level method to count intersections by contributor count and measure overlap. 
 	 * 
+	 * The counts are those of the active mode, so they match getIntersections(), and they cost a full search in that mode 
+	 * (exponential time in the worst case).  Guards stop the count as they stop the search (see IntersectionStats.isComplete()). 
+	 * 
+	 * Only clique mode is a count-only mode: each intersection is counted as the clique search reports it and none is kept, so 
+	 * memory stays close to the size of the input.  Generation mode cannot be counted from the cliques, since the contributors it 
+	 * lists for a region depend on which pair reaches the region first.  It runs the generation search instead, holding a store 
+	 * row, a ContributorSet and an index entry for every intersection: the memory of getIntersections() without its Rectangle 
+	 * objects (a later getIntersections() reuses the rows).  Use clique mode to count inputs too large to enumerate. 
+	 * 
+	 * The maximum depth and the areas come from sweeps over the initial rectangles in O(n log n) time, however many intersections 
+	 * there are. 
+	 * 
+	 * @return stats, the counts, maximum depth, union area and overlapped area of the initial rectangles. 
 	 * */
-	private void getIntersections(boolean noIntersections, int lastIntersection) {
-		//Base case: No more intersections left to calculate: 
-		if (noIntersections)
-			return; 
+	public IntersectionStats computeStats() {
+		long[][] counts = {new long[8]}; 
+		boolean completed; 
+		if (cliqueSearch) {
+			int[] found = new int[1]; 
+			CliqueSearch search = new CliqueSearch(initialStore, engine); 
+			search.setMaxSize(maxContributors);
+			search.setStopCondition(stopCondition());
+			completed = search.run((minX, minY, maxX, maxY, members, size) -> {
+				//Guard: Stop once the intersection limit would be exceeded: 
+				if (found[0] >= maxIntersections)
+					return false; 
+				
+				if (size >= counts[0].length)
+					counts[0] = Arrays.copyOf(counts[0], Math.max(size + 1, counts[0].length * 2)); 
+				counts[0][size]++; 
+				found[0]++; 
+				return true; 
+			}); 
+		} else {
+			searchGenerations(); 
+			for (int row = 0; row < intersectionStore.size(); row++) {
+				int size = contributorSets.get(intersectionStore.getContributor(row)).size(); 
+				if (size >= counts[0].length)
+					counts[0] = Arrays.copyOf(counts[0], Math.max(size + 1, counts[0].length * 2)); 
+				counts[0][size]++; 
+			}
+			completed = !limitReached; 
+		}
 		
-		//Intersections still exist: 
-		if (!noIntersections) {
-			//Generate intersections using last intersection index as reference point: 
-			int oldLast = lastIntersection; 
-			generateIntersections(allIntersections, oldLast);
+		long[] areas = new CoverageSweep(initialStore, 2).run(); 
+		int maxDepth = new DepthSweep(initialStore).run().length; 
+		return new IntersectionStats(Arrays.copyOf(counts[0], Math.max(maxDepth + 1, 2)), maxDepth, areas[1], areas[2], completed); 
+	}
+	
+	
+	/**
+	 * Client level method to find where the most initial rectangles overlap, with a sweep over the rectangles instead of a search 
+	 * through every generation.  The region is the deepest intersection of clique mode, holding as contributors every rectangle 
+	 * covering it.  Generation mode reports the same region in its last generations, with fewer contributors when it reaches the 
+	 * region through a subset.  When several regions share the maximum depth, the leftmost (then lowest) is returned.  Guards do 
+	 * not apply. 
+	 * 
+	 * @return region, the intersection region covered by the most initial rectangles. 
+	 * @return null, no 2 initial rectangles share an area. 
+	 * */
+	public Rectangle findDeepestRegion() {
+		int[] rows = new DepthSweep(initialStore).run(); 
+		if (rows.length < 2)
+			return null; 
+		
+		//Common region of the covering rectangles: 
+		int minX = Integer.MIN_VALUE; 
+		int minY = Integer.MIN_VALUE; 
+		int maxX = Integer.MAX_VALUE; 
+		int maxY = Integer.MAX_VALUE; 
+		ContributorSet contributors = new ContributorSet(); 
+		for (int row : rows) {
+			minX = Math.max(minX, initialStore.getMinX(row)); 
+			minY = Math.max(minY, initialStore.getMinY(row)); 
+			maxX = Math.min(maxX, initialStore.getMaxX(row)); 
+			maxY = Math.min(maxY, initialStore.getMaxY(row)); 
+			contributors.add(initialStore.getContributor(row));
+		}
+		return new Rectangle(maxX - minX, maxY - minY, minX, minY, contributors); 
+	}
+	
+	
+	/**
+	 * Client level method to iterate over all intersections, computing them on demand one generation at a time: the next generation 
+	 * is only searched once the intersections found so far are used up, so stopping early skips the later generations. 
+	 * In clique mode, where results are not grouped in generations, the first call to hasNext() finds all intersections. 
+	 * The reporter is not thread-safe, and the iterator shares its state with getIntersections() and reportIntersections(). 
+	 * 
+	 * @return iterator, the intersections in the order of getIntersections(). 
+	 * */
+	public Iterator<Rectangle> iterator() {
+		if (cliqueSearch)
+			return new CliqueIterator(); 
+		return new GenerationIterator(); 
+	}
+	
+	
+	/**
+	 * Client level method to stream all intersections, computed on demand one generation at a time (see iterator()).  Short-circuiting 
+	 * operations such as limit() and anyMatch() stop the search at the generation holding their last result.  A parallel stream splits 
+	 * off the intersections already found, so only downstream operations run in parallel, and each generation is still searched by 
+	 * the engine (in parallel with ParallelEngine). 
+	 * 
+	 * @return stream, the intersections in the order of getIntersections() (sequential unless parallel() is called). 
+	 * */
+	public Stream<Rectangle> stream() {
+		if (cliqueSearch)
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false); 
+		return StreamSupport.stream(new GenerationSpliterator(), false); 
+	}
+	
+	
+	/**
+	 * Runs the generation loop until a generation adds no new intersections or a guard stops the search. 
+	 * */
+	private void searchGenerations() {
+		while (searchNextGeneration()) 
+			continue; 
+	}
+	
+	
+	/**
+	 * Runs the next generation of the loop: the initial generation first, then a generation from the newest one. 
+	 * 
+	 * @return true, the generation added intersections. 
+	 * @return false, the search is complete or a guard stopped it. 
+	 * */
+	private boolean searchNextGeneration() {
+		if (searchDone)
+			return false; 
+		
+		//Guard case: Deadline passed or thread interrupted: 
+		if (isStopRequested()) {
+			limitReached = true; 
+			searchDone = true; 
+			return false; 
+		}
+		
+		int generationStart = intersectionStore.size(); 
+		if (frontierStart == -1) {
+			//Generate initial rectangles: 
+			runGeneration(initialStore, 0);
+		} else {
+			//Guard case: Limit reached with a generation still left to search: 
+			if (generations >= maxGenerations) {
+				limitReached = true; 
+				searchDone = true; 
+				return false; 
+			}
+			runGeneration(intersectionStore, frontierStart);
+		}
+		frontierStart = generationStart; 
+		
+		//The search ends once a generation adds nothing or a guard stops it: 
+		boolean added = intersectionStore.size() > generationStart; 
+		if (!added || limitReached)
+			searchDone = true; 
+		return added; 
+	}
+	
+	
+	/**
+	 * Creates the Rectangle object of an intersection row. 
+	 * */
+	private Rectangle toIntersection(int row) {
+		return new Rectangle(intersectionStore.getMaxX(row) - intersectionStore.getMinX(row), 
+							 intersectionStore.getMaxY(row) - intersectionStore.getMinY(row), 
+							 intersectionStore.getMinX(row), intersectionStore.getMinY(row), 
+							 contributorSets.get(intersectionStore.getContributor(row))); 
+	}
+	
+	
+	/**
+	 * Finds all intersections as closed cliques of the overlap graph, without building generations or a uniqueness index. 
+	 * Each distinct region is pushed into a sink once, with every rectangle covering the region as contributors. 
+	 * 
+	 * @param target, receives each intersection. 
+	 * 
+	 * @return count, the number of intersections pushed. 
+	 * */
+	private int searchCliques(IntersectionSink target) {
+		int[] count = new int[1]; 
+		CliqueSearch search = new CliqueSearch(initialStore, engine); 
+		search.setMaxSize(maxContributors);
+		search.setStopCondition(stopCondition());
+		boolean completed = search.run((minX, minY, maxX, maxY, members, size) -> {
+			//Guard: Stop once the intersection limit would be exceeded: 
+			if (count[0] >= maxIntersections)
+				return false; 
 			
-			//Determine if more intersections exist in current set of intersections: 
-			noIntersections = noIntersections(oldLast); 
-			getIntersections(noIntersections, this.lastIntersection - 1);
+			ContributorSet contributors = new ContributorSet(); 
+			for (int k = 0; k < size; k++)
+				contributors.add(initialStore.getContributor(members[k]));
+			try {
+				target.accept(minX, minY, maxX - minX, maxY - minY, contributors);
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception); 
+			}
+			count[0]++; 
+			return true; 
+		}); 
+		limitReached = !completed; 
+		
+		return count[0]; 
+	}
+	
+	
+	/**
+	 * @return true, the deadline has passed or the searching thread was interrupted. 
+	 * @return false, the search may continue. 
+	 * */
+	private boolean isStopRequested() {
+		return Thread.currentThread().isInterrupted() || (hasDeadline && System.nanoTime() - deadline > 0); 
+	}
+	
+	
+	/**
+	 * @return stopCondition, isStopRequested() for the calling thread, safe to check from the workers of a parallel engine. 
+	 * */
+	private BooleanSupplier stopCondition() {
+		Thread searcher = Thread.currentThread(); 
+		return () -> searcher.isInterrupted() || (hasDeadline && System.nanoTime() - deadline > 0); 
+	}
+	
+	
+	/**
+	 * Pushes an intersection row into a sink. 
+	 * */
+	private void push(IntersectionSink target, int row) {
+		try {
+			target.accept(intersectionStore.getMinX(row), intersectionStore.getMinY(row), intersectionStore.getMaxX(row) - intersectionStore.getMinX(row), 
+						  intersectionStore.getMaxY(row) - intersectionStore.getMinY(row), contributorSets.get(intersectionStore.getContributor(row)));
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception); 
+		}
+	}
+	
+	
+	/**
+	 * Generates one generation of intersections and reports its count, time and memory to the generation listener. 
+	 * 
+	 * @param store, the rectangles to generate intersections from. 
+	 * @param generationStart, index of the first rectangle of the newest generation in the store. 
+	 * 
+	 * */
+	private void runGeneration(RectangleStore store, int generationStart) {
+		int startSize = intersectionStore.size(); 
+		long startTime = System.nanoTime(); 
+		
+		generateIntersections(store, generationStart);
+		generations++; 
+		
+		if (generationListener != null) {
+			Runtime runtime = Runtime.getRuntime(); 
+			generationListener.generationCompleted(generations, intersectionStore.size() - startSize, 
+												   System.nanoTime() - startTime, runtime.totalMemory() - runtime.freeMemory());
 		}
 	}
 	
@@ -101,11 +582,11 @@ public class IntersectionReporter {
 	 * */
 	public void printInputs() {
 		System.out.println("Inputs: ");
-		for (Rectangle rectangle : initialRectangles) {
-			System.out.println(rectangle.getId() + ": Rectangle at " + 
-							 "(" + rectangle.getX() + "," + rectangle.getY() + "),"
-							  + " delta_x=" + rectangle.getDeltaX() + ", "
-							  + " delta_y=" + rectangle.getDeltaY());
+		for (int row = 0; row < initialStore.size(); row++) {
+			System.out.println(initialStore.getContributor(row) + ": Rectangle at " + 
+							 "(" + initialStore.getMinX(row) + "," + initialStore.getMinY(row) + "),"
+							  + " delta_x=" + (initialStore.getMaxX(row) - initialStore.getMinX(row)) + ", "
+							  + " delta_y=" + (initialStore.getMaxY(row) - initialStore.getMinY(row)));
 		}
 	}
 	
@@ -117,28 +598,14 @@ public class IntersectionReporter {
 	 * 
 	 * */
 	public void printIntersections(ArrayList<Rectangle> allIntersections) {
-		System.out.println("Intersections: ");
-		for (int i = 0; i < allIntersections.size(); i++) {
-			Rectangle rectangle = allIntersections.get(i); 
-			StringBuilder outputBuilder = new StringBuilder();
-			
-			//Append contributing rectangles to output string: 
-			outputBuilder.append("" + (i + 1) + ": Between rectangle");
-			ArrayList<Integer> contributors = rectangle.getContributors(); 
-			for (Integer contributor : contributors) {
-				if (contributors.indexOf(contributor) == contributors.size() - 1)
-					outputBuilder.append(" and " + contributor); 
-				else 
-					outputBuilder.append(" " + contributor + ","); 
-			}
-			
-			//Append rectangle parameter information to output string: 
-			outputBuilder.append(" at (" + rectangle.getX() + "," + rectangle.getY() + ")"
-			        +  "), " + "delta_x= " + rectangle.getDeltaX()
-			        +  ",  delta_y= " + rectangle.getDeltaY() + ".");
-
-			String output = outputBuilder.toString(); 
-			System.out.println(output);
+		//Format each line into the reusable buffer of a text sink (the writer is flushed, never closed, to keep System.out open): 
+		TextIntersectionSink textSink = new TextIntersectionSink(new PrintWriter(System.out)); 
+		try {
+			for (Rectangle rectangle : allIntersections) 
+				textSink.accept(rectangle.getX(), rectangle.getY(), rectangle.getDeltaX(), rectangle.getDeltaY(), rectangle.getContributorSet());
+			textSink.flush();
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception); 
 		}
 	}
 	
@@ -184,7 +651,7 @@ public class IntersectionReporter {
 		
 		//Add intersection rectangle to list: 
 		Rectangle newRectangle = new Rectangle(deltaX, deltaY, x5, y5); 
-		if (rectangle1.getContributors() == null && rectangle2.getContributors() == null) {
+		if (rectangle1.getContributorSet() == null && rectangle2.getContributorSet() == null) {
 			newRectangle.addInitialContributors(rectangle1.getId(), rectangle2.getId());
 		} 
 			
@@ -208,116 +675,280 @@ public class IntersectionReporter {
 		if (rectangle1 == null || rectangle2 == null)
 			throw new IllegalArgumentException("Null rectangle inputs not accepted");
 		
-		
-		//Rectangle 1 coordinates: 
-		int R1LeftX = rectangle1.getX();
-		int R1RightX = R1LeftX + rectangle1.getDeltaX(); 
-		int R1BottomY = rectangle1.getY(); 
-		int R1TopY = R1BottomY + rectangle1.getDeltaY();  
-	
-		//Rectangle 2 coordinates: 
-		int R2LeftX = rectangle2.getX();
-		int R2RightX = R2LeftX + rectangle2.getDeltaX(); 
-		int R2BottomY = rectangle2.getY(); 
-		int R2TopY = R2BottomY + rectangle2.getDeltaY();  
-	
-	
-		//Determine if at least one set of sides overlap between two rectangles: 
-		if (R1LeftX > R2RightX || R1RightX < R2LeftX || R1TopY < R2BottomY || R1BottomY > R2TopY) {
-			return false; 
-		} else {
-			return true; 
-		}
+		return AllPairsEngine.overlapPresent(rectangle1, rectangle2); 
 	}
 	
 	
 	/**
-	 * Iteratively determines if intersections exist in the overall set of rectangles. 
+	 * Generates intersections between rectangles in a set, using the last intersection index as reference. 
+	 * A rectangle paired with itself, or a pair already visited in the opposite order, can only reproduce an existing intersection and is skipped. 
+	 * Rectangles that only touch along an edge have no intersection rectangle and are skipped. 
+	 * Candidates are built from store edges, so no Rectangle object is created per candidate. 
+	 * 
+	 * @param store, the rectangles to generate intersections from. 
+	 * @param lastIntersection, index of most recent intersection to start iterating from. 
 	 * 
-	 * @param lastIntersection, index of the last intersection generated in previous recursion. 
 	 * 
-	 * @return true, an intersection was found between two rectangles of intersection set. 
-	 * @return false, no intersections found among intersection set rectangles. 
 	 * */
-	
-	private boolean noIntersections(int lastIntersection) {
-		int endingPoint = allIntersections.size();
+	private void generateIntersections(RectangleStore store, int lastIntersection) {
+		int endPoint = store.size(); 
+		
+		//Find overlapping pairs and put them in the order of the nested loops (newer rectangle first): 
+		BooleanSupplier stopCondition = stopCondition(); 
+		PairBuffer overlaps = new PairBuffer(stopCondition); 
+		try {
+			if (maxContributors < Integer.MAX_VALUE && store == intersectionStore) 
+				findBoundedOverlaps(lastIntersection, endPoint, overlaps, stopCondition); 
+			else 
+				engine.findOverlaps(store, lastIntersection, endPoint, overlaps, stopCondition);
+		} catch (SearchStoppedException exception) {
+			limitReached = true; 
+			return; 
+		}
+		
+		//Guard: Engines return early, with pairs missing, once the deadline passes: 
+		if (stopCondition.getAsBoolean()) {
+			limitReached = true; 
+			return; 
+		}
+		long[] pairs = overlaps.toSortedArray(lastIntersection); 
 		
-		//Iterate from last intersection generated to end of list: 
-		for (int i = lastIntersection; i < endingPoint; i++) {
-			Rectangle rectangle1 = allIntersections.get(i); 
+		for (int k = 0; k < pairs.length; k++) {
+			//Guard: Stop once the deadline passes (checked every 1024 pairs): 
+			if ((k & 1023) == 1023 && isStopRequested()) {
+				limitReached = true; 
+				return; 
+			}
+			
+			int row1 = (int) (pairs[k] >>> 32); 
+			int row2 = (int) pairs[k]; 
+			
+			//Intersecting rectangle coordinates: 
+			int minX = Math.max(store.getMinX(row1), store.getMinX(row2)); 
+			int minY = Math.max(store.getMinY(row1), store.getMinY(row2)); 
+			int deltaX = Math.min(store.getMaxX(row1), store.getMaxX(row2)) - minX; 
+			int deltaY = Math.min(store.getMaxY(row1), store.getMaxY(row2)) - minY; 
 			
-			//Iterate from next rectangle from rectangle1 to avoid redundant comparisons (AnB / BnA intersections): 
-			for (int j = i + 1; j < endingPoint; j++) {
-				Rectangle rectangle2 = allIntersections.get(j);
+			//Skip rectangles that only touch: 
+			if (deltaX <= 0 || deltaY <= 0)
+				continue; 
+			
+			//Initial pairs are checked with both ids, any other pair by geometry alone (as in findIntersection()): 
+			ContributorSet contributors1 = contributorsOf(store, row1); 
+			ContributorSet contributors2 = contributorsOf(store, row2); 
+			ContributorSet contributors = contributors1 == null && contributors2 == null 
+					? ContributorSet.of(store.getContributor(row1), store.getContributor(row2)) : EMPTY_CONTRIBUTORS; 
+			
+			//Only add rectangle to intersections if unique contributors exist for rectangle:  
+			if (!intersectionIndex.isDuplicate(minX, minY, deltaX, deltaY, contributors)) {
+				//Guard: Stop once the intersection limit would be exceeded: 
+				if (intersectionStore.size() >= maxIntersections) {
+					limitReached = true; 
+					return; 
+				}
 				
-				//Check if overlap exists between two rectangles: 
-				if (overlapPresent(rectangle1, rectangle2)) 
-					return false; 
+				if (contributors == EMPTY_CONTRIBUTORS)
+					contributors = new ContributorSet(); 
+				if (contributors1 != null)
+					contributors.addAll(contributors1);
+				if (contributors2 != null)
+					contributors.addAll(contributors2);
+				
+				intersectionStore.add(minX, minY, minX + deltaX, minY + deltaY, contributorSets.size()); 
+				contributorSets.add(contributors); 
+				intersectionIndex.add(minX, minY, deltaX, deltaY, contributors);
+				if (sink != null)
+					push(sink, intersectionStore.size() - 1); 
 			}
 		}
-		return true; 
 	}
 	
 	
-	
 	/**
-	 * Generates intersections between rectangles in a set, using the last intersection index as reference. 
-	 * 
-	 * @param rectangleList, the list of rectangles to generate intersections from. 
-	 * @param lastIntersection, index of most recent intersection to start iterating from. 
-	 * 
+	 * Finds the overlapping pairs of intersection rows that can form an intersection within the contributor bound. 
+	 * A row already holding maxContributors contributors can only pair with a subset of itself, reproducing its own region, so the 
+	 * engine searches a copy of the other rows.  Pairs whose merged contributors would exceed the bound are dropped as they are found. 
 	 * 
+	 * @param lastIntersection, index of the first intersection of the newest generation. 
+	 * @param endPoint, number of intersections searched. 
+	 * @param overlaps, receives the intersection rows of each pair kept. 
+	 * @param stopCondition, stops the engine once it holds. 
 	 * */
-	private void generateIntersections(ArrayList<Rectangle> rectangleList, int lastIntersection) {
-		int endPoint = rectangleList.size(); 
+	private void findBoundedOverlaps(int lastIntersection, int endPoint, PairBuffer overlaps, BooleanSupplier stopCondition) {
+		//Copy rows below the bound, keeping their order (openRows maps a copied row back to its intersection row): 
+		RectangleStore openStore = new RectangleStore(); 
+		int[] openRows = new int[endPoint]; 
+		int openStart = 0; 
+		for (int row = 0; row < endPoint; row++) {
+			if (row == lastIntersection)
+				openStart = openStore.size(); 
+			if (contributorSets.get(intersectionStore.getContributor(row)).size() < maxContributors) {
+				openRows[openStore.size()] = row; 
+				openStore.add(intersectionStore.getMinX(row), intersectionStore.getMinY(row), intersectionStore.getMaxX(row), 
+							  intersectionStore.getMaxY(row), intersectionStore.getContributor(row)); 
+			}
+		}
+		if (openStart == openStore.size())
+			return; 
 		
-		//Iterate from last intersection point to end of set: 
-		for (int i = lastIntersection; i < endPoint; i++) {
-			
-			Rectangle rectangle1 =  rectangleList.get(i);
-			int startPoint = rectangle1.getId();
-
-			//Iteratively compare rectangles starting from next rectangle to rectangle1: 
-			for (int j = startPoint; j < endPoint; j++) {
-				Rectangle rectangle2 = rectangleList.get(j);
-				
-				//Create new intersection rectangle if overlap is possible: 
-				if (overlapPresent(rectangle1, rectangle2)) {
-					Rectangle newRectangle = findIntersection(rectangle1, rectangle2);
-					
-					//Only add rectangle to intersections if unique contributors exist for rectangle:  
-					if (isUnique(newRectangle)) {
-						newRectangle.addUniqueContributors(rectangle1.getContributors());
-						newRectangle.addUniqueContributors(rectangle2.getContributors());
-						allIntersections.add(newRectangle);
-						this.lastIntersection++;
-					}
-						
-				}
+		engine.findOverlaps(openStore, openStart, openStore.size(), (first, second) -> {
+			ContributorSet contributors1 = contributorSets.get(openStore.getContributor(first)); 
+			ContributorSet contributors2 = contributorSets.get(openStore.getContributor(second)); 
+			if (contributors1.unionSize(contributors2) <= maxContributors)
+				overlaps.accept(openRows[first], openRows[second]);
+		}, stopCondition); 
+	}
+	
+	
+	/**
+	 * Returns the contributor set of a row: the set of an intersection, or null for an initial rectangle without contributors. 
+	 * */
+	private ContributorSet contributorsOf(RectangleStore store, int row) {
+		if (store == intersectionStore)
+			return contributorSets.get(store.getContributor(row)); 
+		return initialRectangles == null ? null : initialRectangles.get(row).getContributorSet(); 
+	}
+	
+	
+	/**
+	 * Iterator over intersection rows, searching the next generation whenever the rows found so far are used up. 
+	 * */
+	private final class GenerationIterator implements Iterator<Rectangle> {
+		
+		private int row; 
+		
+		@Override
+		public boolean hasNext() {
+			while (row >= intersectionStore.size()) {
+				if (!searchNextGeneration())
+					return false; 
 			}
+			return true; 
+		}
+		
+		@Override
+		public Rectangle next() {
+			if (!hasNext())
+				throw new NoSuchElementException(); 
+			return toIntersection(row++); 
 		}
 	}
 	
 	
 	/**
-	 * Iteratively determines if an intersection rectangle is unique among all intersection rectangles.  
-	 * Comparison is done using parameters and contributing initial rectangles. 
-	 * 
-	 * @param newRectangle, a new intersection rectangle generated from 2 rectangles. 
-	 * 
-	 * @return true, the intersection rectangle is unique in the set. 
-	 * @return false, there already exists an intersection in the set. 
-	 * 
+	 * Iterator over the intersections of clique mode, found by getIntersections() on first use. 
+	 * */
+	private final class CliqueIterator implements Iterator<Rectangle> {
+		
+		private Iterator<Rectangle> intersections; 
+		
+		@Override
+		public boolean hasNext() {
+			if (intersections == null)
+				intersections = Collections.unmodifiableList(getIntersections()).iterator(); 
+			return intersections.hasNext(); 
+		}
+		
+		@Override
+		public Rectangle next() {
+			if (!hasNext())
+				throw new NoSuchElementException(); 
+			return intersections.next(); 
+		}
+	}
+	
+	
+	/**
+	 * Spliterator over intersection rows, searching the next generation whenever the rows found so far are used up. 
+	 * trySplit() hands the first half of the rows already found (searching a generation if none are left) to a new spliterator 
+	 * as Rectangle objects, so the split part never reads the reporter while this part searches further generations. 
 	 * */
-	private boolean isUnique(Rectangle newRectangle) {
-		for (Rectangle rectangle : allIntersections) {
-			if (!rectangle.isIntersectionUnique(newRectangle))
+	private final class GenerationSpliterator implements Spliterator<Rectangle> {
+		
+		//Smallest number of found rows worth splitting off: 
+		private static final int MIN_SPLIT = 1024; 
+		
+		private final GenerationIterator rows = new GenerationIterator(); 
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super Rectangle> action) {
+			if (!rows.hasNext())
 				return false; 
+			action.accept(rows.next());
+			return true; 
+		}
+		
+		@Override
+		public Spliterator<Rectangle> trySplit() {
+			if (!rows.hasNext())
+				return null; 
+			int available = intersectionStore.size() - rows.row; 
+			if (available < MIN_SPLIT)
+				return null; 
+			
+			Rectangle[] prefix = new Rectangle[available / 2]; 
+			for (int k = 0; k < prefix.length; k++) 
+				prefix[k] = rows.next(); 
+			return Spliterators.spliterator(prefix, characteristics()); 
+		}
+		
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE; 
+		}
+		
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.NONNULL; 
 		}
-		return true; 
 	}
 	
 	
+	/**
+	 * Growable buffer of overlapping pairs reported by an engine.  Every 4096 pairs it checks a stop condition, and stops the engine 
+	 * with a SearchStoppedException when it holds. 
+	 * */
+	private static final class PairBuffer implements IntersectionEngine.PairConsumer {
+		
+		private final BooleanSupplier stopCondition; 
+		private long[] pairs = new long[16]; 
+		private int size; 
+		
+		PairBuffer(BooleanSupplier stopCondition) {
+			this.stopCondition = stopCondition; 
+		}
+		
+		@Override
+		public void accept(int first, int second) {
+			if ((size & 4095) == 4095 && stopCondition.getAsBoolean())
+				throw new SearchStoppedException(); 
+			if (size == pairs.length)
+				pairs = Arrays.copyOf(pairs, size * 2); 
+			pairs[size++] = ((long) first << 32) | second; 
+		}
+		
+		int size() {
+			return size; 
+		}
+		
+		/**
+		 * Orders pairs as the nested loops visit them: a rectangle of the newest generation first, then its partner by index. 
+		 * 
+		 * @param lastIntersection, index of the first rectangle of the newest generation. 
+		 * 
+		 * @return pairs, packed (first, second) list indices in processing order. 
+		 * */
+		long[] toSortedArray(int lastIntersection) {
+			long[] sorted = Arrays.copyOf(pairs, size); 
+			for (int k = 0; k < size; k++) {
+				int first = (int) (sorted[k] >>> 32); 
+				int second = (int) sorted[k]; 
+				if (first < lastIntersection)
+					sorted[k] = ((long) second << 32) | first; 
+			}
+			Arrays.parallelSort(sorted);
+			return sorted; 
+		}
+	}
 	
 }
@@ -0,0 +1,433 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+//External Library classes:
+import org.everit.json.schema.ValidationException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * IntersectionServer Class:  Long-running local HTTP service computing intersections, so one warm JVM serves many requests.
+ *
+ * Usage: java -cp target/classes:... intersections.IntersectionServer [--port=8080] [--workers=N] [--max-queued=M] [--timeout-ms=T]
+ * 		  [--max-intersections=C]
+ *
+ * Endpoints:
+ *
+ * 		1. POST /intersections: Body is the {"rects": [...]} payload App reads.  Query parameters are App options without the leading
+ * 		   dashes (e.g. ?engine=rtree&mode=clique&max-intersections=1000).  The response streams as it is computed:
+ * 		   {"intersections": [{"x": .., "y": .., "delta_x": .., "delta_y": .., "contributors": [..]}, ...], "count": N,
+ * 		   "limit_reached": false, "timed_out": false, "elapsed_ms": 1.5}
+ *
+ * 		2. GET /metrics: Request counts and latency (mean, p50, p90, p99 and max of recent requests) as JSON.
+ *
+ * 		3. GET /health: "ok".
+ *
+ * Limits:
+ *
+ * 		1. Requests run on a pool of N worker threads (default one per processor), with at most M more waiting for a worker
+ * 		   (default 4 per worker).  Requests beyond that are rejected at once with 503, rather than queued without bound.
+ *
+ * 		2. Each request has a deadline of T milliseconds from arrival (default 30000), including time spent waiting.  A request
+ * 		   still waiting at its deadline gets 503.  Once computing, the deadline is a guard of the reporter (see
+ * 		   IntersectionReporter.setDeadline()), checked by the search and inside the outer loop of every engine whether or not it
+ * 		   is finding overlapping pairs, so a late request frees its worker soon after the deadline and ends its response early
+ * 		   with "timed_out": true.  The worker is not interrupted, since an interrupt closes the connection the response is
+ * 		   streaming to.
+ *
+ * 		3. Each request stops after at most C intersections (default 1000000), and a request asking for more gets 400.  With the
+ * 		   admission limit of item 1, this bounds the memory held by all requests in progress.  Errors such as OutOfMemoryError
+ * 		   are not caught, since the JVM state is unknown after them.
+ *
+ * Invalid payloads and options get 400 with an {"error": ".."} body, before any result is computed.
+ *
+ * */
+
+
+public final class IntersectionServer {
+
+	private static final int LATENCY_SAMPLES = 1024;
+	private static final int DEFAULT_MAX_INTERSECTIONS = 1000000;
+
+	private final HttpServer server;
+	private final ExecutorService workers;
+	private final Semaphore permits;
+	private final long timeoutNanos;
+	private final int maxIntersections;
+
+	//Metrics:
+	private final LongAdder received = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final long[] latencies = new long[LATENCY_SAMPLES];
+	private long latencyCount;
+	private long latencyMaxNanos;
+	private long latencyTotalNanos;
+
+
+	/**
+	 * Creates a server bound to an address (port 0 picks a free port), with the default intersection cap of each request.
+	 * Call start() to accept requests.
+	 *
+	 * @param address, the address to bind.
+	 * @param workerCount, the number of requests computed at once.
+	 * @param maxQueued, the number of requests allowed to wait for a worker.
+	 * @param timeoutMillis, the deadline of each request from arrival.
+	 * */
+	public IntersectionServer(InetSocketAddress address, int workerCount, int maxQueued, long timeoutMillis) throws IOException {
+		this(address, workerCount, maxQueued, timeoutMillis, DEFAULT_MAX_INTERSECTIONS);
+	}
+
+
+	/**
+	 * Creates a server bound to an address (port 0 picks a free port).  Call start() to accept requests.
+	 *
+	 * @param address, the address to bind.
+	 * @param workerCount, the number of requests computed at once.
+	 * @param maxQueued, the number of requests allowed to wait for a worker.
+	 * @param timeoutMillis, the deadline of each request from arrival.
+	 * @param maxIntersections, the most intersections a request may compute (requests asking for more are rejected).
+	 * */
+	public IntersectionServer(InetSocketAddress address, int workerCount, int maxQueued, long timeoutMillis, int maxIntersections)
+			throws IOException {
+		if (workerCount < 1 || maxQueued < 0 || timeoutMillis < 0 || maxIntersections < 1)
+			throw new IllegalArgumentException("At least 1 worker and 1 intersection, and no negative queue size or timeout, are required");
+		this.server = HttpServer.create(address, 0);
+		this.workers = Executors.newFixedThreadPool(workerCount);
+		this.permits = new Semaphore(workerCount + maxQueued);
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		this.maxIntersections = maxIntersections;
+
+		//Handlers run on the server's dispatcher thread, and hand computation to the worker pool:
+		server.createContext("/intersections", this::handleIntersections);
+		server.createContext("/metrics", exchange -> {
+			if (checkMethod(exchange, "GET"))
+				sendJson(exchange, 200, metrics().toString());
+		});
+		server.createContext("/health", exchange -> {
+			if (checkMethod(exchange, "GET"))
+				send(exchange, 200, "text/plain", "ok");
+		});
+	}
+
+
+	public static void main(String[] args) throws IOException {
+		int port = 8080;
+		int workerCount = Runtime.getRuntime().availableProcessors();
+		int maxQueued = -1;
+		long timeoutMillis = 30000;
+		int maxIntersections = DEFAULT_MAX_INTERSECTIONS;
+		try {
+			for (String argument : args) {
+				if (argument.startsWith("--port="))
+					port = Integer.parseInt(argument.substring("--port=".length()));
+				else if (argument.startsWith("--workers="))
+					workerCount = Integer.parseInt(argument.substring("--workers=".length()));
+				else if (argument.startsWith("--max-queued="))
+					maxQueued = Integer.parseInt(argument.substring("--max-queued=".length()));
+				else if (argument.startsWith("--timeout-ms="))
+					timeoutMillis = Long.parseLong(argument.substring("--timeout-ms=".length()));
+				else if (argument.startsWith("--max-intersections="))
+					maxIntersections = Integer.parseInt(argument.substring("--max-intersections=".length()));
+				else
+					throw new IllegalArgumentException(argument);
+			}
+			IntersectionServer server = new IntersectionServer(new InetSocketAddress("127.0.0.1", port), workerCount,
+				maxQueued < 0 ? 4 * workerCount : maxQueued, timeoutMillis, maxIntersections);
+			server.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+			System.out.println("Listening on http://127.0.0.1:" + server.getPort() + "/intersections");
+		} catch (IllegalArgumentException exception) {
+			System.out.println("Unknown or invalid option.  Please use --port=P, --workers=N, --max-queued=M, --timeout-ms=T or --max-intersections=C");
+			System.exit(400);
+		}
+	}
+
+
+	public void start() {
+		server.start();
+	}
+
+
+	/**
+	 * Stops accepting requests, waits up to a delay for open exchanges, then stops the workers.
+	 *
+	 * @param delaySeconds, the most seconds to wait.
+	 * */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		workers.shutdownNow();
+	}
+
+
+	/**
+	 * @return port, the port the server is bound to.
+	 * */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+
+	/**
+	 * Admits an intersection request if a permit is free, and queues it for a worker.
+	 * */
+	private void handleIntersections(HttpExchange exchange) throws IOException {
+		long arrival = System.nanoTime();
+		received.increment();
+		if (!checkMethod(exchange, "POST"))
+			return;
+		if (!permits.tryAcquire()) {
+			rejected.increment();
+			exchange.getResponseHeaders().set("Retry-After", "1");
+			sendError(exchange, 503, "Too many requests in progress");
+			return;
+		}
+
+		try {
+			inFlight.incrementAndGet();
+			workers.execute(() -> {
+				try {
+					computeIntersections(exchange, arrival);
+				} finally {
+					inFlight.decrementAndGet();
+					permits.release();
+					exchange.close();
+				}
+			});
+		} catch (RejectedExecutionException exception) {
+			inFlight.decrementAndGet();
+			permits.release();
+			rejected.increment();
+			sendError(exchange, 503, "Server is stopping");
+		}
+	}
+
+
+	/**
+	 * Reads the payload, then streams intersections back until the search ends or the deadline passes.
+	 * */
+	private void computeIntersections(HttpExchange exchange, long arrival) {
+		long deadline = arrival + timeoutNanos;
+		try {
+			if (System.nanoTime() - deadline > 0) {
+				timedOut.increment();
+				sendError(exchange, 503, "Request timed out waiting for a worker");
+				return;
+			}
+
+			//Check payload and options before any response is sent:
+			RectangleStore store;
+			try (Reader bodyReader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+				store = new RectangleReader(bodyReader).readStore();
+			} catch (JSONException exception) {
+				failRequest(exchange, 400, "Payload is not valid JSON: " + exception.getMessage());
+				return;
+			} catch (ValidationException exception) {
+				failRequest(exchange, 400, "Payload does not match the required format: " + exception.getMessage());
+				return;
+			}
+			int invalid = App.findInvalidRectangle(store);
+			if (invalid != -1) {
+				failRequest(exchange, 400, "Negative rectangle size or coordinates for rectangle " + invalid);
+				return;
+			}
+			String[] args = toArgs(exchange.getRequestURI().getRawQuery());
+			IntersectionReporter reporter = args == null ? null : App.createReporter(store, args);
+			if (reporter == null) {
+				failRequest(exchange, 400, "Unknown or invalid option");
+				return;
+			}
+			int requested = requestedIntersections(args, maxIntersections);
+			if (requested > maxIntersections) {
+				failRequest(exchange, 400, "max-intersections is above the server limit of " + maxIntersections);
+				return;
+			}
+			reporter.setMaxIntersections(requested);
+			reporter.setDeadline(deadline);
+
+			//Stream results (chunked) as the elements of the intersections array:
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 0);
+			Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+			writer.write("{\"intersections\":[");
+			int count = reporter.reportIntersections(new JsonLinesIntersectionSink(writer, true));
+			boolean late = reporter.isLimitReached() && System.nanoTime() - deadline > 0;
+			long elapsed = System.nanoTime() - arrival;
+			writer.write("],\"count\":" + count + ",\"limit_reached\":" + reporter.isLimitReached() + ",\"timed_out\":" + late
+				+ ",\"elapsed_ms\":" + String.format(Locale.ROOT, "%.3f", elapsed / 1e6) + "}");
+			writer.flush();
+
+			if (late)
+				timedOut.increment();
+			else
+				completed.increment();
+			recordLatency(elapsed);
+		} catch (IOException | RuntimeException exception) {
+			//Client went away, or the search failed after the response started:
+			failed.increment();
+		}
+	}
+
+
+	/**
+	 * @param args, App arguments already checked by App.createReporter().
+	 * @param defaultLimit, the limit of a request not asking for one.
+	 *
+	 * @return maxIntersections, the intersection limit asked for by the arguments.
+	 * */
+	private static int requestedIntersections(String[] args, int defaultLimit) {
+		int requested = defaultLimit;
+		for (String argument : args) {
+			if (argument.startsWith("--max-intersections="))
+				requested = Integer.parseInt(argument.substring("--max-intersections=".length()));
+		}
+		return requested;
+	}
+
+
+	private void failRequest(HttpExchange exchange, int status, String message) throws IOException {
+		failed.increment();
+		sendError(exchange, status, message);
+	}
+
+
+	/**
+	 * Converts query parameters to App arguments (?engine=rtree becomes --engine=rtree), behind a placeholder file path.
+	 *
+	 * @return args, the App arguments, or null if a parameter has no value.
+	 * */
+	static String[] toArgs(String rawQuery) {
+		ArrayList<String> args = new ArrayList<String>();
+		args.add("request");
+		if (rawQuery != null && !rawQuery.isEmpty()) {
+			for (String parameter : rawQuery.split("&")) {
+				int equals = parameter.indexOf('=');
+				if (equals <= 0)
+					return null;
+				try {
+					args.add("--" + URLDecoder.decode(parameter.substring(0, equals), "UTF-8") + "="
+						+ URLDecoder.decode(parameter.substring(equals + 1), "UTF-8"));
+				} catch (IOException | IllegalArgumentException exception) {
+					return null;
+				}
+			}
+		}
+		for (String argument : args) {
+			//Responses are always JSON:
+			if (argument.startsWith("--output="))
+				return null;
+		}
+		return args.toArray(new String[0]);
+	}
+
+
+	private synchronized void recordLatency(long nanos) {
+		latencies[(int) (latencyCount % LATENCY_SAMPLES)] = nanos;
+		latencyCount++;
+		latencyTotalNanos += nanos;
+		latencyMaxNanos = Math.max(latencyMaxNanos, nanos);
+	}
+
+
+	/**
+	 * @return metrics, request counts and latencies (percentiles over the last 1024 completed requests).
+	 * */
+	JSONObject metrics() {
+		long[] samples;
+		long count;
+		long total;
+		long max;
+		synchronized (this) {
+			count = latencyCount;
+			samples = Arrays.copyOf(latencies, (int) Math.min(count, LATENCY_SAMPLES));
+			total = latencyTotalNanos;
+			max = latencyMaxNanos;
+		}
+		Arrays.sort(samples);
+
+		JSONObject latency = new JSONObject();
+		latency.put("count", count);
+		latency.put("mean_ms", count == 0 ? 0 : total / 1e6 / count);
+		latency.put("p50_ms", percentile(samples, 0.50));
+		latency.put("p90_ms", percentile(samples, 0.90));
+		latency.put("p99_ms", percentile(samples, 0.99));
+		latency.put("max_ms", max / 1e6);
+
+		JSONObject metrics = new JSONObject();
+		metrics.put("received", received.sum());
+		metrics.put("completed", completed.sum());
+		metrics.put("rejected", rejected.sum());
+		metrics.put("failed", failed.sum());
+		metrics.put("timed_out", timedOut.sum());
+		metrics.put("in_flight", inFlight.get());
+		metrics.put("latency", latency);
+		return metrics;
+	}
+
+
+	private static double percentile(long[] sortedSamples, double fraction) {
+		if (sortedSamples.length == 0)
+			return 0;
+		int index = (int) Math.ceil(fraction * sortedSamples.length) - 1;
+		return sortedSamples[Math.max(0, index)] / 1e6;
+	}
+
+
+	private static boolean checkMethod(HttpExchange exchange, String method) throws IOException {
+		if (exchange.getRequestMethod().equalsIgnoreCase(method))
+			return true;
+		exchange.getResponseHeaders().set("Allow", method);
+		sendError(exchange, 405, "Method not allowed");
+		return false;
+	}
+
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		sendJson(exchange, status, new JSONObject().put("error", message).toString());
+	}
+
+
+	private static void sendJson(HttpExchange exchange, int status, String body) throws IOException {
+		send(exchange, status, "application/json", body);
+	}
+
+
+	private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream responseBody = exchange.getResponseBody()) {
+			responseBody.write(bytes);
+		}
+	}
+
+}
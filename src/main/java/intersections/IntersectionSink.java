@@ -0,0 +1,44 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+
+
+/**
+ * IntersectionSink Interface:  Receiver that IntersectionReporter.reportIntersections() pushes each intersection into as soon as it is found.
+ *
+ * Intersections are passed as primitives and the reporter's own contributor set, so no Rectangle or result list is created for output.
+ *
+ * Sinks:
+ *
+ * 		1. TextIntersectionSink: Buffered text in the format of IntersectionReporter.printIntersections().
+ *
+ * 		2. JsonLinesIntersectionSink: One JSON object per line.
+ *
+ * 		3. CsvIntersectionSink: Comma separated values with a header row.
+ *
+ * */
+
+
+public interface IntersectionSink {
+
+	/**
+	 * Receives one intersection.  The contributor set belongs to the reporter and must not be changed or kept.
+	 *
+	 * @param x, x-coordinate of the intersection.
+	 * @param y, y-coordinate of the intersection.
+	 * @param deltaX, width of the intersection.
+	 * @param deltaY, height of the intersection.
+	 * @param contributors, ids of the initial rectangles contributing to the intersection.
+	 * */
+	void accept(int x, int y, int deltaX, int deltaY, ContributorSet contributors) throws IOException;
+
+
+	/**
+	 * Writes out anything still buffered.  Called by the reporter once all intersections have been pushed.
+	 * */
+	default void flush() throws IOException {
+	}
+
+}
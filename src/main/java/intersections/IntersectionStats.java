@@ -0,0 +1,121 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+
+
+/**
+ * IntersectionStats Class:  Summary of the intersections of a set of rectangles, computed by IntersectionReporter.computeStats().
+ *
+ * Intersections are counted as the reporter's active mode finds them, so the counts match getIntersections():  In clique mode each
+ * distinct region covered by 2 or more rectangles once, with every rectangle covering it as contributors, and in generation mode
+ * each intersection of the generations.  Only clique mode counts without holding the intersections (generation mode holds every
+ * one while it searches).  Intersections of more rectangles than the reporter's maximum contributor count are not counted.  The
+ * maximum depth is the largest number of rectangles sharing a region of positive area, and the overlapped area is the area covered
+ * by at least 2 rectangles (each point counted once, however many rectangles cover it).
+ *
+ * When the intersection limit stops the count, isComplete() is false and the counts only cover the intersections counted before
+ * it.  The maximum depth and the areas come from sweeps over the rectangles and are always exact.
+ *
+ * */
+
+
+public final class IntersectionStats {
+
+	//Intersection counts by contributor count (index 0 and 1 are always 0):
+	private final long[] counts;
+	private final long intersectionCount;
+	private final int maxDepth;
+	private final long unionArea;
+	private final long overlappedArea;
+	private final boolean complete;
+
+
+	IntersectionStats(long[] counts, int maxDepth, long unionArea, long overlappedArea, boolean complete) {
+		this.counts = counts;
+		long total = 0;
+		for (long count : counts)
+			total += count;
+		this.intersectionCount = total;
+		this.maxDepth = maxDepth;
+		this.unionArea = unionArea;
+		this.overlappedArea = overlappedArea;
+		this.complete = complete;
+	}
+
+
+	/**
+	 * @param size, a contributor count.
+	 *
+	 * @return count, the number of intersections with exactly size contributors.
+	 * */
+	public long getCount(int size) {
+		return size >= 0 && size < counts.length ? counts[size] : 0;
+	}
+
+
+	/**
+	 * @return counts, the number of intersections by contributor count (index k holds the intersections of k rectangles).
+	 * */
+	public long[] getCounts() {
+		return Arrays.copyOf(counts, counts.length);
+	}
+
+
+	/**
+	 * @return intersectionCount, the number of intersections of all sizes.
+	 * */
+	public long getIntersectionCount() {
+		return intersectionCount;
+	}
+
+
+	/**
+	 * @return maxDepth, the largest number of rectangles covering a region (1 without intersections, 0 without rectangles).
+	 * */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+
+	/**
+	 * @return unionArea, the area covered by at least 1 rectangle.
+	 * */
+	public long getUnionArea() {
+		return unionArea;
+	}
+
+
+	/**
+	 * @return overlappedArea, the area covered by at least 2 rectangles.
+	 * */
+	public long getOverlappedArea() {
+		return overlappedArea;
+	}
+
+
+	/**
+	 * @return true, every intersection was counted.
+	 * @return false, the intersection limit stopped the count.
+	 * */
+	public boolean isComplete() {
+		return complete;
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Intersections: ").append(intersectionCount).append(complete ? "" : " (limit reached)");
+		for (int size = 2; size < counts.length; size++) {
+			if (counts[size] > 0)
+				builder.append(System.lineSeparator()).append("  ").append(size).append(" rectangles: ").append(counts[size]);
+		}
+		builder.append(System.lineSeparator()).append("Maximum depth: ").append(maxDepth);
+		builder.append(System.lineSeparator()).append("Union area: ").append(unionArea);
+		builder.append(System.lineSeparator()).append("Overlapped area: ").append(overlappedArea);
+		return builder.toString();
+	}
+
+}
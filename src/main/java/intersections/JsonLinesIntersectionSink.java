@@ -0,0 +1,71 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * JsonLinesIntersectionSink Class:  Writes intersections as JSON Lines, one object per intersection.
+ *
+ * Example:  {"x":140,"y":160,"delta_x":210,"delta_y":20,"contributors":[1,3]}
+ *
+ * The same objects can be written as comma separated elements of a JSON array, which the caller opens and closes (as
+ * IntersectionServer does for its responses).
+ *
+ * */
+
+
+public class JsonLinesIntersectionSink implements IntersectionSink {
+
+	private final Writer writer;
+	private final StringBuilder line = new StringBuilder();
+
+	//Objects are written as array elements (separated by commas) instead of lines:
+	private final boolean arrayElements;
+	private boolean written;
+
+
+	public JsonLinesIntersectionSink(Writer writer) {
+		this(writer, false);
+	}
+
+
+	/**
+	 * @param writer, receives the objects.
+	 * @param arrayElements, true to separate objects with commas, as elements of a JSON array, instead of newlines.
+	 * */
+	JsonLinesIntersectionSink(Writer writer, boolean arrayElements) {
+		if (writer == null)
+			throw new NullPointerException("Null writer not accepted");
+		this.writer = new BufferedWriter(writer, 1 << 16);
+		this.arrayElements = arrayElements;
+	}
+
+
+	@Override
+	public void accept(int x, int y, int deltaX, int deltaY, ContributorSet contributors) throws IOException {
+		line.setLength(0);
+		if (arrayElements && written)
+			line.append(',');
+		line.append("{\"x\":").append(x).append(",\"y\":").append(y).append(",\"delta_x\":").append(deltaX)
+			.append(",\"delta_y\":").append(deltaY).append(",\"contributors\":[");
+		for (int contributor = contributors.nextContributor(0); contributor != -1; contributor = contributors.nextContributor(contributor + 1)) {
+			if (line.charAt(line.length() - 1) != '[')
+				line.append(',');
+			line.append(contributor);
+		}
+		line.append(arrayElements ? "]}" : "]}\n");
+		writer.append(line);
+		written = true;
+	}
+
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+}
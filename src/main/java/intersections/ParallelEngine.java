@@ -0,0 +1,171 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * ParallelEngine Class:  All-pairs engine that splits the outer loop over rectangles into fork/join tasks.
+ *
+ * Algorithm Process:
+ *
+ * 		1. Share the store's edge arrays (read-only) with all tasks.
+ *
+ * 		2. Cut the outer index range into chunks of roughly equal work (the inner loop shrinks as the outer index grows).
+ *
+ * 		3. Run the chunks on a ForkJoinPool, each chunk collecting its overlapping pairs into its own buffer, with at most a few
+ * 		   chunks per worker running ahead of the consumer.
+ *
+ * 		4. Pass each buffer to the consumer as soon as its chunk and every earlier chunk are done, then drop it, so pairs arrive
+ * 		   exactly as the sequential loops find them.
+ *
+ * No state is shared between tasks while they run, so throughput grows with the number of worker threads.  Only the chunks
+ * running ahead of the consumer hold pairs, so memory stays close to the sequential engine's.  Each task checks the stop
+ * condition before every row of its chunk, so a stopped search ends within one row of work per worker.
+ *
+ * */
+
+
+public class ParallelEngine implements IntersectionEngine {
+
+	//Approximate number of overlap tests per chunk:
+	private static final long CHUNK_WORK = 1 << 16;
+
+	//Chunks per worker that may run ahead of the consumer:
+	private static final int CHUNKS_AHEAD = 2;
+
+	private final ForkJoinPool pool;
+
+
+	public ParallelEngine() {
+		this(ForkJoinPool.commonPool());
+	}
+
+
+	public ParallelEngine(ForkJoinPool pool) {
+		if (pool == null)
+			throw new NullPointerException("Null pool not accepted");
+		this.pool = pool;
+	}
+
+
+	@Override
+	public void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition) {
+		if (endPoint - Math.max(lastIntersection, 0) <= 0)
+			return;
+
+		//Rectangle coordinates:
+		int[] leftX = store.minXArray();
+		int[] rightX = store.maxXArray();
+		int[] bottomY = store.minYArray();
+		int[] topY = store.maxYArray();
+
+		//Cut outer index range into chunks of similar work:
+		int[] chunkStarts = new int[16];
+		int chunks = 0;
+		long work = 0;
+		for (int i = 0; i < endPoint; i++) {
+			if (work == 0) {
+				if (chunks == chunkStarts.length)
+					chunkStarts = Arrays.copyOf(chunkStarts, chunks * 2);
+				chunkStarts[chunks++] = i;
+			}
+			work += endPoint - Math.max(i + 1, lastIntersection);
+			if (work >= CHUNK_WORK)
+				work = 0;
+		}
+		chunkStarts = Arrays.copyOf(chunkStarts, chunks + 1);
+		chunkStarts[chunks] = endPoint;
+
+		//Find overlaps of the chunks in parallel, reporting each chunk in order as soon as it is done:
+		int ahead = CHUNKS_AHEAD * pool.getParallelism();
+		ChunkTask[] tasks = new ChunkTask[chunks];
+		AtomicBoolean abandoned = new AtomicBoolean();
+		int started = 0;
+		try {
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				for (; started < chunks && started <= chunk + ahead; started++) {
+					tasks[started] = new ChunkTask(chunkStarts[started], chunkStarts[started + 1], lastIntersection, endPoint,
+												   leftX, rightX, bottomY, topY, stopCondition, abandoned);
+					pool.execute(tasks[started]);
+				}
+
+				ChunkTask task = tasks[chunk];
+				tasks[chunk] = null;
+				task.join();
+				if (stopCondition.getAsBoolean())
+					return;
+				for (int k = 0; k < task.size; k++)
+					consumer.accept((int) (task.pairs[k] >>> 32), (int) task.pairs[k]);
+			}
+		} finally {
+			//Chunks still running when the consumer or the stop condition ends the search find nothing more:
+			abandoned.set(true);
+		}
+	}
+
+
+
+	/**
+	 * ChunkTask Class:  Fork/join task running the nested loops over one chunk of the outer index range.
+	 * */
+	private static final class ChunkTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int firstRow;
+		private final int lastRow;
+		private final int lastIntersection;
+		private final int endPoint;
+		private final int[] leftX;
+		private final int[] rightX;
+		private final int[] bottomY;
+		private final int[] topY;
+		private final BooleanSupplier stopCondition;
+		private final AtomicBoolean abandoned;
+
+		//Overlapping pairs of the chunk, read once the task is joined:
+		private long[] pairs;
+		private int size;
+
+		ChunkTask(int firstRow, int lastRow, int lastIntersection, int endPoint, int[] leftX, int[] rightX, int[] bottomY, int[] topY,
+				  BooleanSupplier stopCondition, AtomicBoolean abandoned) {
+			this.firstRow = firstRow;
+			this.lastRow = lastRow;
+			this.lastIntersection = lastIntersection;
+			this.endPoint = endPoint;
+			this.leftX = leftX;
+			this.rightX = rightX;
+			this.bottomY = bottomY;
+			this.topY = topY;
+			this.stopCondition = stopCondition;
+			this.abandoned = abandoned;
+		}
+
+		@Override
+		protected void compute() {
+			//Nested loops over the chunk, collecting pairs into the chunk's own buffer:
+			long[] found = new long[16];
+			int count = 0;
+			for (int i = firstRow; i < lastRow; i++) {
+				if (abandoned.get() || stopCondition.getAsBoolean())
+					break;
+				for (int j = Math.max(i + 1, lastIntersection); j < endPoint; j++) {
+					if (leftX[i] > rightX[j] || rightX[i] < leftX[j] || topY[i] < bottomY[j] || bottomY[i] > topY[j])
+						continue;
+					if (count == found.length)
+						found = Arrays.copyOf(found, count * 2);
+					found[count++] = ((long) i << 32) | j;
+				}
+			}
+			pairs = found;
+			size = count;
+		}
+	}
+
+}
@@ -0,0 +1,269 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * PlaneSweepEngine Class:  Engine that finds overlapping pairs by sweeping rectangle edges from left to right.
+ *
+ * Algorithm Process:
+ *
+ * 		1. Sort rectangles on their left (x) and right (x + deltaX) edges.
+ *
+ * 		2. Sweep the left edges in order, retiring every active rectangle whose right edge is already behind the sweep line.
+ *
+ * 		3. Query the active set (ordered by y) for rectangles overlapping the y-range of the new rectangle, then activate it.
+ *
+ * The active set answers a query in O(log n + k) amortised time, giving O((n + k) log n) per generation for k overlapping pairs.
+ * Touching edges count as an overlap, matching IntersectionReporter.overlapPresent().
+ *
+ * */
+
+
+public class PlaneSweepEngine implements IntersectionEngine {
+
+	@Override
+	public void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition) {
+		if (endPoint - Math.max(lastIntersection, 0) <= 0)
+			return;
+
+		//Rectangle coordinates:
+		int[] leftX = store.minXArray();
+		int[] rightX = store.maxXArray();
+		int[] bottomY = store.minYArray();
+		int[] topY = store.maxYArray();
+		long[] leftEdges = new long[endPoint];
+		long[] rightEdges = new long[endPoint];
+		for (int i = 0; i < endPoint; i++) {
+			leftEdges[i] = sortKey(leftX[i], i);
+			rightEdges[i] = sortKey(rightX[i], i);
+		}
+		Arrays.sort(leftEdges);
+		Arrays.sort(rightEdges);
+
+		//Compress y coordinates so the active sets are sized by the number of distinct values:
+		int[] yValues = compress(bottomY, topY, endPoint);
+		int[] bottomIndex = new int[endPoint];
+		int[] topIndex = new int[endPoint];
+		for (int i = 0; i < endPoint; i++) {
+			bottomIndex[i] = Arrays.binarySearch(yValues, bottomY[i]);
+			topIndex[i] = Arrays.binarySearch(yValues, topY[i]);
+		}
+
+		//Older rectangles only need to be paired with rectangles of the newest generation:
+		ActiveSet allActive = new ActiveSet(yValues.length, endPoint, bottomIndex, topIndex);
+		ActiveSet newestActive = new ActiveSet(yValues.length, endPoint, bottomIndex, topIndex);
+
+		int retired = 0;
+		for (int k = 0; k < endPoint; k++) {
+			//Stop condition checked every 1024 left edges:
+			if ((k & 1023) == 0 && stopCondition.getAsBoolean())
+				return;
+			int sweepX = (int) (leftEdges[k] >> 32);
+			int i = (int) leftEdges[k];
+
+			//Retire rectangles whose right edge lies strictly before the sweep line:
+			while (retired < endPoint && (int) (rightEdges[retired] >> 32) < sweepX) {
+				int old = (int) rightEdges[retired++];
+				allActive.remove(old);
+				if (old >= lastIntersection)
+					newestActive.remove(old);
+			}
+
+			//Report overlaps with active rectangles, then activate current rectangle:
+			if (i >= lastIntersection) {
+				allActive.report(i, consumer);
+			} else {
+				newestActive.report(i, consumer);
+			}
+			allActive.add(i);
+			if (i >= lastIntersection)
+				newestActive.add(i);
+		}
+	}
+
+
+	/**
+	 * Packs a coordinate and a row index into a single key that sorts by coordinate, then by index.
+	 * */
+	private static long sortKey(int coordinate, int index) {
+		return ((long) coordinate << 32) | (index & 0xFFFFFFFFL);
+	}
+
+
+	/**
+	 * Returns the sorted distinct values found in the first count entries of two coordinate arrays.
+	 * */
+	private static int[] compress(int[] values1, int[] values2, int count) {
+		int[] values = new int[2 * count];
+		System.arraycopy(values1, 0, values, 0, count);
+		System.arraycopy(values2, 0, values, count, count);
+		Arrays.sort(values);
+
+		int distinct = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (i == 0 || values[i] != values[distinct - 1])
+				values[distinct++] = values[i];
+		}
+		return Arrays.copyOf(values, distinct);
+	}
+
+
+
+	/**
+	 * ActiveSet Class:  Set of rectangles crossing the sweep line, ordered by their compressed y-range.
+	 *
+	 * Two segment trees over the compressed y-values are kept:
+	 *
+	 * 		1. Stab tree: Each y-range is stored in its O(log n) canonical nodes, giving all ranges containing a point.
+	 *
+	 * 		2. Bottom tree: Each rectangle is stored at the leaf of its bottom edge, with active counts per node.
+	 *
+	 * A query range [bottom, top] overlaps every range containing bottom, plus every range whose bottom lies in (bottom, top].
+	 * Removed rectangles are dropped lazily from node lists the next time a query visits them.
+	 *
+	 * */
+	private static final class ActiveSet {
+
+		private final int leaves;
+		private final int[] bottomIndex;
+		private final int[] topIndex;
+		private final boolean[] active;
+
+		//Stab tree node lists:
+		private final int[][] stabLists;
+		private final int[] stabSizes;
+
+		//Bottom tree leaf lists and active counts:
+		private final int[][] bottomLists;
+		private final int[] bottomSizes;
+		private final int[] bottomCounts;
+
+		ActiveSet(int leaves, int rectangles, int[] bottomIndex, int[] topIndex) {
+			this.leaves = leaves;
+			this.bottomIndex = bottomIndex;
+			this.topIndex = topIndex;
+			this.active = new boolean[rectangles];
+			this.stabLists = new int[4 * leaves][];
+			this.stabSizes = new int[4 * leaves];
+			this.bottomLists = new int[leaves][];
+			this.bottomSizes = new int[leaves];
+			this.bottomCounts = new int[4 * leaves];
+		}
+
+		void add(int rectangle) {
+			active[rectangle] = true;
+			insertRange(1, 0, leaves - 1, bottomIndex[rectangle], topIndex[rectangle], rectangle);
+
+			//Add rectangle to its bottom leaf and count it along the path:
+			int leaf = bottomIndex[rectangle];
+			if (bottomLists[leaf] == null)
+				bottomLists[leaf] = new int[2];
+			else if (bottomSizes[leaf] == bottomLists[leaf].length)
+				bottomLists[leaf] = Arrays.copyOf(bottomLists[leaf], bottomSizes[leaf] * 2);
+			bottomLists[leaf][bottomSizes[leaf]++] = rectangle;
+			updateCount(leaf, 1);
+		}
+
+		void remove(int rectangle) {
+			if (!active[rectangle])
+				return;
+			active[rectangle] = false;
+			updateCount(bottomIndex[rectangle], -1);
+		}
+
+		void report(int rectangle, PairConsumer consumer) {
+			int bottom = bottomIndex[rectangle];
+			int top = topIndex[rectangle];
+
+			//Ranges containing the bottom edge:
+			int node = 1;
+			int nodeLeft = 0;
+			int nodeRight = leaves - 1;
+			while (true) {
+				reportList(stabLists, stabSizes, node, rectangle, consumer);
+				if (nodeLeft == nodeRight)
+					break;
+				int middle = (nodeLeft + nodeRight) >>> 1;
+				if (bottom <= middle) {
+					node = 2 * node;
+					nodeRight = middle;
+				} else {
+					node = 2 * node + 1;
+					nodeLeft = middle + 1;
+				}
+			}
+
+			//Ranges starting above the bottom edge and at or below the top edge:
+			if (bottom < top)
+				reportBottoms(1, 0, leaves - 1, bottom + 1, top, rectangle, consumer);
+		}
+
+		private void insertRange(int node, int nodeLeft, int nodeRight, int low, int high, int rectangle) {
+			if (low <= nodeLeft && nodeRight <= high) {
+				if (stabLists[node] == null)
+					stabLists[node] = new int[2];
+				else if (stabSizes[node] == stabLists[node].length)
+					stabLists[node] = Arrays.copyOf(stabLists[node], stabSizes[node] * 2);
+				stabLists[node][stabSizes[node]++] = rectangle;
+				return;
+			}
+			int middle = (nodeLeft + nodeRight) >>> 1;
+			if (low <= middle)
+				insertRange(2 * node, nodeLeft, middle, low, high, rectangle);
+			if (high > middle)
+				insertRange(2 * node + 1, middle + 1, nodeRight, low, high, rectangle);
+		}
+
+		private void updateCount(int leaf, int change) {
+			int node = 1;
+			int nodeLeft = 0;
+			int nodeRight = leaves - 1;
+			while (true) {
+				bottomCounts[node] += change;
+				if (nodeLeft == nodeRight)
+					return;
+				int middle = (nodeLeft + nodeRight) >>> 1;
+				if (leaf <= middle) {
+					node = 2 * node;
+					nodeRight = middle;
+				} else {
+					node = 2 * node + 1;
+					nodeLeft = middle + 1;
+				}
+			}
+		}
+
+		private void reportBottoms(int node, int nodeLeft, int nodeRight, int low, int high, int rectangle, PairConsumer consumer) {
+			if (bottomCounts[node] == 0 || high < nodeLeft || nodeRight < low)
+				return;
+			if (nodeLeft == nodeRight) {
+				reportList(bottomLists, bottomSizes, nodeLeft, rectangle, consumer);
+				return;
+			}
+			int middle = (nodeLeft + nodeRight) >>> 1;
+			reportBottoms(2 * node, nodeLeft, middle, low, high, rectangle, consumer);
+			reportBottoms(2 * node + 1, middle + 1, nodeRight, low, high, rectangle, consumer);
+		}
+
+		/**
+		 * Reports all active rectangles of a node list against a rectangle, compacting out removed rectangles.
+		 * */
+		private void reportList(int[][] lists, int[] sizes, int node, int rectangle, PairConsumer consumer) {
+			int[] list = lists[node];
+			int kept = 0;
+			for (int k = 0; k < sizes[node]; k++) {
+				int other = list[k];
+				if (!active[other])
+					continue;
+				list[kept++] = other;
+				consumer.accept(Math.min(rectangle, other), Math.max(rectangle, other));
+			}
+			sizes[node] = kept;
+		}
+	}
+
+}
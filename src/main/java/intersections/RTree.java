@@ -0,0 +1,281 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+
+/**
+ * RTree Class:  Static R-tree over the rows of a RectangleStore, bulk loaded with Sort-Tile-Recursive (STR) packing.
+ *
+ * Build Process:
+ *
+ * 		1. Sort rectangles on the x-centre of their bounding boxes and cut them into vertical slices of about sqrt(n / M) leaves each.
+ *
+ * 		2. Sort each slice on the y-centre and pack runs of M rectangles into leaf nodes (M = NODE_CAPACITY).
+ *
+ * 		3. Pack the nodes of each level the same way until a single root remains.
+ *
+ * Every node except the last of each slice is full, so the tree is about n / M leaves with O(log n) height.  A window query visits
+ * only the nodes whose bounding boxes overlap the window, which for clustered layouts is a tiny fraction of the tree.
+ *
+ * Leaf entries keep a copy of their edges in leaf order, so a query reads contiguous arrays rather than jumping through the store.
+ * Touching edges count as an overlap, matching IntersectionReporter.overlapPresent().  The tree is not updated when the store grows.
+ *
+ * */
+
+
+public final class RTree {
+
+	//Maximum number of children per node:
+	static final int NODE_CAPACITY = 16;
+
+	//Leaf entries (store rows and their edges, in leaf order):
+	private final int[] entryRow;
+	private final int[] entryMinX;
+	private final int[] entryMinY;
+	private final int[] entryMaxX;
+	private final int[] entryMaxY;
+
+	//Nodes (leaves first, root last).  Children of a leaf are entries, children of other nodes are listed in nodeChildren:
+	private int[] nodeMinX;
+	private int[] nodeMinY;
+	private int[] nodeMaxX;
+	private int[] nodeMaxY;
+	private int[] nodeFirst;
+	private int[] nodeCount;
+	private int[] nodeChildren;
+	private int nodes;
+	private int leafNodes;
+	private int height;
+
+
+	/**
+	 * Bulk loads a tree over the first count rows of a store.
+	 *
+	 * @param store, the rectangles to index.
+	 * @param count, number of rows from the start of the store to index.
+	 * */
+	public RTree(RectangleStore store, int count) {
+		if (store == null)
+			throw new NullPointerException("Null store not accepted");
+		if (count < 0 || count > store.size())
+			throw new IllegalArgumentException("Row count outside of store");
+
+		int[] order = strOrder(store.minXArray(), store.minYArray(), store.maxXArray(), store.maxYArray(), count);
+		entryRow = order;
+		entryMinX = new int[count];
+		entryMinY = new int[count];
+		entryMaxX = new int[count];
+		entryMaxY = new int[count];
+		for (int k = 0; k < count; k++) {
+			int row = order[k];
+			entryMinX[k] = store.getMinX(row);
+			entryMinY[k] = store.getMinY(row);
+			entryMaxX[k] = store.getMaxX(row);
+			entryMaxY[k] = store.getMaxY(row);
+		}
+
+		int capacity = Math.max(2 * ((count + NODE_CAPACITY - 1) / NODE_CAPACITY), 1);
+		nodeMinX = new int[capacity];
+		nodeMinY = new int[capacity];
+		nodeMaxX = new int[capacity];
+		nodeMaxY = new int[capacity];
+		nodeFirst = new int[capacity];
+		nodeCount = new int[capacity];
+		nodeChildren = new int[capacity];
+		if (count == 0)
+			return;
+
+		//Pack leaf nodes over runs of entries:
+		for (int first = 0; first < count; first += NODE_CAPACITY) {
+			int node = newNode(first, Math.min(NODE_CAPACITY, count - first));
+			setBounds(node, entryMinX, entryMinY, entryMaxX, entryMaxY, null);
+		}
+		leafNodes = nodes;
+		height = 1;
+
+		//Pack each level into parent nodes until a single root remains:
+		int levelStart = 0;
+		int levelEnd = nodes;
+		int childCount = 0;
+		while (levelEnd - levelStart > 1) {
+			int levelSize = levelEnd - levelStart;
+			int[] levelOrder = strOrder(Arrays.copyOfRange(nodeMinX, levelStart, levelEnd), Arrays.copyOfRange(nodeMinY, levelStart, levelEnd),
+										Arrays.copyOfRange(nodeMaxX, levelStart, levelEnd), Arrays.copyOfRange(nodeMaxY, levelStart, levelEnd), levelSize);
+			for (int k = 0; k < levelSize; k++)
+				nodeChildren[childCount + k] = levelStart + levelOrder[k];
+
+			for (int first = 0; first < levelSize; first += NODE_CAPACITY) {
+				int node = newNode(childCount + first, Math.min(NODE_CAPACITY, levelSize - first));
+				setBounds(node, nodeMinX, nodeMinY, nodeMaxX, nodeMaxY, nodeChildren);
+			}
+			childCount += levelSize;
+			levelStart = levelEnd;
+			levelEnd = nodes;
+			height++;
+		}
+	}
+
+
+	/**
+	 * Bulk loads a tree over all rows of a store.
+	 *
+	 * @param store, the rectangles to index.
+	 * */
+	public RTree(RectangleStore store) {
+		this(store, store == null ? 0 : store.size());
+	}
+
+
+	/**
+	 * @return size, the number of indexed rectangles.
+	 * */
+	public int size() {
+		return entryRow.length;
+	}
+
+
+	/**
+	 * @return height, the number of node levels (0 for an empty tree).
+	 * */
+	public int height() {
+		return height;
+	}
+
+
+	/**
+	 * Reports the store row of every indexed rectangle overlapping a window.  Rows are reported in leaf order, not row order.
+	 *
+	 * @param minX, left edge of the window.
+	 * @param minY, bottom edge of the window.
+	 * @param maxX, right edge of the window.
+	 * @param maxY, top edge of the window.
+	 * @param consumer, receives the store row of each overlapping rectangle.
+	 * */
+	public void query(int minX, int minY, int maxX, int maxY, IntConsumer consumer) {
+		if (nodes == 0)
+			return;
+
+		int[] stack = new int[height * NODE_CAPACITY + 1];
+		int top = 0;
+		stack[top++] = nodes - 1;
+		while (top > 0) {
+			int node = stack[--top];
+			int first = nodeFirst[node];
+			int last = first + nodeCount[node];
+
+			if (node < leafNodes) {
+				//Leaf node: Test entries:
+				for (int k = first; k < last; k++) {
+					if (!(entryMinX[k] > maxX || entryMaxX[k] < minX || entryMaxY[k] < minY || entryMinY[k] > maxY))
+						consumer.accept(entryRow[k]);
+				}
+			} else {
+				//Inner node: Descend into children overlapping the window:
+				for (int k = first; k < last; k++) {
+					int child = nodeChildren[k];
+					if (!(nodeMinX[child] > maxX || nodeMaxX[child] < minX || nodeMaxY[child] < minY || nodeMinY[child] > maxY))
+						stack[top++] = child;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Reports the store row of every indexed rectangle overlapping a row of a store.
+	 *
+	 * @param store, the store holding the query rectangle.
+	 * @param row, the row of the query rectangle.
+	 * @param consumer, receives the store row of each overlapping rectangle.
+	 * */
+	public void query(RectangleStore store, int row, IntConsumer consumer) {
+		query(store.getMinX(row), store.getMinY(row), store.getMaxX(row), store.getMaxY(row), consumer);
+	}
+
+
+	private int newNode(int first, int count) {
+		if (nodes == nodeFirst.length) {
+			int capacity = nodes * 2;
+			nodeMinX = Arrays.copyOf(nodeMinX, capacity);
+			nodeMinY = Arrays.copyOf(nodeMinY, capacity);
+			nodeMaxX = Arrays.copyOf(nodeMaxX, capacity);
+			nodeMaxY = Arrays.copyOf(nodeMaxY, capacity);
+			nodeFirst = Arrays.copyOf(nodeFirst, capacity);
+			nodeCount = Arrays.copyOf(nodeCount, capacity);
+			nodeChildren = Arrays.copyOf(nodeChildren, capacity);
+		}
+		nodeFirst[nodes] = first;
+		nodeCount[nodes] = count;
+		return nodes++;
+	}
+
+
+	/**
+	 * Sets the bounding box of a node to cover its children (entries when children is null, otherwise the listed nodes).
+	 * */
+	private void setBounds(int node, int[] minX, int[] minY, int[] maxX, int[] maxY, int[] children) {
+		int boxMinX = Integer.MAX_VALUE;
+		int boxMinY = Integer.MAX_VALUE;
+		int boxMaxX = Integer.MIN_VALUE;
+		int boxMaxY = Integer.MIN_VALUE;
+		for (int k = nodeFirst[node]; k < nodeFirst[node] + nodeCount[node]; k++) {
+			int child = children == null ? k : children[k];
+			boxMinX = Math.min(boxMinX, minX[child]);
+			boxMinY = Math.min(boxMinY, minY[child]);
+			boxMaxX = Math.max(boxMaxX, maxX[child]);
+			boxMaxY = Math.max(boxMaxY, maxY[child]);
+		}
+		nodeMinX[node] = boxMinX;
+		nodeMinY[node] = boxMinY;
+		nodeMaxX[node] = boxMaxX;
+		nodeMaxY[node] = boxMaxY;
+	}
+
+
+	/**
+	 * Orders the first count boxes for STR packing: vertical slices by x-centre, then by y-centre within each slice.
+	 *
+	 * @return order, box indices in packing order.
+	 * */
+	private static int[] strOrder(int[] minX, int[] minY, int[] maxX, int[] maxY, int count) {
+		long[] keys = new long[count];
+		for (int i = 0; i < count; i++)
+			keys[i] = sortKey(centre(minX[i], maxX[i]), i);
+		Arrays.sort(keys);
+
+		//Cut into slices of sliceSize boxes and sort each slice on y:
+		int leaves = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		int slices = (int) Math.ceil(Math.sqrt(leaves));
+		int sliceSize = Math.max(((leaves + slices - 1) / Math.max(slices, 1)) * NODE_CAPACITY, NODE_CAPACITY);
+		for (int first = 0; first < count; first += sliceSize) {
+			int last = Math.min(first + sliceSize, count);
+			for (int k = first; k < last; k++) {
+				int i = (int) keys[k];
+				keys[k] = sortKey(centre(minY[i], maxY[i]), i);
+			}
+			Arrays.sort(keys, first, last);
+		}
+
+		int[] order = new int[count];
+		for (int k = 0; k < count; k++)
+			order[k] = (int) keys[k];
+		return order;
+	}
+
+
+	private static int centre(int min, int max) {
+		return (int) (((long) min + max) >> 1);
+	}
+
+
+	/**
+	 * Packs a coordinate and an index into a single key that sorts by coordinate, then by index.
+	 * */
+	private static long sortKey(int coordinate, int index) {
+		return ((long) coordinate << 32) | (index & 0xFFFFFFFFL);
+	}
+
+}
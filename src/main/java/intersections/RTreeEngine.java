@@ -0,0 +1,45 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * RTreeEngine Class:  Engine that finds overlapping pairs by querying a packed R-tree with each rectangle of the newest generation.
+ *
+ * Algorithm Process:
+ *
+ * 		1. Bulk load an RTree over all rectangles of the generation.
+ *
+ * 		2. Query the tree with the bounding box of each rectangle of the newest generation.
+ *
+ * 		3. Report each overlapping rectangle with a lower index, so every pair is reported once.
+ *
+ * Only pairs whose bounding boxes the tree reports as overlapping are ever tested, so clustered layouts cost close to
+ * O((n + k) log n) per generation for k overlapping pairs.
+ *
+ * */
+
+
+public class RTreeEngine implements IntersectionEngine {
+
+	@Override
+	public void findOverlaps(RectangleStore store, int lastIntersection, int endPoint, PairConsumer consumer, BooleanSupplier stopCondition) {
+		if (endPoint - Math.max(lastIntersection, 0) <= 0)
+			return;
+
+		RTree tree = new RTree(store, endPoint);
+		for (int j = Math.max(lastIntersection, 0); j < endPoint; j++) {
+			//Stop condition checked every 256 queries:
+			if ((j & 255) == 0 && stopCondition.getAsBoolean())
+				return;
+			int newest = j;
+			tree.query(store, j, i -> {
+				if (i < newest)
+					consumer.accept(i, newest);
+			});
+		}
+	}
+
+}
@@ -1,7 +1,6 @@
 package intersections;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 
 /**
@@ -11,7 +10,7 @@ import java.util.Collections;
  * 
  * 	1. Initial Rectangle: Instance represents rectangle coordinates found directly from client JSON file.  Marked uniquely by an id field. 
  * 
- * 	2. Intersection Rectangle: Instance represents intersection of initial or other intersection rectangles.  Marked by list of contributing initial rectangles. 
+ * 	2. Intersection Rectangle: Instance represents intersection of initial or other intersection rectangles.  Marked by set of contributing initial rectangles (ContributorSet). 
  * 
  * */
 
@@ -27,8 +26,8 @@ public class Rectangle {
 	//Unique Id of initial contributing rectangle: 
 	private final int id;
 	
-	//List of contributing initial input rectangles: 
-	private ArrayList<Integer> contributors; 
+	//Set of contributing initial input rectangles: 
+	private ContributorSet contributors; 
 	
 	
 	//Constructor for initial rectangle from JSON file (id present): 
@@ -49,7 +48,14 @@ public class Rectangle {
 	//Constructor for intersection rectangle (contributors listeD): 
 	public Rectangle(int deltaX, int deltaY, int x, int y) {
 		this(deltaX, deltaY, x, y, 0);
-		this.contributors = new ArrayList<Integer>(); 
+		this.contributors = new ContributorSet(); 
+	}
+	
+	
+	//Constructor for intersection rectangle with a known contributor set (used by IntersectionReporter): 
+	Rectangle(int deltaX, int deltaY, int x, int y, ContributorSet contributors) {
+		this(deltaX, deltaY, x, y, 0);
+		this.contributors = contributors; 
 	}
 
 
@@ -73,13 +79,18 @@ public class Rectangle {
 		return id;
 	}
 
+	//Sorted copy of contributors (null for initial rectangles): 
 	public ArrayList<Integer> getContributors() {
+		return contributors == null ? null : contributors.toList(); 
+	}
+	
+	public ContributorSet getContributorSet() {
 		return contributors; 
 	}
 	
 	//TESTING PURPOSES ONLY! (This would not be used in production code in this class): 
 	public void setContributors(ArrayList<Integer> newContributors) {
-		this.contributors = newContributors; 
+		this.contributors = newContributors == null ? null : ContributorSet.fromList(newContributors); 
 	}
 	
 	
@@ -97,7 +108,7 @@ public class Rectangle {
 			this.y == rectangle2.getY()	&&
 			this.deltaX == rectangle2.getDeltaX() && 
 			this.deltaY == rectangle2.getDeltaY() && 
-			!areContributorsUnique(rectangle2))
+			!areContributorsUnique(rectangle2.getContributorSet()))
 			
 			return false; 
 		
@@ -113,20 +124,20 @@ public class Rectangle {
 	 * 
 	 * */
 	public void addUniqueContributors(ArrayList<Integer> contributorList) {
-		//Compare contributors from both lists: 
-		if (contributorList != null) {
-			for (Integer contributor : contributorList) {
-				
-				//Add contributor as unique if list is empty: 
-				if (contributors.size() == 0)
-					contributors.add(contributor);
-				
-				//Add contributor only if it is not in current list: 
-				else if (isContributorUnique(contributor))
-					contributors.add(contributor); 
-			}
-		}  
-		Collections.sort(contributors);
+		if (contributorList != null)
+			contributors.addAll(ContributorSet.fromList(contributorList)); 
+	}
+	
+	
+	/**
+	 * Adds any unique contributors from another rectangle's contributor set to the instance's contributors (set union). 
+	 * 
+	 * @param contributorSet, the set of contributors from another rectangle. 
+	 * 
+	 * */
+	public void addUniqueContributors(ContributorSet contributorSet) {
+		if (contributorSet != null)
+			contributors.addAll(contributorSet); 
 	}
 	
 	
@@ -147,39 +158,18 @@ public class Rectangle {
 	/**
 	 * Determines if current instance contains unique contributors relative to another rectangle. 
 	 * 
-	 * @param rectangle, a second rectangle for contributor comparison. 
+	 * @param contributorSet, contributors of a second rectangle for comparison. 
 	 * 
 	 * @return true, at least one contributor is unique both rectagnles. 
 	 * @return false, no contributors are unique among both rectangles.
 	 * */
-	private boolean areContributorsUnique(Rectangle rectangle) {
-		//Scan across contributors of input rectangle and compare to instance contributors: 
-		for (Integer contributor : rectangle.getContributors()) {
-			boolean isUnique = isContributorUnique(contributor);
-			if (isUnique)
-				return true; 
-		}
-		
-		return false; 
-	}
-	
-	
-	/**
-	 * Determines if external contributor exists in current instance list of contributors. 
-	 * 
-	 * @param contributor, a contributor of an external rectangle. 
-	 * 
-	 * @return true, contributor not found in current instance contributors. 
-	 * @return false, contributor found in current instance contributors. 
-	 * 
-	 * */
-	private boolean isContributorUnique(Integer contributor) {
-		Collections.sort(contributors); 
-		int searchItem = Collections.binarySearch(contributors, contributor); 
-		if (searchItem < 0) 
-			return true; 
-		else
+	private boolean areContributorsUnique(ContributorSet contributorSet) {
+		//Missing contributors count as an empty set: 
+		if (contributorSet == null || contributorSet.isEmpty())
 			return false; 
+		
+		//Unique when at least one input rectangle contributor is not found in instance contributors: 
+		return contributors == null || !contributors.containsAll(contributorSet); 
 	}
 	
 	
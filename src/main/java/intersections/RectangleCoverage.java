@@ -0,0 +1,97 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.ArrayList;
+
+
+/**
+ * RectangleCoverage Class:  Layout metrics of a set of rectangles:  the union area and the area covered at least k times.
+ *
+ * Areas are measured by a sweep over the rectangles with a segment tree over their compressed y edges (see CoverageSweep), in
+ * O(K n log n) time for depths up to K, rather than by inclusion–exclusion over the intersections.  No intersection is found,
+ * so the cost does not depend on how many intersections the rectangles have.
+ *
+ * A point is covered k times when it lies inside k rectangles.  Touching edges add no area, and the area covered exactly k
+ * times is getAreaCoveredAtLeast(k) - getAreaCoveredAtLeast(k + 1).
+ *
+ * */
+
+
+public final class RectangleCoverage {
+
+	private final RectangleStore store;
+
+
+	/**
+	 * @param rectangles, the rectangles to measure, as built by App.readRectangles().
+	 * */
+	public RectangleCoverage(ArrayList<Rectangle> rectangles) {
+		//Check for Null list and null rectangles in list:
+		if (rectangles == null)
+			throw new NullPointerException("Null list of rectangles not accepted");
+		for (Rectangle rectangle : rectangles) {
+			if (rectangle == null)
+				throw new NullPointerException("At least 1 rectangle is null in list");
+		}
+		this.store = RectangleStore.fromRectangles(rectangles);
+	}
+
+
+	/**
+	 * @param store, the rectangles to measure, as loaded by App.loadRectangles().
+	 * */
+	public RectangleCoverage(RectangleStore store) {
+		//Check for Null store:
+		if (store == null)
+			throw new NullPointerException("Null store of rectangles not accepted");
+		this.store = store;
+	}
+
+
+	/**
+	 * @return unionArea, the area covered by at least 1 rectangle.
+	 * */
+	public long getUnionArea() {
+		return getAreaCoveredAtLeast(1);
+	}
+
+
+	/**
+	 * @param depth, a coverage depth (at least 1).
+	 *
+	 * @return area, the area covered by at least depth rectangles.
+	 * */
+	public long getAreaCoveredAtLeast(int depth) {
+		return getAreasCoveredAtLeast(depth)[depth];
+	}
+
+
+	/**
+	 * Measures the areas of every depth up to a maximum in one sweep.
+	 *
+	 * @param maxDepth, the largest coverage depth measured (at least 1).
+	 *
+	 * @return areas, the area covered by at least k rectangles at index k, for k from 1 to maxDepth (index 0 is always 0).
+	 * */
+	public long[] getAreasCoveredAtLeast(int maxDepth) {
+		if (maxDepth < 1)
+			throw new IllegalArgumentException("Depth must be at least 1");
+		return new CoverageSweep(store, maxDepth).run();
+	}
+
+
+	/**
+	 * Measures the areas of every depth present, up to the maximum depth of the rectangles.
+	 *
+	 * @return areas, the area covered by exactly k rectangles at index k, for k from 1 to the maximum depth (index 0 is always 0).
+	 * */
+	public long[] getAreasByDepth() {
+		int maxDepth = Math.max(new DepthSweep(store).run().length, 1);
+		long[] areas = getAreasCoveredAtLeast(maxDepth);
+		for (int k = 1; k < maxDepth; k++)
+			areas[k] -= areas[k + 1];
+		return areas;
+	}
+
+}
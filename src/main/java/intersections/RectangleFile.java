@@ -0,0 +1,212 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * RectangleFile Class:  Compact binary rectangle file format, with memory-mapped loading into a RectangleStore.
+ *
+ * File Layout (all values little-endian int32):
+ *
+ * 		1. Header (16 bytes): magic "RECT" (bytes 52 45 43 54), format version (1), record count, record size in bytes (16).
+ *
+ * 		2. Records (16 bytes each, in id order from 1): x, y, delta_x, delta_y.
+ *
+ * Loading maps the file with a read-only FileChannel and reads the records through an IntBuffer view straight into the store
+ * columns, so no object is created per record.  Values are copied as written; callers check for negative or 0 parameters.
+ *
+ * Converter: java -cp target/classes intersections.RectangleFile input.json output.rects
+ *
+ * */
+
+
+public final class RectangleFile {
+
+	static final int MAGIC = 0x54434552;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int RECORD_SIZE = 16;
+
+	//Records mapped per window, keeping each mapping well below the 2GB limit:
+	private static final int WINDOW_RECORDS = 1 << 24;
+
+
+	private RectangleFile() {
+	}
+
+
+	/**
+	 * Converts a JSON rectangle file to a binary rectangle file.
+	 *
+	 * @param args, the JSON input path and the binary output path.
+	 * */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("Usage: RectangleFile input.json output.rects");
+			return;
+		}
+		try (Reader jsonReader = new InputStreamReader(Files.newInputStream(Paths.get(args[0])), StandardCharsets.UTF_8)) {
+			int count = convert(jsonReader, Paths.get(args[1]));
+			System.out.println("Converted " + count + " rectangles");
+		}
+	}
+
+
+	/**
+	 * Determines if a file starts with the binary rectangle file magic number.
+	 *
+	 * @param path, the file to check.
+	 *
+	 * @return true, the file is a binary rectangle file.
+	 * @return false, the file is too short or starts with anything else.
+	 * */
+	public static boolean isRectangleFile(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			while (magic.hasRemaining() && channel.read(magic) >= 0) {
+			}
+			return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+		}
+	}
+
+
+	/**
+	 * Loads a binary rectangle file into a store, keeping each rectangle id (record number from 1) in the contributor column.
+	 *
+	 * @param path, the binary rectangle file.
+	 *
+	 * @return store, a store with one row per record, in file order.
+	 * */
+	public static RectangleStore load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < HEADER_SIZE)
+				throw new IOException("File is too short for a rectangle file header");
+
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != MAGIC)
+				throw new IOException("File is not a rectangle file");
+			if (header.getInt(4) != VERSION)
+				throw new IOException("Unsupported rectangle file version " + header.getInt(4));
+			int count = header.getInt(8);
+			if (count < 0 || header.getInt(12) != RECORD_SIZE || fileSize != HEADER_SIZE + (long) count * RECORD_SIZE)
+				throw new IOException("Rectangle file size does not match its header");
+
+			RectangleStore store = new RectangleStore(count);
+			for (int first = 0; first < count; first += WINDOW_RECORDS) {
+				int records = Math.min(WINDOW_RECORDS, count - first);
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + (long) first * RECORD_SIZE, (long) records * RECORD_SIZE);
+				IntBuffer values = window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+				for (int k = 0; k < records; k++) {
+					int x = values.get();
+					int y = values.get();
+					int deltaX = values.get();
+					int deltaY = values.get();
+					if ((long) x + deltaX > Integer.MAX_VALUE || (long) y + deltaY > Integer.MAX_VALUE)
+						throw new IOException("Rectangle " + (first + k + 1) + " exceeds the coordinate range");
+					store.add(x, y, x + deltaX, y + deltaY, first + k + 1);
+				}
+			}
+			return store;
+		}
+	}
+
+
+	/**
+	 * Writes the rows of a store to a binary rectangle file, replacing any existing file.
+	 *
+	 * @param store, the rectangles to write.
+	 * @param path, the binary rectangle file.
+	 * */
+	public static void write(RectangleStore store, Path path) throws IOException {
+		try (RecordWriter writer = new RecordWriter(path)) {
+			for (int row = 0; row < store.size(); row++) {
+				writer.write(store.getMinX(row), store.getMinY(row), store.getMaxX(row) - store.getMinX(row), store.getMaxY(row) - store.getMinY(row));
+			}
+		}
+	}
+
+
+	/**
+	 * Converts a JSON rectangle file to a binary rectangle file in a single streaming pass.
+	 *
+	 * @param jsonReader, reader of the JSON rectangle file.
+	 * @param path, the binary rectangle file.
+	 *
+	 * @return count, the number of rectangles written.
+	 * */
+	public static int convert(Reader jsonReader, Path path) throws IOException {
+		try (RecordWriter writer = new RecordWriter(path)) {
+			IOException[] failure = new IOException[1];
+			new RectangleReader(jsonReader).read((x, y, deltaX, deltaY) -> {
+				try {
+					writer.write(x, y, deltaX, deltaY);
+					return true;
+				} catch (IOException exception) {
+					failure[0] = exception;
+					return false;
+				}
+			});
+			if (failure[0] != null)
+				throw failure[0];
+			return writer.count;
+		}
+	}
+
+
+
+	/**
+	 * RecordWriter Class:  Buffered writer of records, filling in the header count when closed.
+	 * */
+	private static final class RecordWriter implements AutoCloseable {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+		private int count;
+
+		RecordWriter(Path path) throws IOException {
+			channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(RECORD_SIZE);
+		}
+
+		void write(int x, int y, int deltaX, int deltaY) throws IOException {
+			if (buffer.remaining() < RECORD_SIZE)
+				flush();
+			buffer.putInt(x).putInt(y).putInt(deltaX).putInt(deltaY);
+			count++;
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+				ByteBuffer countBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, count);
+				channel.write(countBuffer, 8);
+			} finally {
+				channel.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,388 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+
+
+//External Library classes:
+import org.everit.json.schema.ValidationException;
+import org.json.JSONException;
+
+
+/**
+ * RectangleReader Class:  Single pass streaming reader of rectangle JSON files, validating each rectangle as it is read.
+ *
+ * Input Format: {"rects": [{"x": 1, "y": 1, "delta_x": 1, "delta_y": 1}, ...]}, following Schema/JSONSchema.json.
+ *
+ * Validation Rules:
+ *
+ * 		1. The file holds a single object whose only member is the "rects" array.
+ *
+ * 		2. Each element of "rects" is an object holding integer "x", "y", "delta_x" and "delta_y" members (other members are skipped).
+ *
+ * Records are passed to a consumer as soon as each element closes, so no JSON tree is built and memory only grows with what the
+ * consumer keeps.  Malformed JSON throws a JSONException and a file that breaks the rules throws a ValidationException against
+ * the compiled RectangleSchema, as App.isFileCorrect() does.  The rules are those of the schema, checked by hand so the file is
+ * read in one pass; RectangleReaderTest runs the same files through both to keep them in step.
+ *
+ * */
+
+
+public final class RectangleReader {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private long offset;
+	private boolean ended;
+
+	//Reused key buffer:
+	private final StringBuilder key = new StringBuilder();
+
+
+	/**
+	 * Receiver of rectangles read from a file.
+	 * */
+	public interface RecordConsumer {
+
+		/**
+		 * @return true, continue reading.
+		 * @return false, stop reading.
+		 * */
+		boolean accept(int x, int y, int deltaX, int deltaY);
+	}
+
+
+	public RectangleReader(Reader reader) {
+		if (reader == null)
+			throw new NullPointerException("Null reader not accepted");
+		this.reader = reader;
+	}
+
+
+	/**
+	 * Reads every rectangle of the file in order, passing each to a consumer.
+	 *
+	 * @param consumer, receives the x, y, deltaX and deltaY of each rectangle.
+	 *
+	 * @return true, the whole file was read.
+	 * @return false, the consumer stopped reading.
+	 * */
+	public boolean read(RecordConsumer consumer) throws IOException {
+		expect('{');
+		if (peekToken() == '}')
+			throw violation("#: required key [rects] not found");
+
+		//Top level object: Only member is the rects array:
+		readKey();
+		if (!"rects".contentEquals(key))
+			throw violation("#: extraneous key [" + key + "] is not permitted");
+		expect(':');
+		if (peekToken() != '[')
+			throw violation("#/rects: expected type: JSONArray");
+		expect('[');
+
+		int element = 0;
+		if (peekToken() == ']') {
+			next();
+		} else {
+			while (true) {
+				if (!readRectangle(element++, consumer))
+					return false;
+				char separator = nextToken();
+				if (separator == ']')
+					break;
+				if (separator != ',')
+					throw syntaxError("Expected a ',' or ']'");
+			}
+		}
+
+		char end = nextToken();
+		if (end == ',')
+			throw violation("#: only the [rects] key is permitted");
+		if (end != '}')
+			throw syntaxError("Expected a ',' or '}'");
+		if (peekToken() != 0)
+			throw syntaxError("Unexpected content after the end of the file");
+		return true;
+	}
+
+
+	/**
+	 * Reads every rectangle of the file into initial Rectangle objects, with ids numbered from 1 in file order.
+	 *
+	 * @return rectangles, the rectangles of the file.
+	 * */
+	public ArrayList<Rectangle> readRectangles() throws IOException {
+		ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>();
+		read((x, y, deltaX, deltaY) -> rectangles.add(new Rectangle(deltaX, deltaY, x, y, rectangles.size() + 1)));
+		return rectangles;
+	}
+
+
+	/**
+	 * Reads every rectangle of the file into a store, with ids numbered from 1 in file order and no object per rectangle.
+	 *
+	 * @return store, the rectangles of the file.
+	 *
+	 * @throws ValidationException, a rectangle reaches beyond the int coordinate range.
+	 * */
+	public RectangleStore readStore() throws IOException {
+		RectangleStore store = new RectangleStore();
+		read((x, y, deltaX, deltaY) -> {
+			if ((long) x + deltaX > Integer.MAX_VALUE || (long) y + deltaY > Integer.MAX_VALUE)
+				throw violation("#/rects/" + store.size() + ": rectangle exceeds the coordinate range");
+			store.add(x, y, x + deltaX, y + deltaY, store.size() + 1);
+			return true;
+		});
+		return store;
+	}
+
+
+	/**
+	 * Reads one element of the rects array and passes it to the consumer.
+	 * */
+	private boolean readRectangle(int element, RecordConsumer consumer) throws IOException {
+		if (peekToken() != '{')
+			throw violation("#/rects/" + element + ": expected type: JSONObject");
+		expect('{');
+
+		long x = Long.MIN_VALUE;
+		long y = Long.MIN_VALUE;
+		long deltaX = Long.MIN_VALUE;
+		long deltaY = Long.MIN_VALUE;
+		if (peekToken() == '}') {
+			next();
+		} else {
+			while (true) {
+				readKey();
+				expect(':');
+				if ("x".contentEquals(key))
+					x = checkUnset(x, readInteger(element));
+				else if ("y".contentEquals(key))
+					y = checkUnset(y, readInteger(element));
+				else if ("delta_x".contentEquals(key))
+					deltaX = checkUnset(deltaX, readInteger(element));
+				else if ("delta_y".contentEquals(key))
+					deltaY = checkUnset(deltaY, readInteger(element));
+				else
+					skipValue();
+
+				char separator = nextToken();
+				if (separator == '}')
+					break;
+				if (separator != ',')
+					throw syntaxError("Expected a ',' or '}'");
+			}
+		}
+
+		if (x == Long.MIN_VALUE || y == Long.MIN_VALUE || deltaX == Long.MIN_VALUE || deltaY == Long.MIN_VALUE)
+			throw violation("#/rects/" + element + ": required keys [x, y, delta_x, delta_y] not found");
+		return consumer.accept((int) x, (int) y, (int) deltaX, (int) deltaY);
+	}
+
+
+	private long checkUnset(long current, long value) {
+		if (current != Long.MIN_VALUE)
+			throw syntaxError("Duplicate key \"" + key + "\"");
+		return value;
+	}
+
+
+	/**
+	 * Reads a member value that must be an integer within the int range.
+	 * */
+	private long readInteger(int element) throws IOException {
+		char first = peekToken();
+		if (first != '-' && (first < '0' || first > '9'))
+			throw violation("#/rects/" + element + "/" + key + ": expected type: Integer");
+
+		boolean negative = first == '-';
+		if (negative)
+			next();
+		long value = 0;
+		int digits = 0;
+		while (peek() >= '0' && peek() <= '9') {
+			value = value * 10 + (next() - '0');
+			if (++digits > 10)
+				throw violation("#/rects/" + element + "/" + key + ": integer out of range");
+		}
+		if (digits == 0)
+			throw syntaxError("Expected a digit");
+		char after = peek();
+		if (after == '.' || after == 'e' || after == 'E')
+			throw violation("#/rects/" + element + "/" + key + ": expected type: Integer");
+
+		value = negative ? -value : value;
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+			throw violation("#/rects/" + element + "/" + key + ": integer out of range");
+		return value;
+	}
+
+
+	/**
+	 * Reads an object key into the key buffer.
+	 * */
+	private void readKey() throws IOException {
+		if (nextToken() != '"')
+			throw syntaxError("Expected a quoted key");
+		key.setLength(0);
+		readString(key);
+	}
+
+
+	/**
+	 * Reads the rest of a string after its opening quote, appending it to a builder (null to skip it).
+	 * */
+	private void readString(StringBuilder builder) throws IOException {
+		while (true) {
+			char character = next();
+			if (character == '"')
+				return;
+			if (character == '\\') {
+				char escaped = next();
+				switch (escaped) {
+					case 'u':
+						int code = 0;
+						for (int k = 0; k < 4; k++) {
+							int digit = Character.digit(next(), 16);
+							if (digit < 0)
+								throw syntaxError("Illegal escape");
+							code = code * 16 + digit;
+						}
+						escaped = (char) code;
+						break;
+					case 'b': escaped = '\b'; break;
+					case 'f': escaped = '\f'; break;
+					case 'n': escaped = '\n'; break;
+					case 'r': escaped = '\r'; break;
+					case 't': escaped = '\t'; break;
+					case '"': case '\\': case '/': break;
+					default: throw syntaxError("Illegal escape");
+				}
+				character = escaped;
+			} else if (character < ' ') {
+				throw syntaxError("Unterminated string");
+			}
+			if (builder != null)
+				builder.append(character);
+		}
+	}
+
+
+	/**
+	 * Skips any JSON value (used for members the reader does not need).
+	 * */
+	private void skipValue() throws IOException {
+		char first = nextToken();
+		if (first == '"') {
+			readString(null);
+		} else if (first == '{' || first == '[') {
+			char close = first == '{' ? '}' : ']';
+			if (peekToken() == close) {
+				next();
+				return;
+			}
+			while (true) {
+				if (first == '{') {
+					if (nextToken() != '"')
+						throw syntaxError("Expected a quoted key");
+					readString(null);
+					expect(':');
+				}
+				skipValue();
+				char separator = nextToken();
+				if (separator == close)
+					return;
+				if (separator != ',')
+					throw syntaxError("Expected a ',' or '" + close + "'");
+			}
+		} else if (first == '-' || (first >= '0' && first <= '9')) {
+			while ((peek() >= '0' && peek() <= '9') || peek() == '.' || peek() == 'e' || peek() == 'E' || peek() == '+' || peek() == '-')
+				next();
+		} else if (first == 't' || first == 'f' || first == 'n') {
+			String literal = first == 't' ? "true" : first == 'f' ? "false" : "null";
+			for (int k = 1; k < literal.length(); k++) {
+				if (next() != literal.charAt(k))
+					throw syntaxError("Unknown literal");
+			}
+		} else {
+			throw syntaxError("Expected a value");
+		}
+	}
+
+
+	private void expect(char expected) throws IOException {
+		if (nextToken() != expected)
+			throw syntaxError("Expected '" + expected + "'");
+	}
+
+
+	/**
+	 * Returns the next character that is not white space without consuming it (0 at the end of the input).
+	 * */
+	private char peekToken() throws IOException {
+		while (true) {
+			char character = peek();
+			if (character != ' ' && character != '\n' && character != '\r' && character != '\t')
+				return character;
+			next();
+		}
+	}
+
+
+	private char nextToken() throws IOException {
+		char character = peekToken();
+		next();
+		return character;
+	}
+
+
+	private char peek() throws IOException {
+		if (position == limit && !fill())
+			return 0;
+		return buffer[position];
+	}
+
+
+	private char next() throws IOException {
+		if (position == limit && !fill())
+			return 0;
+		return buffer[position++];
+	}
+
+
+	private boolean fill() throws IOException {
+		if (ended)
+			return false;
+		offset += limit;
+		position = 0;
+		limit = 0;
+		int read = reader.read(buffer, 0, buffer.length);
+		while (read == 0)
+			read = reader.read(buffer, 0, buffer.length);
+		if (read < 0) {
+			ended = true;
+			return false;
+		}
+		limit = read;
+		return true;
+	}
+
+
+	private static ValidationException violation(String message) {
+		return new ValidationException(RectangleSchema.get(), message);
+	}
+
+
+	private JSONException syntaxError(String message) {
+		return new JSONException(message + " at character " + (offset + position));
+	}
+
+}
@@ -0,0 +1,80 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+
+//External Library classes:
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+
+/**
+ * RectangleSchema Class:  The rectangle file JSON schema, compiled once from the classpath resource Schema/JSONSchema.json.
+ *
+ * The schema is loaded by the first call to get() through a holder class, so the class loader guarantees it is loaded exactly once
+ * and safely published to every thread.  A compiled Schema is immutable and each validate() call keeps its own state, so the one
+ * instance is shared by concurrent validations.
+ *
+ * */
+
+
+public final class RectangleSchema {
+
+	static final String RESOURCE = "/Schema/JSONSchema.json";
+
+
+	private RectangleSchema() {
+	}
+
+
+	/**
+	 * @return schema, the compiled rectangle file schema.
+	 * */
+	public static Schema get() {
+		return Holder.SCHEMA;
+	}
+
+
+	/**
+	 * Validates a parsed rectangle file against the schema.
+	 *
+	 * @param json, the parsed file.
+	 *
+	 * @throws org.everit.json.schema.ValidationException, the file does not conform to the schema.
+	 * */
+	public static void validate(JSONObject json) {
+		Holder.SCHEMA.validate(json);
+	}
+
+
+	private static Schema load() {
+		InputStream schemaStream = RectangleSchema.class.getResourceAsStream(RESOURCE);
+		if (schemaStream == null)
+			throw new IllegalStateException("Schema resource " + RESOURCE + " not found on the classpath");
+		try (Reader schemaReader = new InputStreamReader(schemaStream, StandardCharsets.UTF_8)) {
+			return SchemaLoader.load(new JSONObject(new JSONTokener(schemaReader)));
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+
+
+	/**
+	 * Holder Class:  Loads the schema on first use.
+	 * */
+	private static final class Holder {
+
+		private static final Schema SCHEMA = load();
+	}
+
+}
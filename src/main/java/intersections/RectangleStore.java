@@ -0,0 +1,158 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * RectangleStore Class:  Struct-of-arrays storage of rectangles for the engines and the generation loop.
+ *
+ * Each rectangle is a row across parallel int arrays holding its edges (minX, minY, maxX, maxY) and a contributor column.
+ * Edges are stored rather than deltas, so overlap tests read four ints per rectangle with no additions or pointer chasing.
+ *
+ * Contributor column: For a store of initial rectangles it holds the rectangle id.  For a store of intersection rectangles
+ * it holds the index of the intersection's ContributorSet kept by IntersectionReporter.
+ *
+ * Rectangle objects are only created at the API boundary, through fromRectangles() and toRectangle().
+ *
+ * */
+
+
+public final class RectangleStore {
+
+	//Rectangle edges:
+	private int[] minX;
+	private int[] minY;
+	private int[] maxX;
+	private int[] maxY;
+
+	//Rectangle id or contributor set index:
+	private int[] contributor;
+
+	private int size;
+
+
+	public RectangleStore() {
+		this(16);
+	}
+
+
+	public RectangleStore(int capacity) {
+		capacity = Math.max(capacity, 1);
+		this.minX = new int[capacity];
+		this.minY = new int[capacity];
+		this.maxX = new int[capacity];
+		this.maxY = new int[capacity];
+		this.contributor = new int[capacity];
+	}
+
+
+	/**
+	 * Copies a list of initial rectangles into a store, keeping each rectangle id in the contributor column.
+	 *
+	 * @param rectangles, the rectangles to copy.
+	 *
+	 * @return store, a store with one row per rectangle, in list order.
+	 * */
+	public static RectangleStore fromRectangles(List<Rectangle> rectangles) {
+		RectangleStore store = new RectangleStore(rectangles.size());
+		for (Rectangle rectangle : rectangles) {
+			store.add(rectangle.getX(), rectangle.getY(), rectangle.getX() + rectangle.getDeltaX(),
+					  rectangle.getY() + rectangle.getDeltaY(), rectangle.getId());
+		}
+		return store;
+	}
+
+
+	/**
+	 * Appends a rectangle to the store.
+	 *
+	 * @return row, the index of the new rectangle.
+	 * */
+	public int add(int minX, int minY, int maxX, int maxY, int contributor) {
+		if (size == this.minX.length)
+			grow(size * 2);
+
+		this.minX[size] = minX;
+		this.minY[size] = minY;
+		this.maxX[size] = maxX;
+		this.maxY[size] = maxY;
+		this.contributor[size] = contributor;
+		return size++;
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+	public int getMinX(int row) {
+		return minX[row];
+	}
+
+	public int getMinY(int row) {
+		return minY[row];
+	}
+
+	public int getMaxX(int row) {
+		return maxX[row];
+	}
+
+	public int getMaxY(int row) {
+		return maxY[row];
+	}
+
+	public int getContributor(int row) {
+		return contributor[row];
+	}
+
+
+	/**
+	 * Determines if 2 rows overlap.  Touching edges count as an overlap, as in IntersectionReporter.overlapPresent().
+	 * */
+	public boolean overlapPresent(int row1, int row2) {
+		return !(minX[row1] > maxX[row2] || maxX[row1] < minX[row2] || maxY[row1] < minY[row2] || minY[row1] > maxY[row2]);
+	}
+
+
+	/**
+	 * Creates an initial Rectangle object for a row, using the contributor column as the id.
+	 *
+	 * @param row, the row to convert.
+	 *
+	 * @return rectangle, the rectangle of the row.
+	 * */
+	public Rectangle toRectangle(int row) {
+		return new Rectangle(maxX[row] - minX[row], maxY[row] - minY[row], minX[row], minY[row], contributor[row]);
+	}
+
+
+	//Direct array access for the engines (arrays may be longer than size):
+	int[] minXArray() {
+		return minX;
+	}
+
+	int[] minYArray() {
+		return minY;
+	}
+
+	int[] maxXArray() {
+		return maxX;
+	}
+
+	int[] maxYArray() {
+		return maxY;
+	}
+
+
+	private void grow(int capacity) {
+		minX = Arrays.copyOf(minX, capacity);
+		minY = Arrays.copyOf(minY, capacity);
+		maxX = Arrays.copyOf(maxX, capacity);
+		maxY = Arrays.copyOf(maxY, capacity);
+		contributor = Arrays.copyOf(contributor, capacity);
+	}
+
+}
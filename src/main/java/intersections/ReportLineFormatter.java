@@ -0,0 +1,135 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * ReportLineFormatter Class:  Formats intersection report lines into a reusable character buffer.
+ *
+ * Example:  "6: Between rectangle 1, 3, and 4 at (160,160)), delta_x= 190,  delta_y= 20." followed by the line separator.
+ *
+ * Each line is written in one pass over the contributors, with integers converted digit by digit straight into the buffer.  The
+ * buffer is sized for the whole line before writing and only grows, so once it fits the longest line no further objects are
+ * created.  Shared by IntersectionReporter.printIntersections() and TextIntersectionSink.
+ *
+ * */
+
+
+final class ReportLineFormatter {
+
+	private static final char[] BETWEEN = ": Between rectangle".toCharArray();
+	private static final char[] AND = " and ".toCharArray();
+	private static final char[] AT = " at (".toCharArray();
+	private static final char[] DELTA_X = ")), delta_x= ".toCharArray();
+	private static final char[] DELTA_Y = ",  delta_y= ".toCharArray();
+	private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+	private static final char[] MIN_INT = String.valueOf(Integer.MIN_VALUE).toCharArray();
+
+	//Longest int ("-2147483648") and longest contributor (", " + int):
+	private static final int INT_CHARS = 11;
+	private static final int CONTRIBUTOR_CHARS = INT_CHARS + 2;
+
+	private char[] buffer = new char[256];
+	private int length;
+
+
+	/**
+	 * Formats one report line, replacing the previous line in the buffer.
+	 *
+	 * @param number, the line number.
+	 * @param x, x coordinate of the intersection.
+	 * @param y, y coordinate of the intersection.
+	 * @param deltaX, width of the intersection.
+	 * @param deltaY, height of the intersection.
+	 * @param contributors, ids of the rectangles forming the intersection.
+	 * */
+	void format(int number, int x, int y, int deltaX, int deltaY, ContributorSet contributors) {
+		int remaining = contributors.size();
+		int capacity = BETWEEN.length + AND.length + AT.length + DELTA_X.length + DELTA_Y.length + LINE_SEPARATOR.length + 6 * INT_CHARS
+			+ remaining * CONTRIBUTOR_CHARS;
+		if (buffer.length < capacity)
+			buffer = new char[Math.max(capacity, buffer.length * 2)];
+		length = 0;
+
+		//Append contributing rectangles:
+		appendInt(number);
+		append(BETWEEN);
+		for (int contributor = contributors.nextContributor(0); contributor != -1; contributor = contributors.nextContributor(contributor + 1)) {
+			if (--remaining == 0) {
+				append(AND);
+				appendInt(contributor);
+			} else {
+				buffer[length++] = ' ';
+				appendInt(contributor);
+				buffer[length++] = ',';
+			}
+		}
+
+		//Append rectangle parameter information:
+		append(AT);
+		appendInt(x);
+		buffer[length++] = ',';
+		appendInt(y);
+		append(DELTA_X);
+		appendInt(deltaX);
+		append(DELTA_Y);
+		appendInt(deltaY);
+		buffer[length++] = '.';
+		append(LINE_SEPARATOR);
+	}
+
+
+	/**
+	 * Writes the last formatted line, including its line separator.
+	 *
+	 * @param writer, the writer to write to.
+	 * */
+	void writeTo(Writer writer) throws IOException {
+		writer.write(buffer, 0, length);
+	}
+
+
+	/**
+	 * @return line, the last formatted line as a string (for tests and callers outside the hot path).
+	 * */
+	@Override
+	public String toString() {
+		return new String(buffer, 0, length);
+	}
+
+
+	private void append(char[] characters) {
+		System.arraycopy(characters, 0, buffer, length, characters.length);
+		length += characters.length;
+	}
+
+
+	/**
+	 * Appends the decimal digits of a value, filling them in from the last digit back.
+	 * */
+	private void appendInt(int value) {
+		if (value == Integer.MIN_VALUE) {
+			append(MIN_INT);
+			return;
+		}
+		if (value < 0) {
+			buffer[length++] = '-';
+			value = -value;
+		}
+
+		int digits = 1;
+		for (int bound = 10; digits < 10 && value >= bound; bound *= 10)
+			digits++;
+		int position = length + digits;
+		length = position;
+		do {
+			int quotient = value / 10;
+			buffer[--position] = (char) ('0' + (value - quotient * 10));
+			value = quotient;
+		} while (value != 0);
+	}
+
+}
@@ -0,0 +1,519 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * ResultCache Class:  Size-bounded cache of intersection results, keyed by the geometry of the input rather than its ids.
+ *
+ * Cache Process:
+ *
+ * 		1. Order the input rectangles: in input order for generation mode, by coordinates for clique mode.
+ *
+ * 		2. Number each rectangle by the position first holding its id, and hash the coordinates in that order, these numbers and
+ * 		   the options with SHA-256.  The same rectangles give the same key whatever their ids (and, in clique mode, their order).
+ *
+ * 		3. On a miss, run an IntersectionReporter (configured by App options, with the reporter's own defaults for options not
+ * 		   given) on the rectangles in that order, and keep the results with contributors as position numbers.
+ *
+ * 		4. Return the results with each position number replaced by the id of the input rectangle in that position.
+ *
+ * Generation mode results depend on the order of the input, so its key keeps the order, and the results of a key are exactly
+ * those of getIntersections() on an uncached reporter with the same options.  Clique mode results are the same set of regions
+ * and contributors for any order, so reordered inputs share an entry; the list comes in the order of the search on the
+ * coordinate ordered input, which may differ from that of an uncached reporter on the caller's order.  Results cut short by
+ * --max-intersections or --max-generations are returned but never cached, since the caller cannot tell them from complete
+ * results.
+ *
+ * Eviction:  At most maxEntries results are held in memory, in least recently used order.  With a spill directory, evicted
+ * results are written there (one file per key) and read back on a later miss instead of being computed again.  A file read
+ * back is removed, and beyond maxSpillEntries files the oldest written by this cache are removed, so the directory stays
+ * bounded; files left by an earlier cache are only removed when read back, and clearing them is the caller's job.  All methods
+ * are thread-safe; two threads missing on the same key may both compute it.
+ *
+ * */
+
+
+public final class ResultCache {
+
+	private static final int SPILL_MAGIC = 0x52534C54;
+
+	private final int maxEntries;
+	private final Path spillDirectory;
+	private final int maxSpillEntries;
+	private final LinkedHashMap<String, Entry> entries;
+
+	//Keys of the spill files written by this cache, oldest first:
+	private final LinkedHashSet<String> spilledKeys;
+
+	//Statistics:
+	private long hits;
+	private long spillHits;
+	private long misses;
+	private long evictions;
+
+
+	/**
+	 * @param maxEntries, the most results held in memory.
+	 * @param spillDirectory, directory for evicted results (null to drop them).
+	 * @param maxSpillEntries, the most spill files kept by this cache.
+	 * */
+	public ResultCache(int maxEntries, Path spillDirectory, int maxSpillEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("At least 1 entry is required");
+		if (maxSpillEntries < 1)
+			throw new IllegalArgumentException("At least 1 spill entry is required");
+		this.maxEntries = maxEntries;
+		this.spillDirectory = spillDirectory;
+		this.maxSpillEntries = maxSpillEntries;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+		this.spilledKeys = new LinkedHashSet<String>();
+	}
+
+
+	/**
+	 * @param maxEntries, the most results held in memory.
+	 * @param spillDirectory, directory for evicted results (null to drop them), holding at most 16 times maxEntries files.
+	 * */
+	public ResultCache(int maxEntries, Path spillDirectory) {
+		this(maxEntries, spillDirectory, (int) Math.min(16L * maxEntries, Integer.MAX_VALUE));
+	}
+
+
+	public ResultCache(int maxEntries) {
+		this(maxEntries, null);
+	}
+
+
+	/**
+	 * Finds the intersections of a list of input rectangles, from the cache when the same geometry was seen before.
+	 *
+	 * @param rectangles, the input rectangles (ids from getId()).
+	 * @param options, App options configuring the reporter (e.g. "--mode=clique"), which are part of the key.
+	 *
+	 * @return intersections, the intersection rectangles, with contributors as the input ids.
+	 * */
+	public ArrayList<Rectangle> getIntersections(ArrayList<Rectangle> rectangles, String... options) {
+		//Check for Null list:
+		if (rectangles == null)
+			throw new NullPointerException("Null list not accepted");
+		return getIntersections(RectangleStore.fromRectangles(rectangles), options);
+	}
+
+
+	/**
+	 * Finds the intersections of the input rectangles of a store, from the cache when the same geometry was seen before.
+	 *
+	 * @param store, the input rectangles (ids from the contributor column).
+	 * @param options, App options configuring the reporter, which are part of the key.
+	 *
+	 * @return intersections, the intersection rectangles, with contributors as the input ids.
+	 * */
+	public ArrayList<Rectangle> getIntersections(RectangleStore store, String... options) {
+		int[] rows = orderRows(store, options);
+		int[] numbers = numberRows(store, rows);
+		String key = key(store, rows, numbers, options);
+
+		Entry entry = lookup(key);
+		if (entry == null) {
+			entry = compute(store, rows, numbers, options);
+			synchronized (this) {
+				misses++;
+			}
+			if (entry.complete)
+				store(key, entry);
+		}
+
+		//Remap position numbers to the ids of this input:
+		int[] ids = new int[numbers.length];
+		for (int position = 0; position < numbers.length; position++)
+			ids[position] = store.getContributor(rows[position]);
+		return entry.toRectangles(ids);
+	}
+
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+
+	/**
+	 * @return spillHits, the hits read back from the spill directory (also counted in getHits()).
+	 * */
+	public synchronized long getSpillHits() {
+		return spillHits;
+	}
+
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+
+	/**
+	 * Finds an entry in memory, then in the spill directory.
+	 * */
+	private Entry lookup(String key) {
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				hits++;
+				return entry;
+			}
+		}
+		if (spillDirectory == null)
+			return null;
+
+		Entry entry = readSpill(key);
+		if (entry != null) {
+			synchronized (this) {
+				hits++;
+				spillHits++;
+			}
+			store(key, entry);
+		}
+		return entry;
+	}
+
+
+	/**
+	 * Adds an entry, evicting (and spilling) the least recently used entries beyond maxEntries.
+	 * */
+	private void store(String key, Entry entry) {
+		ArrayList<Map.Entry<String, Entry>> evicted = new ArrayList<Map.Entry<String, Entry>>();
+		synchronized (this) {
+			entries.put(key, entry);
+			Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+			while (entries.size() > maxEntries) {
+				Map.Entry<String, Entry> victim = eldest.next();
+				evicted.add(new AbstractMap.SimpleImmutableEntry<String, Entry>(victim));
+				eldest.remove();
+				evictions++;
+			}
+		}
+
+		//Write spilled entries outside the lock:
+		if (spillDirectory != null) {
+			for (Map.Entry<String, Entry> victim : evicted)
+				writeSpill(victim.getKey(), victim.getValue());
+		}
+	}
+
+
+	/**
+	 * Runs a reporter on the input rows in the given order, with each rectangle numbered from 1 by its position number.
+	 * */
+	private static Entry compute(RectangleStore store, int[] rows, int[] numbers, String[] options) {
+		RectangleStore numberedStore = new RectangleStore(numbers.length);
+		for (int position = 0; position < numbers.length; position++) {
+			int row = rows[position];
+			numberedStore.add(store.getMinX(row), store.getMinY(row), store.getMaxX(row), store.getMaxY(row), numbers[position] + 1);
+		}
+
+		//Reporter defaults first, so App's own default intersection limit does not apply:
+		String[] args = new String[options.length + 2];
+		args[0] = "cache";
+		args[1] = "--max-intersections=" + Integer.MAX_VALUE;
+		System.arraycopy(options, 0, args, 2, options.length);
+		IntersectionReporter reporter = App.createReporter(numberedStore, args);
+		if (reporter == null)
+			throw new IllegalArgumentException("Unknown or invalid option in " + Arrays.toString(options));
+		ArrayList<Rectangle> results = reporter.getIntersections();
+		return Entry.fromRectangles(results, !reporter.isLimitReached());
+	}
+
+
+	/**
+	 * Orders the store rows for the key: input order for generation mode, and by minX, minY, maxX, maxY (ties in input order)
+	 * for clique mode, whose results do not depend on the order.
+	 *
+	 * @return rows, the store row at each position.
+	 * */
+	static int[] orderRows(RectangleStore store, String[] options) {
+		int[] rows = new int[store.size()];
+		if (!isCliqueMode(options)) {
+			for (int row = 0; row < rows.length; row++)
+				rows[row] = row;
+			return rows;
+		}
+
+		Integer[] sorted = new Integer[rows.length];
+		for (int row = 0; row < rows.length; row++)
+			sorted[row] = row;
+		Arrays.sort(sorted, (first, second) -> {
+			int a = first, b = second;
+			if (store.getMinX(a) != store.getMinX(b))
+				return Integer.compare(store.getMinX(a), store.getMinX(b));
+			if (store.getMinY(a) != store.getMinY(b))
+				return Integer.compare(store.getMinY(a), store.getMinY(b));
+			if (store.getMaxX(a) != store.getMaxX(b))
+				return Integer.compare(store.getMaxX(a), store.getMaxX(b));
+			return Integer.compare(store.getMaxY(a), store.getMaxY(b));
+		});
+		for (int position = 0; position < rows.length; position++)
+			rows[position] = sorted[position];
+		return rows;
+	}
+
+
+	/**
+	 * @return true, the last --mode option (as App reads them) is clique mode.
+	 * */
+	private static boolean isCliqueMode(String[] options) {
+		boolean cliqueSearch = false;
+		for (String option : options) {
+			if (option.equals("--mode=clique"))
+				cliqueSearch = true;
+			else if (option.equals("--mode=generations"))
+				cliqueSearch = false;
+		}
+		return cliqueSearch;
+	}
+
+
+	/**
+	 * Numbers positions by the first position holding the same id, so rows sharing an id share a number.
+	 *
+	 * @return numbers, the number of each position (the position itself for a unique id).
+	 * */
+	static int[] numberRows(RectangleStore store, int[] rows) {
+		int[] numbers = new int[rows.length];
+		HashMap<Integer, Integer> firstPositions = new HashMap<Integer, Integer>(2 * numbers.length);
+		for (int position = 0; position < numbers.length; position++) {
+			Integer first = firstPositions.putIfAbsent(store.getContributor(rows[position]), position);
+			numbers[position] = first == null ? position : first;
+		}
+		return numbers;
+	}
+
+
+	/**
+	 * Hashes the options, the coordinates in the given order and the position numbers into a hex key.
+	 * */
+	static String key(RectangleStore store, int[] rows, int[] numbers, String[] options) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException(exception);
+		}
+		for (String option : options) {
+			digest.update(option.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		byte[] values = new byte[20 * 256];
+		int position = 0;
+		for (int k = 0; k < numbers.length; k++) {
+			int row = rows[k];
+			position = putInt(values, position, store.getMinX(row));
+			position = putInt(values, position, store.getMinY(row));
+			position = putInt(values, position, store.getMaxX(row));
+			position = putInt(values, position, store.getMaxY(row));
+			position = putInt(values, position, numbers[k]);
+			if (position == values.length) {
+				digest.update(values, 0, position);
+				position = 0;
+			}
+		}
+		digest.update(values, 0, position);
+		digest.update(Integer.toString(numbers.length).getBytes(StandardCharsets.UTF_8));
+
+		StringBuilder key = new StringBuilder(64);
+		for (byte value : digest.digest())
+			key.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+		return key.toString();
+	}
+
+
+	private static int putInt(byte[] values, int position, int value) {
+		values[position] = (byte) (value >>> 24);
+		values[position + 1] = (byte) (value >>> 16);
+		values[position + 2] = (byte) (value >>> 8);
+		values[position + 3] = (byte) value;
+		return position + 4;
+	}
+
+
+	/**
+	 * Reads a spilled entry back, removing its file: the entry is held in memory again and spilled again when evicted.
+	 * */
+	private Entry readSpill(String key) {
+		Path file = spillDirectory.resolve(key + ".result");
+		Entry entry;
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (input.readInt() != SPILL_MAGIC)
+				return null;
+			int count = input.readInt();
+			int[] regions = new int[4 * count];
+			int[] contributorStart = new int[count + 1];
+			for (int k = 0; k < regions.length; k++)
+				regions[k] = input.readInt();
+			for (int k = 0; k <= count; k++)
+				contributorStart[k] = input.readInt();
+			int[] numbers = new int[contributorStart[count]];
+			for (int k = 0; k < numbers.length; k++)
+				numbers[k] = input.readInt();
+			entry = new Entry(regions, contributorStart, numbers, true);
+		} catch (IOException | RuntimeException exception) {
+			//Missing, unreadable or truncated spill file: Compute again:
+			return null;
+		}
+
+		synchronized (this) {
+			spilledKeys.remove(key);
+		}
+		deleteSpill(key);
+		return entry;
+	}
+
+
+	/**
+	 * Writes an evicted entry to the spill directory.  An entry that cannot be written is dropped, as without a spill directory.
+	 * */
+	private void writeSpill(String key, Entry entry) {
+		Path temporary = null;
+		try {
+			Files.createDirectories(spillDirectory);
+			temporary = Files.createTempFile(spillDirectory, key, ".tmp");
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				int count = entry.contributorStart.length - 1;
+				output.writeInt(SPILL_MAGIC);
+				output.writeInt(count);
+				for (int value : entry.regions)
+					output.writeInt(value);
+				for (int value : entry.contributorStart)
+					output.writeInt(value);
+				for (int value : entry.numbers)
+					output.writeInt(value);
+			}
+			//Readers only ever see whole files:
+			Files.move(temporary, spillDirectory.resolve(key + ".result"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			try {
+				if (temporary != null)
+					Files.deleteIfExists(temporary);
+			} catch (IOException deleteException) {
+				exception.addSuppressed(deleteException);
+			}
+			return;
+		}
+
+		//Remove the oldest files beyond maxSpillEntries:
+		ArrayList<String> removed = new ArrayList<String>();
+		synchronized (this) {
+			spilledKeys.remove(key);
+			spilledKeys.add(key);
+			Iterator<String> oldest = spilledKeys.iterator();
+			while (spilledKeys.size() > maxSpillEntries) {
+				removed.add(oldest.next());
+				oldest.remove();
+			}
+		}
+		for (String removedKey : removed)
+			deleteSpill(removedKey);
+	}
+
+
+	/**
+	 * Removes a spill file.  A file that cannot be removed is left for the caller, like files of an earlier cache.
+	 * */
+	private void deleteSpill(String key) {
+		try {
+			Files.deleteIfExists(spillDirectory.resolve(key + ".result"));
+		} catch (IOException exception) {
+			//Left in place: A later read of it is still a valid hit:
+		}
+	}
+
+
+
+	/**
+	 * Entry Class:  Results of one key, with contributors as row numbers of the input.
+	 * */
+	private static final class Entry {
+
+		//x, y, deltaX, deltaY of each result:
+		private final int[] regions;
+
+		//Row numbers of result k are numbers[contributorStart[k]] to numbers[contributorStart[k + 1] - 1]:
+		private final int[] contributorStart;
+		private final int[] numbers;
+
+		//False when a guard stopped the search (never cached):
+		private final boolean complete;
+
+		Entry(int[] regions, int[] contributorStart, int[] numbers, boolean complete) {
+			this.regions = regions;
+			this.contributorStart = contributorStart;
+			this.numbers = numbers;
+			this.complete = complete;
+		}
+
+		static Entry fromRectangles(List<Rectangle> results, boolean complete) {
+			int[] regions = new int[4 * results.size()];
+			int[] contributorStart = new int[results.size() + 1];
+			int total = 0;
+			for (Rectangle result : results)
+				total += result.getContributorSet().size();
+			int[] numbers = new int[total];
+
+			int position = 0;
+			for (int k = 0; k < results.size(); k++) {
+				Rectangle result = results.get(k);
+				regions[4 * k] = result.getX();
+				regions[4 * k + 1] = result.getY();
+				regions[4 * k + 2] = result.getDeltaX();
+				regions[4 * k + 3] = result.getDeltaY();
+				ContributorSet contributors = result.getContributorSet();
+				for (int id = contributors.nextContributor(0); id != -1; id = contributors.nextContributor(id + 1))
+					numbers[position++] = id - 1;
+				contributorStart[k + 1] = position;
+			}
+			return new Entry(regions, contributorStart, numbers, complete);
+		}
+
+		ArrayList<Rectangle> toRectangles(int[] ids) {
+			int count = contributorStart.length - 1;
+			ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>(count);
+			for (int k = 0; k < count; k++) {
+				ContributorSet contributors = new ContributorSet();
+				for (int position = contributorStart[k]; position < contributorStart[k + 1]; position++)
+					contributors.add(ids[numbers[position]]);
+				rectangles.add(new Rectangle(regions[4 * k + 2], regions[4 * k + 3], regions[4 * k], regions[4 * k + 1], contributors));
+			}
+			return rectangles;
+		}
+	}
+
+}
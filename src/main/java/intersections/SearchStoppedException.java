@@ -0,0 +1,19 @@
+package intersections;
+
+
+/**
+ * SearchStoppedException Class:  Thrown from a pair consumer to stop an engine once a search has passed its deadline or been
+ * interrupted.  Engines do not catch it, so it ends IntersectionEngine.findOverlaps() and is caught by the search that ran it.
+ *
+ * */
+
+
+final class SearchStoppedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	SearchStoppedException() {
+		super("Search stopped", null, false, false);
+	}
+
+}
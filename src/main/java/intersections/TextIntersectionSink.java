@@ -0,0 +1,58 @@
+package intersections;
+
+
+//Java Language Imports:
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * TextIntersectionSink Class:  Writes intersections as buffered text, in the format of IntersectionReporter.printIntersections().
+ *
+ * Example:  "1: Between rectangle 1, and 3 at (140,160)), delta_x= 210,  delta_y= 20."
+ *
+ * The "Intersections: " heading is written before the first line, and lines are numbered from 1 in the order they are received.
+ * Lines are formatted by a ReportLineFormatter, so writing a line creates no objects.
+ *
+ * */
+
+
+public class TextIntersectionSink implements IntersectionSink {
+
+	private final Writer writer;
+	private final ReportLineFormatter formatter = new ReportLineFormatter();
+	private int count;
+	private boolean headingWritten;
+
+
+	public TextIntersectionSink(Writer writer) {
+		if (writer == null)
+			throw new NullPointerException("Null writer not accepted");
+		this.writer = new BufferedWriter(writer, 1 << 16);
+	}
+
+
+	@Override
+	public void accept(int x, int y, int deltaX, int deltaY, ContributorSet contributors) throws IOException {
+		writeHeading();
+		formatter.format(++count, x, y, deltaX, deltaY, contributors);
+		formatter.writeTo(writer);
+	}
+
+
+	@Override
+	public void flush() throws IOException {
+		writeHeading();
+		writer.flush();
+	}
+
+
+	private void writeHeading() throws IOException {
+		if (!headingWritten) {
+			headingWritten = true;
+			writer.write("Intersections: " + System.lineSeparator());
+		}
+	}
+
+}
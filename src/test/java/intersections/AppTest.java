@@ -9,6 +9,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.FileReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 
 import org.json.JSONArray;
@@ -20,12 +21,12 @@ import org.junit.jupiter.api.Test;
 public class AppTest {
 	
 	
-	private final static String RESOURCEURI = "C:\\Users\\dzb10\\Programming\\Java\\Java_MasterClass\\intersectionsProject\\src\\main\\resources\\"; 
+	private final static String RESOURCEURI = "src/main/resources/"; 
 	
 	//Tests for isFilePathValid(): 
 	@Test
 	public void testValidationForValidPath() throws Exception {
-		boolean isPathValid = App.isFilePathValid(RESOURCEURI + "\\NormalCases\\testRectanglesOriginals.json");  
+		boolean isPathValid = App.isFilePathValid(RESOURCEURI + "NormalCases/testRectanglesOriginals.json");  
 		
 		assertTrue(isPathValid);
 	}
@@ -40,7 +41,7 @@ public class AppTest {
 	
 	@Test
 	public void testValidationForBadPathFormat() throws Exception {
-		boolean isPathValid = App.isFilePathValid(RESOURCEURI + "@.d..dw;?.json"); 
+		boolean isPathValid = App.isFilePathValid(RESOURCEURI + "@.d..dw;?\0.json"); 
 		
 		assertFalse(isPathValid);
 	}
@@ -57,35 +58,35 @@ public class AppTest {
 	
 	@Test 
 	public void testForJSONType() throws Exception {
-		boolean isFileJSON = App.isFileCorrect(RESOURCEURI + "\\NormalCases\\testRectanglesOriginal.json"); 
+		boolean isFileJSON = App.isFileCorrect(RESOURCEURI + "NormalCases/testRectanglesOriginal.json"); 
 	
 		assertTrue(isFileJSON);
 	}
 	
 	@Test 
 	public void testForWrongType() throws Exception {
-		boolean isFileJSON = App.isFileCorrect(RESOURCEURI + "\\ErrorFiles\\wrongFileType.txt"); 
+		boolean isFileJSON = App.isFileCorrect(RESOURCEURI + "ErrorFiles/wrongFileType.txt"); 
 		
 		assertFalse(isFileJSON);
 	}
 	
 	@Test 
 	public void testForGoodFormat() throws Exception {
-		boolean isFormatCorrect = App.isFileCorrect(RESOURCEURI + "\\NormalCases\\testRectanglesDuplicates.json"); 
+		boolean isFormatCorrect = App.isFileCorrect(RESOURCEURI + "NormalCases/testRectanglesDuplicates.json"); 
 		
 		assertTrue(isFormatCorrect);
 	}
 	
 	@Test 
 	public void testForBadFormat() throws Exception {
-		boolean isFormatGood = App.isFileCorrect(RESOURCEURI + "\\ErrorFiles\\testBadFormat.json"); 
+		boolean isFormatGood = App.isFileCorrect(RESOURCEURI + "ErrorFiles/testBadFormat.json"); 
 		
 		assertFalse(isFormatGood);
 	}
 	
 	@Test
 	public void testForEmptyJSON() throws Exception {
-		boolean isThereJSON = App.isFileCorrect(RESOURCEURI + "\\ErrorFiles\\EmptyJSON.json"); 
+		boolean isThereJSON = App.isFileCorrect(RESOURCEURI + "ErrorFiles/EmptyJSON.json"); 
 	
 		assertFalse(isThereJSON);
 	}
@@ -94,7 +95,7 @@ public class AppTest {
 	//Tests for createRectangles(): 
 	@Test
 	public void testForCorrectRectangleSet() throws Exception {
-		FileReader jsonReader = new FileReader(RESOURCEURI + "\\NormalCases\\testRectanglesOriginal.json");
+		FileReader jsonReader = new FileReader(RESOURCEURI + "NormalCases/testRectanglesOriginal.json");
 		JSONTokener tokener = new JSONTokener(jsonReader); 
 		JSONObject parser = new JSONObject(tokener); 
 		JSONArray rectangleCoordinates = parser.getJSONArray("rects");
@@ -118,7 +119,7 @@ public class AppTest {
 	
 	@Test
 	public void testForNegativeRectangleParam() throws Exception {
-		FileReader jsonReader = new FileReader(RESOURCEURI + "\\ErrorFiles\\negativeRectangles.json");
+		FileReader jsonReader = new FileReader(RESOURCEURI + "ErrorFiles/negativeRectangles.json");
 		JSONTokener tokener = new JSONTokener(jsonReader); 
 		JSONObject parser = new JSONObject(tokener); 
 		JSONArray rectangleCoordinates = parser.getJSONArray("rects");
@@ -129,7 +130,7 @@ public class AppTest {
 	
 	@Test
 	public void testForZeroParam() throws Exception {
-		FileReader jsonReader = new FileReader(RESOURCEURI + "\\ErrorFiles\\zeroParameterRectangles.json");
+		FileReader jsonReader = new FileReader(RESOURCEURI + "ErrorFiles/zeroParameterRectangles.json");
 		JSONTokener tokener = new JSONTokener(jsonReader); 
 		JSONObject parser = new JSONObject(tokener); 
 		JSONArray rectangleCoordinates = parser.getJSONArray("rects");
@@ -138,11 +139,23 @@ public class AppTest {
 		assertNull(testRectangles);
 	}
 	
+	@Test
+	public void testForOverflowingRectangle() throws Exception {
+		FileReader jsonReader = new FileReader(RESOURCEURI + "ErrorFiles/overflowingRectangles.json");
+		JSONTokener tokener = new JSONTokener(jsonReader); 
+		JSONObject parser = new JSONObject(tokener); 
+		JSONArray rectangleCoordinates = parser.getJSONArray("rects");
+		
+		assertNull(App.createRectangles(rectangleCoordinates));
+		assertNull(App.readRectangles(RESOURCEURI + "ErrorFiles/overflowingRectangles.json"));
+	}
+	
 	
-	//Tests for reduceToTen(): 
+	//Tests for reduceToTen() (deprecated, kept for callers): 
 	@Test
+	@SuppressWarnings("deprecation")
 	public void testForReductionToTen() throws Exception {
-		FileReader jsonReader = new FileReader(RESOURCEURI + "\\ErrorFiles\\moreThanTenRectangles.json");
+		FileReader jsonReader = new FileReader(RESOURCEURI + "ErrorFiles/moreThanTenRectangles.json");
 		JSONTokener tokener = new JSONTokener(jsonReader); 
 		JSONObject parser = new JSONObject(tokener); 
 		JSONArray rectangleCoordinates = parser.getJSONArray("rects");
@@ -155,4 +168,77 @@ public class AppTest {
 		assertTrue(afterReductionSize <= 10); 
 	}
 	
-}
\ No newline at end of file
+	
+	//Tests for createReporter(): 
+	@Test
+	public void testForNoReductionOfLargeInput() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 25; i++)
+			testRectangles.add(new Rectangle(15, 15, 10 * (i + 1), 10 * (i + 1), i + 1)); 
+		
+		IntersectionReporter testReporter = App.createReporter(testRectangles, new String[] {"input.json"}); 
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertEquals(24, testResults.size());
+		assertEquals(25, (int) testResults.get(23).getContributors().get(1));
+	}
+	
+	@Test
+	public void testForReporterOptions() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 25; i++)
+			testRectangles.add(new Rectangle(15, 15, 10 * (i + 1), 10 * (i + 1), i + 1)); 
+		
+		IntersectionReporter testReporter = App.createReporter(testRectangles, new String[] {"input.json", "--engine=all-pairs", "--max-intersections=10"}); 
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertEquals(10, testResults.size());
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForMaxContributorsOption() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 10; i++)
+			testRectangles.add(new Rectangle(50, 50, 1 + i, 1 + i, i + 1)); 
+		
+		IntersectionReporter testReporter = App.createReporter(testRectangles, new String[] {"input.json", "--max-contributors=3"}); 
+		
+		for (Rectangle rectangle : testReporter.getIntersections())
+			assertTrue(rectangle.getContributorSet().size() <= 3);
+		assertFalse(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForCliqueModeOption() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 25; i++)
+			testRectangles.add(new Rectangle(15, 15, 10 * (i + 1), 10 * (i + 1), i + 1)); 
+		
+		IntersectionReporter testReporter = App.createReporter(testRectangles, new String[] {"input.json", "--mode=clique"}); 
+		
+		assertEquals(24, testReporter.getIntersections().size());
+		assertNull(App.createReporter(testRectangles, new String[] {"input.json", "--mode=unknown"}));
+	}
+	
+	@Test
+	public void testForOutputOption() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		
+		assertTrue(App.createSink(new String[] {"input.json"}, testWriter) instanceof TextIntersectionSink);
+		assertTrue(App.createSink(new String[] {"input.json", "--output=jsonl"}, testWriter) instanceof JsonLinesIntersectionSink);
+		assertTrue(App.createSink(new String[] {"input.json", "--output=csv"}, testWriter) instanceof CsvIntersectionSink);
+		assertNull(App.createSink(new String[] {"input.json", "--output=xml"}, testWriter));
+		assertNotNull(App.createReporter(new ArrayList<Rectangle>(), new String[] {"input.json", "--output=csv"}));
+	}
+	
+	@Test
+	public void testForInvalidReporterOption() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		
+		assertNull(App.createReporter(testRectangles, new String[] {"input.json", "--max-intersections=none"}));
+		assertNull(App.createReporter(testRectangles, new String[] {"input.json", "--max-contributors=1"}));
+		assertNull(App.createReporter(testRectangles, new String[] {"input.json", "--unknown"}));
+	}
+	
+}
@@ -0,0 +1,159 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchRunnerTest {
+
+	private static final String ORIGINAL_JSON = "{\"rects\": [{\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80}, "
+			+ "{\"x\": 120, \"y\": 200, \"delta_x\": 250, \"delta_y\": 150}, {\"x\": 140, \"y\": 160, \"delta_x\": 250, \"delta_y\": 100}, "
+			+ "{\"x\": 160, \"y\": 140, \"delta_x\": 350, \"delta_y\": 190}]}"; 
+	
+	@TempDir
+	Path testDirectory; 
+	
+	
+	//Tests for Instance Creation: 
+	@Test
+	public void testForInvalidThreads() throws Exception {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new BatchRunner(testDirectory, new String[0], 0); 
+		});
+	}
+	
+	
+	//Tests for findInputs(): 
+	@Test
+	public void testForDirectoryAndGlob() throws Exception {
+		Path inputDirectory = Files.createDirectories(testDirectory.resolve("layouts")); 
+		Files.write(inputDirectory.resolve("b.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		Files.write(inputDirectory.resolve("a.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		Files.write(inputDirectory.resolve("notes.txt"), "notes".getBytes(StandardCharsets.UTF_8)); 
+		Files.createDirectories(inputDirectory.resolve("nested")); 
+		Files.write(inputDirectory.resolve("nested/c.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		
+		List<Path> testDirectoryInputs = BatchRunner.findInputs(inputDirectory.toString()); 
+		List<Path> testGlobInputs = BatchRunner.findInputs(inputDirectory + "/*.json"); 
+		List<Path> testDeepGlobInputs = BatchRunner.findInputs(inputDirectory + "/**.json"); 
+		
+		assertEquals(3, testDirectoryInputs.size());
+		assertEquals(2, testGlobInputs.size());
+		assertTrue(testGlobInputs.get(0).endsWith("a.json"));
+		assertEquals(3, testDeepGlobInputs.size());
+		assertEquals(inputDirectory, BatchRunner.baseDirectory(inputDirectory + "/*.json"));
+	}
+	
+	
+	//Tests for run(): 
+	@Test
+	public void testForIsolatedFileErrors() throws Exception {
+		Path inputDirectory = Files.createDirectories(testDirectory.resolve("layouts")); 
+		Path outputDirectory = testDirectory.resolve("out"); 
+		Files.write(inputDirectory.resolve("good.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		Files.write(inputDirectory.resolve("broken.json"), "{\"rects\": [".getBytes(StandardCharsets.UTF_8)); 
+		Files.write(inputDirectory.resolve("negative.json"), "{\"rects\": [{\"x\": -1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}, {\"x\": 1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}".getBytes(StandardCharsets.UTF_8)); 
+		RectangleStore binaryStore = new RectangleStore(); 
+		binaryStore.add(1, 1, 11, 11, 1); 
+		binaryStore.add(5, 5, 15, 15, 2); 
+		RectangleFile.write(binaryStore, inputDirectory.resolve("pair.rects"));
+		
+		BatchRunner testRunner = new BatchRunner(outputDirectory, new String[] {"--output=csv"}, 2); 
+		BatchRunner.Summary testSummary = testRunner.run(inputDirectory, BatchRunner.findInputs(inputDirectory.toString())); 
+		
+		List<BatchRunner.FileResult> testResults = testSummary.getResults(); 
+		assertEquals(4, testResults.size());
+		assertEquals(2, testSummary.getFailed());
+		assertEquals(8, testSummary.getIntersections());
+		assertFalse(testResults.get(0).isSucceeded());
+		assertTrue(testResults.get(0).getInput().endsWith("broken.json"));
+		assertTrue(testResults.get(1).isSucceeded());
+		assertEquals(7, testResults.get(1).getIntersections());
+		assertFalse(testResults.get(2).isSucceeded());
+		assertEquals(1, testResults.get(3).getIntersections());
+		
+		List<String> testLines = Files.readAllLines(outputDirectory.resolve("pair.rects.csv")); 
+		assertEquals("x,y,delta_x,delta_y,contributors", testLines.get(0));
+		assertEquals("5,5,6,6,1;2", testLines.get(1));
+		assertEquals(8, Files.readAllLines(outputDirectory.resolve("good.json.csv")).size());
+		assertFalse(Files.exists(outputDirectory.resolve("broken.json.csv")));
+	}
+	
+	@Test
+	public void testForNoOutputOfFailedFile() throws Exception {
+		Path inputDirectory = Files.createDirectories(testDirectory.resolve("layouts")); 
+		Path outputDirectory = testDirectory.resolve("out"); 
+		Files.write(inputDirectory.resolve("good.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		
+		//The output file is opened before the unknown format is found: 
+		BatchRunner testRunner = new BatchRunner(outputDirectory, new String[] {"--output=xml"}, 1); 
+		BatchRunner.Summary testSummary = testRunner.run(inputDirectory, BatchRunner.findInputs(inputDirectory.toString())); 
+		
+		assertEquals(1, testSummary.getFailed());
+		assertFalse(Files.exists(outputDirectory.resolve("good.json.txt")));
+	}
+	
+	@Test
+	public void testForSummaryOutputInAnyLocale() throws Exception {
+		Path inputDirectory = Files.createDirectories(testDirectory.resolve("layouts")); 
+		Files.write(inputDirectory.resolve("good.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		Locale defaultLocale = Locale.getDefault(); 
+		
+		String testOutput; 
+		try {
+			Locale.setDefault(Locale.GERMANY);
+			BatchRunner.Summary testSummary = new BatchRunner(testDirectory.resolve("out"), new String[0], 1)
+					.run(inputDirectory, BatchRunner.findInputs(inputDirectory.toString())); 
+			ByteArrayOutputStream testBytes = new ByteArrayOutputStream(); 
+			testSummary.print(new PrintStream(testBytes, true, "UTF-8"));
+			testOutput = new String(testBytes.toByteArray(), StandardCharsets.UTF_8); 
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+		
+		assertTrue(testOutput.matches("(?s).*Wall time: \\d+\\.\\d ms, file time: \\d+\\.\\d ms.*"));
+	}
+	
+	@Test
+	public void testForSummaryOutput() throws Exception {
+		Path inputDirectory = Files.createDirectories(testDirectory.resolve("layouts")); 
+		Files.write(inputDirectory.resolve("good.json"), ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8)); 
+		
+		BatchRunner.Summary testSummary = new BatchRunner(testDirectory.resolve("out"), new String[0], 1)
+				.run(inputDirectory, BatchRunner.findInputs(inputDirectory.toString())); 
+		ByteArrayOutputStream testBytes = new ByteArrayOutputStream(); 
+		testSummary.print(new PrintStream(testBytes, true, "UTF-8"));
+		String testOutput = new String(testBytes.toByteArray(), StandardCharsets.UTF_8); 
+		
+		assertTrue(testOutput.contains("4 rectangles, 7 intersections"));
+		assertTrue(testOutput.contains("Files: 1 (1 succeeded, 0 failed, 0 limit reached)"));
+		assertTrue(Files.readAllLines(testDirectory.resolve("out/good.json.txt")).get(0).startsWith("Intersections:"));
+	}
+	
+	
+	//Tests for createExecutor(): 
+	@Test
+	public void testForExecutor() throws Exception {
+		ExecutorService testExecutor = BatchRunner.createExecutor(2); 
+		try {
+			assertEquals(Integer.valueOf(3), testExecutor.submit(() -> 1 + 2).get());
+		} finally {
+			testExecutor.shutdown();
+		}
+	}
+	
+}
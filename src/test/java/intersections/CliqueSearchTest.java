@@ -0,0 +1,178 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CliqueSearchTest {
+
+	
+	//Tests for run(): 
+	@Test
+	public void testForNestedRectanglesClosedOnce() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(10, 10, 100, 100, 1); 
+		testStore.add(20, 20, 90, 90, 2); 
+		testStore.add(30, 30, 80, 80, 3); 
+		
+		ArrayList<String> testCliques = new ArrayList<String>(); 
+		new CliqueSearch(testStore, new AllPairsEngine()).run((minX, minY, maxX, maxY, members, size) -> {
+			int[] rows = Arrays.copyOf(members, size); 
+			Arrays.sort(rows);
+			testCliques.add(minX + "," + minY + "," + maxX + "," + maxY + Arrays.toString(rows)); 
+			return true; 
+		}); 
+		
+		testCliques.sort(null);
+		assertEquals(Arrays.asList("20,20,90,90[0, 1]", "30,30,80,80[0, 1, 2]"), testCliques);
+	}
+	
+	@Test
+	public void testForTouchingRectanglesSkipped() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(10, 10, 20, 20, 1); 
+		testStore.add(20, 10, 30, 20, 2); 
+		
+		int[] testCount = new int[1]; 
+		new CliqueSearch(testStore, new PlaneSweepEngine()).run((minX, minY, maxX, maxY, members, size) -> {
+			testCount[0]++; 
+			return true; 
+		}); 
+		
+		assertEquals(0, testCount[0]);
+	}
+	
+	@Test
+	public void testForStoppedSearch() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		for (int i = 0; i < 10; i++)
+			testStore.add(10 + i, 10 + i, 50 + i, 50 + i, i + 1); 
+		
+		int[] testCount = new int[1]; 
+		boolean completed = new CliqueSearch(testStore, new PlaneSweepEngine()).run((minX, minY, maxX, maxY, members, size) -> {
+			return ++testCount[0] < 3; 
+		}); 
+		
+		assertFalse(completed);
+		assertEquals(3, testCount[0]);
+	}
+	
+	@Test
+	public void testForStopCondition() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		for (int i = 0; i < 200; i++)
+			testStore.add(10 + i, 10 + i, 500 + i, 500 + i, i + 1); 
+		
+		int[] testCount = new int[1]; 
+		CliqueSearch testSearch = new CliqueSearch(testStore, new PlaneSweepEngine()); 
+		testSearch.setStopCondition(() -> true);
+		boolean completed = testSearch.run((minX, minY, maxX, maxY, members, size) -> {
+			testCount[0]++; 
+			return true; 
+		}); 
+		
+		assertFalse(completed);
+		assertEquals(0, testCount[0]);
+	}
+	
+	
+	@Test
+	public void testForMaxSize() throws Exception {
+		Random random = new Random(24); 
+		for (int test = 0; test < 30; test++) {
+			RectangleStore testStore = new RectangleStore(); 
+			for (int i = 0; i < 20; i++) {
+				int minX = random.nextInt(40); 
+				int minY = random.nextInt(40); 
+				testStore.add(minX, minY, minX + 1 + random.nextInt(30), minY + 1 + random.nextInt(30), i + 1); 
+			}
+			int maxSize = 2 + random.nextInt(3); 
+			
+			//Bounded search finds exactly the closed cliques within the bound: 
+			HashSet<String> expectedCliques = new HashSet<String>(); 
+			new CliqueSearch(testStore, new PlaneSweepEngine()).run((minX, minY, maxX, maxY, members, size) -> {
+				if (size <= maxSize)
+					expectedCliques.add(minX + "," + minY + "," + maxX + "," + maxY); 
+				return true; 
+			}); 
+			HashSet<String> testCliques = new HashSet<String>(); 
+			CliqueSearch testSearch = new CliqueSearch(testStore, new PlaneSweepEngine()); 
+			testSearch.setMaxSize(maxSize);
+			testSearch.run((minX, minY, maxX, maxY, members, size) -> {
+				assertTrue(size <= maxSize);
+				testCliques.add(minX + "," + minY + "," + maxX + "," + maxY); 
+				return true; 
+			}); 
+			
+			assertEquals(expectedCliques, testCliques);
+		}
+	}
+	
+	
+	//Tests for IntersectionReporter with clique mode: 
+	@Test
+	public void testForSameRegionsAsGenerations() throws Exception {
+		Random random = new Random(17); 
+		for (int test = 0; test < 50; test++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			for (int i = 0; i < 12; i++)
+				testRectangles.add(new Rectangle(5 + 5 * random.nextInt(8), 5 + 5 * random.nextInt(8), 5 + 5 * random.nextInt(8), 5 + 5 * random.nextInt(8), i + 1)); 
+			
+			HashSet<String> expectedRegions = new HashSet<String>(); 
+			for (Rectangle rectangle : new IntersectionReporter(testRectangles).getIntersections())
+				expectedRegions.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY()); 
+			
+			IntersectionReporter testReporter = new IntersectionReporter(testRectangles, new PlaneSweepEngine()); 
+			testReporter.setCliqueSearch(true);
+			HashSet<String> testRegions = new HashSet<String>(); 
+			ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+			for (Rectangle rectangle : testResults)
+				testRegions.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY()); 
+			
+			assertEquals(expectedRegions, testRegions);
+			assertEquals(testRegions.size(), testResults.size());
+		}
+	}
+	
+	@Test
+	public void testForOriginalExampleIntersections() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		testReporter.setCliqueSearch(true);
+		
+		HashSet<String> expectedResults = new HashSet<String>(Arrays.asList("140,160,210,20[1, 3]", "160,140,190,40[1, 4]", "140,200,230,60[2, 3]", 
+				"160,200,210,130[2, 4]", "160,160,230,100[3, 4]", "160,160,190,20[1, 3, 4]", "160,200,210,60[2, 3, 4]")); 
+		HashSet<String> testResults = new HashSet<String>(); 
+		for (Rectangle rectangle : testReporter.getIntersections())
+			testResults.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY() + rectangle.getContributors()); 
+		
+		assertEquals(expectedResults, testResults);
+		assertFalse(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForCliqueIntersectionLimit() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 25; i++)
+			testRectangles.add(new Rectangle(15, 15, 10 * (i + 1), 10 * (i + 1), i + 1)); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		testReporter.setCliqueSearch(true);
+		testReporter.setMaxIntersections(10);
+		
+		assertEquals(10, testReporter.getIntersections().size());
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+}
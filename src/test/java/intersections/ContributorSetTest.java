@@ -0,0 +1,105 @@
+package intersections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ContributorSetTest {
+
+	
+	//Tests for add(): 
+	@Test
+	public void testForNegativeId() throws Exception {
+		ContributorSet contributors = new ContributorSet(); 
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			contributors.add(-1); 
+		});
+	}
+	
+	@Test
+	public void testForZeroId() throws Exception {
+		ContributorSet contributors = ContributorSet.of(0, 5); 
+		
+		assertTrue(contributors.contains(0));
+		assertEquals(new ArrayList<Integer>(Arrays.asList(0, 5)), contributors.toList());
+	}
+	
+	@Test
+	public void testForLargeIds() throws Exception {
+		ContributorSet contributors = ContributorSet.of(Integer.MAX_VALUE, 2000000000, 7); 
+		ContributorSet copied = contributors.copy(); 
+		copied.addAll(ContributorSet.of(100, Integer.MAX_VALUE - 1)); 
+		
+		assertEquals(new ArrayList<Integer>(Arrays.asList(7, 2000000000, Integer.MAX_VALUE)), contributors.toList());
+		assertEquals(new ArrayList<Integer>(Arrays.asList(7, 100, 2000000000, Integer.MAX_VALUE - 1, Integer.MAX_VALUE)), copied.toList());
+		assertTrue(copied.containsAll(contributors));
+		assertFalse(contributors.containsAll(copied));
+		assertEquals(5, contributors.unionSize(copied));
+		assertEquals(-1, contributors.nextContributor(Integer.MAX_VALUE + 1));
+	}
+	
+	@Test
+	public void testForSortedIdsAcrossMaskAndWords() throws Exception {
+		ContributorSet contributors = ContributorSet.of(200, 3, 64, 65, 1, 129); 
+		
+		ArrayList<Integer> expectedList = new ArrayList<Integer>(Arrays.asList(1, 3, 64, 65, 129, 200)); 
+		assertEquals(expectedList, contributors.toList());
+		assertEquals(6, contributors.size());
+		assertTrue(contributors.contains(129));
+		assertFalse(contributors.contains(128));
+	}
+	
+	
+	//Tests for addAll(): 
+	@Test
+	public void testForUnion() throws Exception {
+		ContributorSet contributors1 = ContributorSet.of(1, 2, 70); 
+		ContributorSet contributors2 = ContributorSet.of(2, 3, 300); 
+		
+		int unionSize = contributors1.unionSize(contributors2); 
+		contributors1.addAll(contributors2);
+		
+		assertEquals(ContributorSet.of(1, 2, 3, 70, 300), contributors1);
+		assertEquals(5, unionSize);
+	}
+	
+	
+	//Tests for containsAll(): 
+	@Test
+	public void testForSubset() throws Exception {
+		ContributorSet contributors = ContributorSet.of(1, 3, 4, 100); 
+		
+		assertTrue(contributors.containsAll(ContributorSet.of(1, 4)));
+		assertTrue(contributors.containsAll(ContributorSet.of(100)));
+		assertTrue(contributors.containsAll(new ContributorSet()));
+	}
+	
+	@Test
+	public void testForNonSubset() throws Exception {
+		ContributorSet contributors = ContributorSet.of(1, 3, 4); 
+		
+		assertFalse(contributors.containsAll(ContributorSet.of(1, 2)));
+		assertFalse(contributors.containsAll(ContributorSet.of(3, 65)));
+	}
+	
+	
+	//Tests for equals(): 
+	@Test
+	public void testForEqualSetsBuiltInDifferentOrder() throws Exception {
+		ContributorSet contributors1 = ContributorSet.of(5, 90, 2); 
+		ContributorSet contributors2 = ContributorSet.of(2, 5); 
+		contributors2.addAll(ContributorSet.of(90));
+		
+		assertEquals(contributors1, contributors2);
+		assertEquals(contributors1.hashCode(), contributors2.hashCode());
+		assertFalse(contributors1.equals(ContributorSet.of(2, 5)));
+	}
+	
+}
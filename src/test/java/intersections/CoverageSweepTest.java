@@ -0,0 +1,81 @@
+package intersections;
+
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CoverageSweepTest {
+
+	//Tests for run(): 
+	@Test
+	public void testForEmptyStore() throws Exception {
+		assertArrayEquals(new long[] {0, 0, 0}, new CoverageSweep(new RectangleStore(), 2).run());
+	}
+	
+	@Test
+	public void testForTouchingRectangles() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(0, 0, 10, 10, 1); 
+		testStore.add(10, 0, 20, 10, 2); 
+		testStore.add(0, 10, 10, 20, 3); 
+		
+		assertArrayEquals(new long[] {0, 300, 0}, new CoverageSweep(testStore, 2).run());
+	}
+	
+	@Test
+	public void testForNestedRectangles() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(0, 0, 10, 10, 1); 
+		testStore.add(2, 2, 8, 8, 2); 
+		testStore.add(4, 4, 6, 6, 3); 
+		
+		assertArrayEquals(new long[] {0, 100, 36, 4, 0}, new CoverageSweep(testStore, 4).run());
+	}
+	
+	@Test
+	public void testForRandomStores() throws Exception {
+		Random random = new Random(21); 
+		for (int trial = 0; trial < 50; trial++) {
+			RectangleStore testStore = new RectangleStore(); 
+			int[][] depth = new int[60][60]; 
+			int count = 1 + random.nextInt(20); 
+			for (int row = 0; row < count; row++) {
+				int minX = random.nextInt(50); 
+				int minY = random.nextInt(50); 
+				int maxX = minX + 1 + random.nextInt(10); 
+				int maxY = minY + 1 + random.nextInt(10); 
+				testStore.add(minX, minY, maxX, maxY, row + 1); 
+				for (int x = minX; x < maxX; x++) {
+					for (int y = minY; y < maxY; y++)
+						depth[x][y]++; 
+				}
+			}
+			
+			//Count unit cells covered at least k times: 
+			int maxDepth = 1 + random.nextInt(6); 
+			long[] expectedAreas = new long[maxDepth + 1]; 
+			for (int x = 0; x < 60; x++) {
+				for (int y = 0; y < 60; y++) {
+					for (int k = 1; k <= Math.min(depth[x][y], maxDepth); k++)
+						expectedAreas[k]++; 
+				}
+			}
+			
+			assertArrayEquals(expectedAreas, new CoverageSweep(testStore, maxDepth).run());
+		}
+	}
+	
+	@Test
+	public void testForLargeCoordinates() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(-1000000000, -1000000000, 1000000000, 1000000000, 1); 
+		testStore.add(0, 0, 1000000000, 2000000000, 2); 
+		
+		assertArrayEquals(new long[] {0, 2000000000L * 2000000000L + 1000000000L * 1000000000L, 1000000000L * 1000000000L}, 
+			new CoverageSweep(testStore, 2).run());
+	}
+	
+}
@@ -0,0 +1,47 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CsvIntersectionSinkTest {
+
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullWriter() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new CsvIntersectionSink(null); 
+		});
+	}
+	
+	
+	//Tests for accept() and flush(): 
+	@Test
+	public void testForHeaderAndRows() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		CsvIntersectionSink testSink = new CsvIntersectionSink(testWriter); 
+		
+		testSink.accept(140, 160, 210, 20, ContributorSet.of(1, 3));
+		testSink.accept(160, 200, 210, 130, ContributorSet.of(2, 3, 4));
+		testSink.flush();
+		
+		assertEquals("x,y,delta_x,delta_y,contributors\n"
+				+ "140,160,210,20,1;3\n"
+				+ "160,200,210,130,2;3;4\n", testWriter.toString());
+	}
+	
+	@Test
+	public void testForEmptyOutput() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		CsvIntersectionSink testSink = new CsvIntersectionSink(testWriter); 
+		
+		testSink.flush();
+		
+		assertEquals("x,y,delta_x,delta_y,contributors\n", testWriter.toString());
+	}
+	
+}
@@ -0,0 +1,86 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DepthSweepTest {
+
+	//Tests for run(): 
+	@Test
+	public void testForEmptyStore() throws Exception {
+		assertEquals(0, new DepthSweep(new RectangleStore()).run().length);
+	}
+	
+	@Test
+	public void testForTouchingRectangles() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(0, 0, 10, 10, 1); 
+		testStore.add(10, 0, 20, 10, 2); 
+		testStore.add(0, 10, 10, 20, 3); 
+		
+		assertEquals(1, new DepthSweep(testStore).run().length);
+	}
+	
+	@Test
+	public void testForLeftmostTie() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(50, 0, 60, 10, 1); 
+		testStore.add(55, 5, 65, 15, 2); 
+		testStore.add(0, 0, 10, 10, 3); 
+		testStore.add(5, 5, 15, 15, 4); 
+		
+		int[] testRows = new DepthSweep(testStore).run(); 
+		
+		assertEquals(2, testRows.length);
+		assertEquals(2, testRows[0]);
+		assertEquals(3, testRows[1]);
+	}
+	
+	@Test
+	public void testForRandomStores() throws Exception {
+		Random random = new Random(22); 
+		for (int trial = 0; trial < 50; trial++) {
+			RectangleStore testStore = new RectangleStore(); 
+			int[][] depth = new int[60][60]; 
+			int count = 1 + random.nextInt(30); 
+			for (int row = 0; row < count; row++) {
+				int minX = random.nextInt(50); 
+				int minY = random.nextInt(50); 
+				int maxX = minX + 1 + random.nextInt(10); 
+				int maxY = minY + 1 + random.nextInt(10); 
+				testStore.add(minX, minY, maxX, maxY, row + 1); 
+				for (int x = minX; x < maxX; x++) {
+					for (int y = minY; y < maxY; y++)
+						depth[x][y]++; 
+				}
+			}
+			int expectedDepth = 0; 
+			for (int x = 0; x < 60; x++) {
+				for (int y = 0; y < 60; y++)
+					expectedDepth = Math.max(expectedDepth, depth[x][y]); 
+			}
+			
+			//Every returned rectangle shares the region, whose unit cells all have the maximum depth: 
+			int[] testRows = new DepthSweep(testStore).run(); 
+			assertEquals(expectedDepth, testRows.length);
+			int minX = Integer.MIN_VALUE, minY = Integer.MIN_VALUE, maxX = Integer.MAX_VALUE, maxY = Integer.MAX_VALUE; 
+			for (int row : testRows) {
+				minX = Math.max(minX, testStore.getMinX(row)); 
+				minY = Math.max(minY, testStore.getMinY(row)); 
+				maxX = Math.min(maxX, testStore.getMaxX(row)); 
+				maxY = Math.min(maxY, testStore.getMaxY(row)); 
+			}
+			assertTrue(minX < maxX && minY < maxY);
+			for (int x = minX; x < maxX; x++) {
+				for (int y = minY; y < maxY; y++)
+					assertEquals(expectedDepth, depth[x][y]);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,157 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalReporterTest {
+
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullList() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new IncrementalReporter(null, 64); 
+		});
+	}
+	
+	@Test
+	public void testForInvalidCellSize() throws Exception {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new IncrementalReporter(0); 
+		});
+	}
+	
+	
+	//Tests for addRectangle(): 
+	@Test
+	public void testForOriginalExample() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(originalRectangles(), 64); 
+		
+		assertEquals(describe(clique(originalRectangles())), describe(testReporter.getIntersections()));
+		assertEquals(4, testReporter.getRectangleCount());
+	}
+	
+	@Test
+	public void testForAddDelta() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(); 
+		testReporter.addRectangle(new Rectangle(10, 10, 1, 1, 1)); 
+		
+		IntersectionDelta testDelta = testReporter.addRectangle(new Rectangle(10, 10, 6, 6, 2)); 
+		
+		assertEquals(1, testDelta.getAdded().size());
+		assertTrue(testDelta.getRemoved().isEmpty());
+		assertEquals("6,6,5,5:[1, 2]", describe(testDelta.getAdded()).iterator().next());
+		
+		//Rectangle covering the intersection replaces it with a version holding 3 contributors: 
+		testDelta = testReporter.addRectangle(new Rectangle(20, 20, 1, 1, 3)); 
+		
+		assertTrue(describe(testDelta.getRemoved()).contains("6,6,5,5:[1, 2]"));
+		assertTrue(describe(testDelta.getAdded()).contains("6,6,5,5:[1, 2, 3]"));
+	}
+	
+	@Test
+	public void testForTouchingRectangles() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(); 
+		testReporter.addRectangle(new Rectangle(10, 10, 1, 1, 1)); 
+		
+		assertTrue(testReporter.addRectangle(new Rectangle(10, 10, 11, 1, 2)).isEmpty());
+	}
+	
+	@Test
+	public void testForDuplicateId() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(originalRectangles(), 64); 
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testReporter.addRectangle(new Rectangle(5, 5, 1, 1, 4)); 
+		});
+	}
+	
+	
+	//Tests for removeRectangle(): 
+	@Test
+	public void testForRemoveDelta() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(originalRectangles(), 64); 
+		
+		IntersectionDelta testDelta = testReporter.removeRectangle(3); 
+		
+		ArrayList<Rectangle> remaining = originalRectangles(); 
+		remaining.remove(2); 
+		assertEquals(describe(clique(remaining)), describe(testReporter.getIntersections()));
+		assertTrue(testDelta.getAdded().isEmpty());
+		assertEquals(5, testDelta.getRemoved().size());
+	}
+	
+	@Test
+	public void testForUnknownId() throws Exception {
+		IncrementalReporter testReporter = new IncrementalReporter(); 
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testReporter.removeRectangle(1); 
+		});
+	}
+	
+	@Test
+	public void testForRandomEdits() throws Exception {
+		Random random = new Random(19); 
+		for (int trial = 0; trial < 20; trial++) {
+			IncrementalReporter testReporter = new IncrementalReporter(1 + random.nextInt(40)); 
+			ArrayList<Rectangle> current = new ArrayList<Rectangle>(); 
+			HashSet<String> tracked = new HashSet<String>(); 
+			int nextId = 1; 
+			
+			for (int edit = 0; edit < 60; edit++) {
+				IntersectionDelta testDelta; 
+				if (current.isEmpty() || random.nextInt(3) > 0) {
+					Rectangle rectangle = new Rectangle(1 + random.nextInt(30), 1 + random.nextInt(30), 1 + random.nextInt(50), 1 + random.nextInt(50), nextId++); 
+					current.add(rectangle); 
+					testDelta = testReporter.addRectangle(rectangle); 
+				} else {
+					Rectangle rectangle = current.remove(random.nextInt(current.size())); 
+					testDelta = testReporter.removeRectangle(rectangle.getId()); 
+				}
+				
+				//Applying the delta to the tracked set gives the new set: 
+				tracked.removeAll(describe(testDelta.getRemoved())); 
+				tracked.addAll(describe(testDelta.getAdded())); 
+				HashSet<String> expected = describe(clique(current)); 
+				assertEquals(expected, describe(testReporter.getIntersections()));
+				assertEquals(expected, tracked);
+				assertEquals(expected.size(), testReporter.size());
+			}
+		}
+	}
+	
+	
+	private static HashSet<String> describe(List<Rectangle> rectangles) {
+		HashSet<String> descriptions = new HashSet<String>(); 
+		for (Rectangle rectangle : rectangles)
+			descriptions.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY() 
+				+ ":" + rectangle.getContributorSet().toList()); 
+		return descriptions; 
+	}
+	
+	private static ArrayList<Rectangle> clique(ArrayList<Rectangle> rectangles) {
+		IntersectionReporter reporter = new IntersectionReporter(rectangles); 
+		reporter.setCliqueSearch(true);
+		return reporter.getIntersections(); 
+	}
+	
+	/**
+	 * Input rectangles of the original example, numbered 1 to 4. 
+	 * */
+	private static ArrayList<Rectangle> originalRectangles() {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		return testRectangles; 
+	}
+	
+}
@@ -0,0 +1,74 @@
+package intersections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntersectionIndexTest {
+
+	
+	//Tests for isDuplicate(): 
+	@Test
+	public void testForUniqueBasedOnCoordinates() throws Exception {
+		IntersectionIndex testIndex = new IntersectionIndex(); 
+		testIndex.add(40, 100, 20, 30, ContributorSet.of(1, 2));
+		
+		assertFalse(testIndex.isDuplicate(50, 100, 30, 30, ContributorSet.of(1, 2)));
+	}
+	
+	@Test
+	public void testForUniqueBasedOnContributors() throws Exception {
+		IntersectionIndex testIndex = new IntersectionIndex(); 
+		testIndex.add(40, 100, 20, 30, ContributorSet.of(1, 2));
+		
+		assertFalse(testIndex.isDuplicate(40, 100, 20, 30, ContributorSet.of(1, 3)));
+	}
+	
+	@Test
+	public void testForNonUniqueBasedOnContributors() throws Exception {
+		IntersectionIndex testIndex = new IntersectionIndex(); 
+		testIndex.add(40, 100, 20, 30, ContributorSet.of(1, 2));
+		testIndex.add(40, 100, 20, 30, ContributorSet.of(1, 3, 4, 90));
+		
+		assertTrue(testIndex.isDuplicate(40, 100, 20, 30, ContributorSet.of(1, 2)));
+		assertTrue(testIndex.isDuplicate(40, 100, 20, 30, ContributorSet.of(3, 90)));
+		assertTrue(testIndex.isDuplicate(40, 100, 20, 30, new ContributorSet()));
+		assertFalse(testIndex.isDuplicate(40, 100, 20, 30, ContributorSet.of(2, 3)));
+	}
+	
+	@Test
+	public void testForSameResultAsLinearScan() throws Exception {
+		Random random = new Random(5); 
+		IntersectionIndex testIndex = new IntersectionIndex(); 
+		ArrayList<Rectangle> indexedRectangles = new ArrayList<Rectangle>(); 
+		
+		for (int i = 0; i < 3000; i++) {
+			Rectangle candidate = new Rectangle(1 + random.nextInt(3), 1 + random.nextInt(3), 1 + random.nextInt(4), 1 + random.nextInt(4)); 
+			int contributorCount = random.nextInt(4); 
+			for (int j = 0; j < contributorCount; j++)
+				candidate.getContributorSet().add(1 + random.nextInt(6));
+			
+			//Linear scan as done before indexing: 
+			boolean expectedUnique = true; 
+			for (Rectangle rectangle : indexedRectangles) {
+				if (!rectangle.isIntersectionUnique(candidate))
+					expectedUnique = false; 
+			}
+			
+			boolean testUnique = !testIndex.isDuplicate(candidate.getX(), candidate.getY(), candidate.getDeltaX(), candidate.getDeltaY(), candidate.getContributorSet()); 
+			assertEquals(expectedUnique, testUnique);
+			
+			if (testUnique) {
+				indexedRectangles.add(candidate); 
+				testIndex.add(candidate.getX(), candidate.getY(), candidate.getDeltaX(), candidate.getDeltaY(), candidate.getContributorSet());
+			}
+		}
+		assertEquals(indexedRectangles.size(), testIndex.size());
+	}
+	
+}
@@ -0,0 +1,148 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IntersectionQueryTest {
+
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullList() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new IntersectionQuery(null, new ArrayList<Rectangle>()); 
+		});
+	}
+	
+	@Test
+	public void testForEmptyLists() throws Exception {
+		IntersectionQuery testQuery = new IntersectionQuery(new ArrayList<Rectangle>(), new ArrayList<Rectangle>()); 
+		
+		assertEquals(0, testQuery.size());
+		assertNull(testQuery.findDeepest());
+		assertNull(testQuery.findDeepestAt(1, 1));
+		assertTrue(testQuery.findIntersectionsAt(1, 1).isEmpty());
+		assertTrue(testQuery.findInputsAt(1, 1).isEmpty());
+	}
+	
+	
+	//Tests for findIntersectionsAt() and findInputsAt(): 
+	@Test
+	public void testForPointStabbing() throws Exception {
+		ArrayList<Rectangle> inputs = originalRectangles(); 
+		ArrayList<Rectangle> intersections = new IntersectionReporter(inputs).getIntersections(); 
+		IntersectionQuery testQuery = new IntersectionQuery(inputs, intersections); 
+		
+		//Point (150, 200) is covered by rectangles 2 and 3 only: 
+		ArrayList<Rectangle> covering = testQuery.findInputsAt(150, 200); 
+		assertEquals(2, covering.size());
+		assertEquals(2, covering.get(0).getId());
+		assertEquals(3, covering.get(1).getId());
+		assertEquals(1, testQuery.findIntersectionsAt(150, 200).size());
+		for (Rectangle rectangle : testQuery.findIntersectionsAt(150, 200))
+			assertTrue(ContributorSet.of(2, 3).containsAll(rectangle.getContributorSet()));
+		
+		//Point outside every rectangle: 
+		assertTrue(testQuery.findInputsAt(1000, 1000).isEmpty());
+		assertTrue(testQuery.findIntersectionsAt(1000, 1000).isEmpty());
+	}
+	
+	@Test
+	public void testForClosedEdges() throws Exception {
+		ArrayList<Rectangle> inputs = new ArrayList<Rectangle>(); 
+		inputs.add(new Rectangle(10, 10, 1, 1, 1)); 
+		IntersectionQuery testQuery = new IntersectionQuery(inputs, new ArrayList<Rectangle>()); 
+		
+		assertEquals(1, testQuery.findInputsAt(11, 11).size());
+		assertEquals(1, testQuery.findInputsAt(1, 6).size());
+		assertTrue(testQuery.findInputsAt(12, 11).isEmpty());
+	}
+	
+	
+	//Tests for findDeepest() and getDepth(): 
+	@Test
+	public void testForDeepest() throws Exception {
+		ArrayList<Rectangle> inputs = originalRectangles(); 
+		IntersectionReporter reporter = new IntersectionReporter(inputs); 
+		reporter.setCliqueSearch(true);
+		ArrayList<Rectangle> intersections = reporter.getIntersections(); 
+		IntersectionQuery testQuery = new IntersectionQuery(inputs, intersections); 
+		
+		//In clique mode the depth is the contributor count: 
+		int maxSize = 0; 
+		for (Rectangle rectangle : intersections) {
+			assertEquals(rectangle.getContributorSet().size(), testQuery.getDepth(rectangle));
+			maxSize = Math.max(maxSize, rectangle.getContributorSet().size()); 
+		}
+		assertEquals(maxSize, testQuery.getDepth(testQuery.findDeepest()));
+		assertEquals(-1, testQuery.getDepth(new Rectangle(1, 1, 1, 1)));
+	}
+	
+	@Test
+	public void testForRandomLayouts() throws Exception {
+		Random random = new Random(20); 
+		for (int trial = 0; trial < 20; trial++) {
+			ArrayList<Rectangle> inputs = new ArrayList<Rectangle>(); 
+			for (int id = 1; id <= 25; id++)
+				inputs.add(new Rectangle(1 + random.nextInt(40), 1 + random.nextInt(40), 1 + random.nextInt(80), 1 + random.nextInt(80), id)); 
+			IntersectionReporter reporter = new IntersectionReporter(inputs); 
+			reporter.setCliqueSearch(true);
+			ArrayList<Rectangle> intersections = reporter.getIntersections(); 
+			IntersectionQuery testQuery = new IntersectionQuery(inputs, intersections); 
+			
+			for (int probe = 0; probe < 50; probe++) {
+				int x = random.nextInt(130); 
+				int y = random.nextInt(130); 
+				int width = random.nextInt(20); 
+				int height = random.nextInt(20); 
+				
+				assertEquals(scan(inputs, x, y, x, y), testQuery.findInputsAt(x, y));
+				assertEquals(scan(intersections, x, y, x, y), testQuery.findIntersectionsAt(x, y));
+				assertEquals(scan(intersections, x, y, x + width, y + height), testQuery.findIntersections(x, y, x + width, y + height));
+				
+				//Deepest intersection at the point is the first covering intersection with the most contributors: 
+				Rectangle expected = null; 
+				for (Rectangle rectangle : scan(intersections, x, y, x, y)) {
+					if (expected == null || rectangle.getContributorSet().size() > expected.getContributorSet().size())
+						expected = rectangle; 
+				}
+				assertSame(expected, testQuery.findDeepestAt(x, y));
+			}
+		}
+	}
+	
+	
+	/**
+	 * Linear scan for the rectangles overlapping a window, in list order. 
+	 * */
+	private static ArrayList<Rectangle> scan(ArrayList<Rectangle> rectangles, int minX, int minY, int maxX, int maxY) {
+		ArrayList<Rectangle> found = new ArrayList<Rectangle>(); 
+		for (Rectangle rectangle : rectangles) {
+			if (!(rectangle.getX() > maxX || rectangle.getX() + rectangle.getDeltaX() < minX 
+					|| rectangle.getY() > maxY || rectangle.getY() + rectangle.getDeltaY() < minY))
+				found.add(rectangle); 
+		}
+		return found; 
+	}
+	
+	/**
+	 * Input rectangles of the original example, numbered 1 to 4. 
+	 * */
+	private static ArrayList<Rectangle> originalRectangles() {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		return testRectangles; 
+	}
+	
+}
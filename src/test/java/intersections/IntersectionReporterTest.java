@@ -4,6 +4,11 @@ package intersections;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 
 import org.junit.jupiter.api.Assertions;
@@ -287,4 +292,534 @@ public class IntersectionReporterTest {
 		});
 	}
 	
+	
+	
+	//Tests for intersection guards: 
+	@Test
+	public void testForMaxIntersectionsGuard() throws Exception {
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		testReporter.setMaxIntersections(3);
+		
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertTrue(testResults.size() == 3);
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForMaxGenerationsGuard() throws Exception {
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		testReporter.setMaxGenerations(1);
+		
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertTrue(testResults.size() == 5);
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForNoGuardReached() throws Exception {
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		testReporter.setMaxIntersections(7);
+		
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertTrue(testResults.size() == 7);
+		assertFalse(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForInvalidGuard() throws Exception {
+		ArrayList<Rectangle> testList = new ArrayList<Rectangle>();
+		IntersectionReporter testReporter = new IntersectionReporter(testList);
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testReporter.setMaxIntersections(0); 
+		});
+	}
+	
+	@Test
+	public void testForDeadlineGuard() throws Exception {
+		//Dense input with millions of intersections, far more than the deadline allows: 
+		Random random = new Random(17); 
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int id = 1; id <= 1500; id++)
+			testRectangles.add(new Rectangle(500 + random.nextInt(500), 500 + random.nextInt(500), 1 + random.nextInt(500), 1 + random.nextInt(500), id)); 
+		
+		for (boolean cliqueSearch : new boolean[] {false, true}) {
+			IntersectionReporter testReporter = new IntersectionReporter(testRectangles, new PlaneSweepEngine()); 
+			testReporter.setCliqueSearch(cliqueSearch);
+			long start = System.nanoTime(); 
+			testReporter.setDeadline(start + 200000000L);
+			
+			testReporter.reportIntersections(new IntersectionSink() {
+				public void accept(int x, int y, int deltaX, int deltaY, ContributorSet contributors) {}
+				public void flush() {}
+			}); 
+			
+			assertTrue(testReporter.isLimitReached());
+			assertTrue(System.nanoTime() - start < 5000000000L);
+		}
+	}
+	
+	@Test
+	public void testForDeadlineGuardWithoutPairs() throws Exception {
+		//Disjoint input: no pair is found, but all-pairs engines take many seconds to test every pair: 
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int id = 1; id <= 200000; id++)
+			testRectangles.add(new Rectangle(1, 1, 1 + 3 * (id % 1000), 1 + 3 * (id / 1000), id)); 
+		
+		IntersectionEngine[] testEngines = {new AllPairsEngine(), new ParallelEngine(), new PlaneSweepEngine(), new RTreeEngine(), new GridEngine()}; 
+		for (int k = 0; k < testEngines.length; k++) {
+			IntersectionReporter testReporter = new IntersectionReporter(testRectangles, testEngines[k]); 
+			long start = System.nanoTime(); 
+			testReporter.setDeadline(start + 100000000L);
+			
+			testReporter.getIntersections(); 
+			
+			//The sequential sweeps may finish first, the all-pairs engines must stop at the deadline: 
+			assertTrue(System.nanoTime() - start < 5000000000L);
+			if (k < 2)
+				assertTrue(testReporter.isLimitReached());
+		}
+	}
+	
+	@Test
+	public void testForInterruptedSearch() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		
+		Thread.currentThread().interrupt();
+		try {
+			assertTrue(testReporter.getIntersections().isEmpty());
+			assertTrue(testReporter.isLimitReached());
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted(); 
+		}
+	}
+	
+	
+	//Zero Id Case: Rectangle accepts id 0, so contributor sets hold it too: 
+	@Test
+	public void testForZeroId() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(10, 10, 10, 10, 0)); 
+		testRectangles.add(new Rectangle(10, 10, 15, 15, 1)); 
+		
+		for (boolean cliqueSearch : new boolean[] {false, true}) {
+			IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+			testReporter.setCliqueSearch(cliqueSearch);
+			ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+			
+			assertTrue(testResults.size() == 1);
+			assertTrue(testResults.get(0).getContributorSet().equals(ContributorSet.of(0, 1)));
+		}
+	}
+	
+	
+	//Touching Case: Rectangles sharing only an edge have no intersection: 
+	@Test
+	public void testForTouchingRectangles() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(100, 100, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(100, 100, 200, 100, 2)); 
+		testRectangles.add(new Rectangle(100, 100, 150, 150, 3)); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertTrue(testResults.size() == 2);
+		assertTrue(testResults.get(0).getContributors().get(0) == 1);
+		assertTrue(testResults.get(1).getContributors().get(0) == 2);
+	}
+	
+	
+	//Tests for generation-by-generation driver: 
+	@Test
+	public void testForWholeGenerationFrontier() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(100, 100, 10, 10, 1)); 
+		testRectangles.add(new Rectangle(100, 100, 60, 10, 2)); 
+		testRectangles.add(new Rectangle(100, 100, 35, 60, 3)); 
+		testRectangles.add(new Rectangle(50, 50, 120, 150, 4)); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		//Intersection of 1, 2 and 3 is built from an earlier pair than the last pair (3, 4) of generation 1: 
+		assertTrue(testResults.size() == 5);
+		assertTrue(testResults.get(4).getContributors().size() == 3);
+		assertTrue(testResults.get(4).getX() == 60 && testResults.get(4).getY() == 60);
+		assertTrue(testResults.get(4).getDeltaX() == 50 && testResults.get(4).getDeltaY() == 50);
+	}
+	
+	@Test
+	public void testForGenerationListener() throws Exception {
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+		ArrayList<Integer> generationCounts = new ArrayList<Integer>(); 
+		testReporter.setGenerationListener((generation, intersections, elapsedNanos, usedMemory) -> {
+			assertTrue(generation == generationCounts.size() + 1);
+			assertTrue(elapsedNanos >= 0 && usedMemory > 0);
+			generationCounts.add(intersections); 
+		});
+		
+		testReporter.getIntersections(); 
+		
+		assertTrue(generationCounts.size() == 3);
+		assertTrue(generationCounts.get(0) == 5);
+		assertTrue(generationCounts.get(1) == 2);
+		assertTrue(generationCounts.get(2) == 0);
+	}
+	
+	
+	//Tests for reportIntersections(): 
+	@Test
+	public void testForReportIntersections() throws Exception {
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(originalRectangles()).getIntersections(); 
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		ArrayList<Rectangle> testResults = new ArrayList<Rectangle>(); 
+		
+		int testCount = testReporter.reportIntersections((x, y, deltaX, deltaY, contributors) -> 
+			testResults.add(new Rectangle(deltaX, deltaY, x, y, contributors.copy()))); 
+		
+		assertTrue(testCount == expectedResults.size());
+		assertTrue(testResults.size() == expectedResults.size());
+		for (int i = 0; i < testResults.size(); i++) {
+			assertTrue(testResults.get(i).getX() == expectedResults.get(i).getX());
+			assertTrue(testResults.get(i).getY() == expectedResults.get(i).getY());
+			assertTrue(testResults.get(i).getDeltaX() == expectedResults.get(i).getDeltaX());
+			assertTrue(testResults.get(i).getDeltaY() == expectedResults.get(i).getDeltaY());
+			assertTrue(testResults.get(i).getContributorSet().equals(expectedResults.get(i).getContributorSet()));
+		}
+	}
+	
+	@Test
+	public void testForReportIntersectionsInCliqueMode() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setCliqueSearch(true);
+		ArrayList<ContributorSet> testContributors = new ArrayList<ContributorSet>(); 
+		
+		int testCount = testReporter.reportIntersections((x, y, deltaX, deltaY, contributors) -> testContributors.add(contributors.copy())); 
+		
+		assertTrue(testCount == testContributors.size());
+		assertTrue(testContributors.contains(ContributorSet.of(2, 3, 4)));
+	}
+	
+	@Test
+	public void testForReportIntersectionsLimit() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setMaxIntersections(3);
+		
+		int testCount = testReporter.reportIntersections((x, y, deltaX, deltaY, contributors) -> { }); 
+		
+		assertTrue(testCount == 3);
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	@Test
+	public void testForNullSink() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			testReporter.reportIntersections(null); 
+		});
+	}
+	
+	
+	//Tests for setMaxContributors(): 
+	@Test
+	public void testForMaxContributors() throws Exception {
+		Random random = new Random(24); 
+		for (int trial = 0; trial < 20; trial++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			for (int id = 1; id <= 14; id++) 
+				testRectangles.add(new Rectangle(10 + random.nextInt(30), 10 + random.nextInt(30), 1 + random.nextInt(30), 1 + random.nextInt(30), id)); 
+			int maxContributors = 2 + random.nextInt(3); 
+			IntersectionReporter testReporter = new IntersectionReporter(testRectangles); 
+			testReporter.setMaxContributors(maxContributors);
+			ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+			
+			//Every result is within the bound, and every clique mode region within the bound is found: 
+			for (Rectangle rectangle : testResults) 
+				assertTrue(rectangle.getContributorSet().size() <= maxContributors);
+			IntersectionReporter cliqueReporter = new IntersectionReporter(testRectangles); 
+			cliqueReporter.setCliqueSearch(true);
+			for (Rectangle clique : cliqueReporter.getIntersections()) {
+				boolean found = false; 
+				for (Rectangle rectangle : testResults) 
+					found |= sameRegion(rectangle, clique); 
+				assertTrue(found || clique.getContributorSet().size() > maxContributors);
+			}
+			assertFalse(testReporter.isLimitReached());
+		}
+	}
+	
+	@Test
+	public void testForUnboundedMaxContributors() throws Exception {
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(originalRectangles()).getIntersections(); 
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setMaxContributors(4);
+		ArrayList<Rectangle> testResults = testReporter.getIntersections(); 
+		
+		assertTrue(testResults.size() == expectedResults.size());
+		for (int i = 0; i < testResults.size(); i++) 
+			assertTrue(sameIntersection(testResults.get(i), expectedResults.get(i)));
+	}
+	
+	@Test
+	public void testForMaxContributorsInCliqueMode() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setCliqueSearch(true);
+		testReporter.setMaxContributors(2);
+		
+		assertTrue(testReporter.getIntersections().size() == 5);
+		for (Rectangle rectangle : testReporter.getIntersections()) 
+			assertTrue(rectangle.getContributorSet().size() == 2);
+		assertTrue(testReporter.computeStats().getCount(3) == 0);
+	}
+	
+	@Test
+	public void testForInvalidMaxContributors() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testReporter.setMaxContributors(1);
+		});
+	}
+	
+	
+	//Tests for iterator() and stream(): 
+	@Test
+	public void testForIterator() throws Exception {
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(originalRectangles()).getIntersections(); 
+		
+		Iterator<Rectangle> testIterator = new IntersectionReporter(originalRectangles()).iterator(); 
+		for (Rectangle expected : expectedResults) {
+			assertTrue(testIterator.hasNext());
+			assertTrue(sameIntersection(testIterator.next(), expected));
+		}
+		assertFalse(testIterator.hasNext());
+		Assertions.assertThrows(NoSuchElementException.class, () -> {
+			testIterator.next(); 
+		});
+	}
+	
+	@Test
+	public void testForLazyIterator() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		int[] testGenerations = new int[1]; 
+		testReporter.setGenerationListener((generation, count, nanos, memory) -> testGenerations[0]++); 
+		
+		//First intersection only needs the initial generation: 
+		Iterator<Rectangle> testIterator = testReporter.iterator(); 
+		assertTrue(testGenerations[0] == 0);
+		testIterator.next(); 
+		assertTrue(testGenerations[0] == 1);
+		
+		//Results found by the iterator are not searched again: 
+		assertTrue(testReporter.getIntersections().size() == 7);
+		int generations = testGenerations[0]; 
+		assertTrue(testReporter.getIntersections().size() == 7);
+		assertTrue(testGenerations[0] == generations);
+	}
+	
+	@Test
+	public void testForStreamShortCircuit() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		int[] testGenerations = new int[1]; 
+		testReporter.setGenerationListener((generation, count, nanos, memory) -> testGenerations[0]++); 
+		
+		assertTrue(testReporter.stream().limit(3).count() == 3);
+		assertTrue(testReporter.stream().anyMatch(rectangle -> rectangle.getContributorSet().size() == 2));
+		assertTrue(testGenerations[0] == 1);
+		
+		assertTrue(testReporter.stream().anyMatch(rectangle -> rectangle.getContributorSet().size() == 3));
+		assertTrue(testGenerations[0] == 2);
+	}
+	
+	@Test
+	public void testForParallelStream() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < 3000; i++) 
+			testRectangles.add(new Rectangle(15, 15, 10 * (i + 1), 10 * (i + 1), i + 1)); 
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(testRectangles).getIntersections(); 
+		
+		List<Rectangle> testResults = new IntersectionReporter(testRectangles).stream().parallel().collect(Collectors.toList()); 
+		
+		assertTrue(expectedResults.size() > 2048);
+		assertTrue(testResults.size() == expectedResults.size());
+		for (int i = 0; i < testResults.size(); i++) 
+			assertTrue(sameIntersection(testResults.get(i), expectedResults.get(i)));
+	}
+	
+	@Test
+	public void testForStreamInCliqueMode() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setCliqueSearch(true);
+		
+		assertTrue(testReporter.stream().count() == testReporter.getIntersections().size());
+		assertTrue(testReporter.stream().anyMatch(rectangle -> rectangle.getContributorSet().equals(ContributorSet.of(2, 3, 4))));
+	}
+	
+	@Test
+	public void testForIteratorGuard() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setMaxGenerations(1);
+		
+		assertTrue(testReporter.stream().count() == 5);
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	
+	//Tests for computeStats(): 
+	@Test
+	public void testForComputeStats() throws Exception {
+		for (boolean cliqueSearch : new boolean[] {false, true}) {
+			IntersectionReporter expectedReporter = new IntersectionReporter(originalRectangles()); 
+			expectedReporter.setCliqueSearch(cliqueSearch);
+			ArrayList<Rectangle> expectedResults = expectedReporter.getIntersections(); 
+			long[] expectedCounts = new long[5]; 
+			for (Rectangle rectangle : expectedResults) 
+				expectedCounts[rectangle.getContributorSet().size()]++; 
+			
+			IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+			testReporter.setCliqueSearch(cliqueSearch);
+			IntersectionStats testStats = testReporter.computeStats(); 
+			
+			assertTrue(testStats.isComplete());
+			assertTrue(testStats.getIntersectionCount() == expectedResults.size());
+			for (int size = 0; size < expectedCounts.length; size++) 
+				assertTrue(testStats.getCount(size) == expectedCounts[size]);
+			assertTrue(testStats.getMaxDepth() == 3);
+		}
+	}
+	
+	@Test
+	public void testForComputeStatsAreas() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(10, 10, 1, 1, 1)); 
+		testRectangles.add(new Rectangle(10, 10, 6, 6, 2)); 
+		testRectangles.add(new Rectangle(10, 10, 6, 6, 3)); 
+		
+		IntersectionStats testStats = new IntersectionReporter(testRectangles).computeStats(); 
+		IntersectionReporter cliqueReporter = new IntersectionReporter(testRectangles); 
+		cliqueReporter.setCliqueSearch(true);
+		IntersectionStats cliqueStats = cliqueReporter.computeStats(); 
+		
+		//Rectangles 2 and 3 share all their area, 25 of which rectangle 1 also covers: 
+		assertTrue(testStats.getUnionArea() == 175);
+		assertTrue(testStats.getOverlappedArea() == 100);
+		assertTrue(testStats.getMaxDepth() == 3);
+		
+		//Areas and depth come from the sweeps, counts from the active mode (generations keep one of the equal regions of [1, 2], [1, 3] and [1, 2, 3]): 
+		assertTrue(cliqueStats.getUnionArea() == testStats.getUnionArea());
+		assertTrue(cliqueStats.getOverlappedArea() == testStats.getOverlappedArea());
+		assertTrue(cliqueStats.getMaxDepth() == testStats.getMaxDepth());
+		assertTrue(testStats.getCount(2) == 3);
+		assertTrue(testStats.getCount(3) == 0);
+		assertTrue(cliqueStats.getCount(2) == 1);
+		assertTrue(cliqueStats.getCount(3) == 1);
+	}
+	
+	@Test
+	public void testForComputeStatsWithoutIntersections() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(10, 10, 1, 1, 1)); 
+		testRectangles.add(new Rectangle(10, 10, 11, 1, 2)); 
+		
+		IntersectionStats testStats = new IntersectionReporter(testRectangles).computeStats(); 
+		
+		assertTrue(testStats.getIntersectionCount() == 0);
+		assertTrue(testStats.getMaxDepth() == 1);
+		assertTrue(testStats.getOverlappedArea() == 0);
+		assertTrue(new IntersectionReporter(new ArrayList<Rectangle>()).computeStats().getMaxDepth() == 0);
+	}
+	
+	@Test
+	public void testForComputeStatsLimit() throws Exception {
+		IntersectionReporter testReporter = new IntersectionReporter(originalRectangles()); 
+		testReporter.setMaxIntersections(2);
+		
+		IntersectionStats testStats = testReporter.computeStats(); 
+		
+		assertFalse(testStats.isComplete());
+		assertTrue(testStats.getIntersectionCount() == 2);
+		assertTrue(testReporter.isLimitReached());
+	}
+	
+	
+	//Tests for findDeepestRegion(): 
+	@Test
+	public void testForFindDeepestRegion() throws Exception {
+		ArrayList<Rectangle> generationResults = new IntersectionReporter(originalRectangles()).getIntersections(); 
+		
+		Rectangle testRegion = new IntersectionReporter(originalRectangles()).findDeepestRegion(); 
+		
+		//The last generation holds 2 regions of 3 rectangles, the lower is returned: 
+		assertTrue(testRegion.getContributorSet().equals(ContributorSet.of(1, 3, 4)));
+		assertTrue(sameIntersection(testRegion, generationResults.get(generationResults.size() - 2)));
+	}
+	
+	@Test
+	public void testForFindDeepestRegionWithoutIntersections() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(10, 10, 1, 1, 1)); 
+		testRectangles.add(new Rectangle(10, 10, 11, 1, 2)); 
+		
+		assertTrue(new IntersectionReporter(testRectangles).findDeepestRegion() == null);
+		assertTrue(new IntersectionReporter(new ArrayList<Rectangle>()).findDeepestRegion() == null);
+	}
+	
+	@Test
+	public void testForFindDeepestRegionOnRandomInputs() throws Exception {
+		Random random = new Random(22); 
+		for (int trial = 0; trial < 30; trial++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			for (int id = 1; id <= 15; id++) 
+				testRectangles.add(new Rectangle(1 + random.nextInt(40), 1 + random.nextInt(40), 1 + random.nextInt(60), 1 + random.nextInt(60), id)); 
+			IntersectionReporter cliqueReporter = new IntersectionReporter(testRectangles); 
+			cliqueReporter.setCliqueSearch(true);
+			
+			//Deepest region is a clique mode intersection of the largest size, and a region of generation mode: 
+			Rectangle testRegion = new IntersectionReporter(testRectangles).findDeepestRegion(); 
+			int maxSize = 0; 
+			boolean foundInCliqueMode = false; 
+			for (Rectangle rectangle : cliqueReporter.getIntersections()) {
+				maxSize = Math.max(maxSize, rectangle.getContributorSet().size()); 
+				foundInCliqueMode |= sameIntersection(rectangle, testRegion); 
+			}
+			boolean foundInGenerationMode = false; 
+			for (Rectangle rectangle : new IntersectionReporter(testRectangles).getIntersections()) 
+				foundInGenerationMode |= sameRegion(rectangle, testRegion); 
+			
+			assertTrue(testRegion.getContributorSet().size() == maxSize);
+			assertTrue(foundInCliqueMode);
+			assertTrue(foundInGenerationMode);
+		}
+	}
+	
+	
+	private static boolean sameRegion(Rectangle rectangle1, Rectangle rectangle2) {
+		return rectangle1.getX() == rectangle2.getX() && rectangle1.getY() == rectangle2.getY() 
+				&& rectangle1.getDeltaX() == rectangle2.getDeltaX() && rectangle1.getDeltaY() == rectangle2.getDeltaY(); 
+	}
+	
+	private static boolean sameIntersection(Rectangle rectangle1, Rectangle rectangle2) {
+		return sameRegion(rectangle1, rectangle2) && rectangle1.getContributorSet().equals(rectangle2.getContributorSet()); 
+	}
+	
+	/**
+	 * Input rectangles of the original example, numbered 1 to 4. 
+	 * */
+	private static ArrayList<Rectangle> originalRectangles() {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		return testRectangles; 
+	}
+	
 }
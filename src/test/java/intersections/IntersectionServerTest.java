@@ -0,0 +1,205 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IntersectionServerTest {
+
+	private static final String ORIGINAL_JSON = "{\"rects\": [{\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80}, "
+			+ "{\"x\": 120, \"y\": 200, \"delta_x\": 250, \"delta_y\": 150}, {\"x\": 140, \"y\": 160, \"delta_x\": 250, \"delta_y\": 100}, "
+			+ "{\"x\": 160, \"y\": 140, \"delta_x\": 350, \"delta_y\": 190}]}"; 
+	
+	private IntersectionServer testServer; 
+	
+	
+	@AfterEach
+	public void stopServer() {
+		if (testServer != null)
+			testServer.stop(0);
+	}
+	
+	
+	//Tests for Instance Creation: 
+	@Test
+	public void testForInvalidLimits() throws Exception {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new IntersectionServer(new InetSocketAddress("127.0.0.1", 0), 0, 1, 1000); 
+		});
+	}
+	
+	
+	//Tests for POST /intersections: 
+	@Test
+	public void testForStreamedIntersections() throws Exception {
+		startServer(2, 2, 30000);
+		
+		HttpURLConnection testConnection = post("/intersections", ORIGINAL_JSON); 
+		JSONObject testResponse = new JSONObject(read(testConnection)); 
+		
+		assertEquals(200, testConnection.getResponseCode());
+		assertEquals(7, testResponse.getInt("count"));
+		assertFalse(testResponse.getBoolean("timed_out"));
+		JSONArray testIntersections = testResponse.getJSONArray("intersections"); 
+		assertEquals(7, testIntersections.length());
+		assertEquals(140, testIntersections.getJSONObject(0).getInt("x"));
+		assertEquals("[1,3]", testIntersections.getJSONObject(0).getJSONArray("contributors").toString());
+	}
+	
+	@Test
+	public void testForDecimalCommaLocale() throws Exception {
+		startServer(2, 2, 30000);
+		Locale defaultLocale = Locale.getDefault(); 
+		Locale.setDefault(Locale.GERMANY);
+		try {
+			JSONObject testResponse = new JSONObject(read(post("/intersections", ORIGINAL_JSON))); 
+			
+			assertEquals(7, testResponse.getInt("count"));
+			assertTrue(testResponse.getDouble("elapsed_ms") >= 0);
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+	
+	@Test
+	public void testForQueryOptions() throws Exception {
+		startServer(2, 4, 30000);
+		
+		JSONObject testResponse = new JSONObject(read(post("/intersections?engine=rtree&max-intersections=3", ORIGINAL_JSON))); 
+		
+		assertEquals(3, testResponse.getInt("count"));
+		assertTrue(testResponse.getBoolean("limit_reached"));
+		assertEquals(400, post("/intersections?engine=unknown", ORIGINAL_JSON).getResponseCode());
+		assertEquals(400, post("/intersections?output=csv", ORIGINAL_JSON).getResponseCode());
+	}
+	
+	@Test
+	public void testForIntersectionCap() throws Exception {
+		testServer = new IntersectionServer(new InetSocketAddress("127.0.0.1", 0), 2, 2, 30000, 3); 
+		testServer.start();
+		
+		JSONObject testResponse = new JSONObject(read(post("/intersections", ORIGINAL_JSON))); 
+		
+		assertEquals(3, testResponse.getInt("count"));
+		assertTrue(testResponse.getBoolean("limit_reached"));
+		assertEquals(2, new JSONObject(read(post("/intersections?max-intersections=2", ORIGINAL_JSON))).getInt("count"));
+		assertEquals(400, post("/intersections?max-intersections=4", ORIGINAL_JSON).getResponseCode());
+	}
+	
+	@Test
+	public void testForBadPayload() throws Exception {
+		startServer(2, 4, 30000);
+		
+		assertEquals(400, post("/intersections", "{\"rects\": [").getResponseCode());
+		assertEquals(400, post("/intersections", "{\"squares\": []}").getResponseCode());
+		assertEquals(400, post("/intersections", "{\"rects\": [{\"x\": -1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}").getResponseCode());
+		assertEquals(405, open("/intersections").getResponseCode());
+	}
+	
+	@Test
+	public void testForTimeout() throws Exception {
+		startServer(1, 0, 0);
+		
+		Thread.sleep(5);
+		assertEquals(503, post("/intersections", ORIGINAL_JSON).getResponseCode());
+	}
+	
+	@Test
+	public void testForTimeoutWhileComputing() throws Exception {
+		startServer(1, 1, 300);
+		Random random = new Random(17); 
+		JSONArray rects = new JSONArray(); 
+		for (int i = 0; i < 1500; i++)
+			rects.put(new JSONObject().put("x", 500 + random.nextInt(500)).put("y", 500 + random.nextInt(500))
+				.put("delta_x", 1 + random.nextInt(500)).put("delta_y", 1 + random.nextInt(500))); 
+		String json = new JSONObject().put("rects", rects).toString(); 
+		
+		for (String query : new String[] {"", "?mode=clique"}) {
+			long start = System.nanoTime(); 
+			JSONObject testResponse = new JSONObject(read(post("/intersections" + query, json))); 
+			
+			assertTrue(testResponse.getBoolean("timed_out"));
+			assertTrue(System.nanoTime() - start < 5000000000L);
+		}
+		assertEquals(2, new JSONObject(read(open("/metrics"))).getLong("timed_out"));
+	}
+	
+	
+	//Tests for GET /metrics: 
+	@Test
+	public void testForMetrics() throws Exception {
+		startServer(2, 4, 30000);
+		read(post("/intersections", ORIGINAL_JSON)); 
+		post("/intersections", "not json").getResponseCode(); 
+		
+		JSONObject testMetrics = new JSONObject(read(open("/metrics"))); 
+		
+		assertEquals(2, testMetrics.getLong("received"));
+		assertEquals(1, testMetrics.getLong("completed"));
+		assertEquals(1, testMetrics.getLong("failed"));
+		assertEquals(1, testMetrics.getJSONObject("latency").getLong("count"));
+		assertTrue(testMetrics.getJSONObject("latency").getDouble("max_ms") > 0);
+	}
+	
+	
+	//Tests for toArgs(): 
+	@Test
+	public void testForToArgs() throws Exception {
+		String[] testArgs = IntersectionServer.toArgs("engine=grid&mode=clique"); 
+		
+		assertEquals(3, testArgs.length);
+		assertEquals("--engine=grid", testArgs[1]);
+		assertEquals("--mode=clique", testArgs[2]);
+		assertEquals(1, IntersectionServer.toArgs(null).length);
+		assertNull(IntersectionServer.toArgs("engine"));
+	}
+	
+	
+	private void startServer(int workers, int maxQueued, long timeoutMillis) throws Exception {
+		testServer = new IntersectionServer(new InetSocketAddress("127.0.0.1", 0), workers, maxQueued, timeoutMillis); 
+		testServer.start();
+	}
+	
+	private HttpURLConnection open(String path) throws Exception {
+		return (HttpURLConnection) new URL("http://127.0.0.1:" + testServer.getPort() + path).openConnection(); 
+	}
+	
+	private HttpURLConnection post(String path, String body) throws Exception {
+		HttpURLConnection connection = open(path); 
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream requestBody = connection.getOutputStream()) {
+			requestBody.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		return connection; 
+	}
+	
+	private static String read(HttpURLConnection connection) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(); 
+		try (InputStream responseBody = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+			byte[] buffer = new byte[4096]; 
+			for (int read = responseBody.read(buffer); read != -1; read = responseBody.read(buffer))
+				bytes.write(buffer, 0, read);
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8); 
+	}
+	
+}
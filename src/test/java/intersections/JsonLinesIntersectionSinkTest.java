@@ -0,0 +1,68 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JsonLinesIntersectionSinkTest {
+
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullWriter() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new JsonLinesIntersectionSink(null); 
+		});
+	}
+	
+	
+	//Tests for accept() and flush(): 
+	@Test
+	public void testForOneObjectPerLine() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		JsonLinesIntersectionSink testSink = new JsonLinesIntersectionSink(testWriter); 
+		
+		testSink.accept(140, 160, 210, 20, ContributorSet.of(1, 3));
+		testSink.accept(-5, 0, 1, 2, ContributorSet.of(2, 3, 4));
+		testSink.flush();
+		
+		String[] testLines = testWriter.toString().split("\n"); 
+		assertEquals(2, testLines.length);
+		assertEquals("{\"x\":140,\"y\":160,\"delta_x\":210,\"delta_y\":20,\"contributors\":[1,3]}", testLines[0]);
+		JSONObject testObject = new JSONObject(testLines[1]); 
+		assertEquals(-5, testObject.getInt("x"));
+		assertEquals(2, testObject.getInt("delta_y"));
+		assertEquals(3, testObject.getJSONArray("contributors").length());
+	}
+	
+	@Test
+	public void testForArrayElements() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		JsonLinesIntersectionSink testSink = new JsonLinesIntersectionSink(testWriter, true); 
+		
+		testSink.accept(140, 160, 210, 20, ContributorSet.of(1, 3));
+		testSink.accept(-5, 0, 1, 2, ContributorSet.of(2, 3, 4));
+		testSink.flush();
+		
+		JSONArray testArray = new JSONArray("[" + testWriter + "]"); 
+		assertEquals(2, testArray.length());
+		assertEquals(140, testArray.getJSONObject(0).getInt("x"));
+		assertEquals("[2,3,4]", testArray.getJSONObject(1).getJSONArray("contributors").toString());
+	}
+	
+	@Test
+	public void testForEmptyOutput() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		JsonLinesIntersectionSink testSink = new JsonLinesIntersectionSink(testWriter); 
+		
+		testSink.flush();
+		
+		assertEquals("", testWriter.toString());
+	}
+	
+}
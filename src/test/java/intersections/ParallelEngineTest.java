@@ -0,0 +1,94 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParallelEngineTest {
+
+	
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullPool() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			ParallelEngine nullPoolEngine = new ParallelEngine(null); 
+		});
+	}
+	
+	
+	//Tests for findOverlaps(): 
+	@Test
+	public void testForSameOverlapOrderAsAllPairs() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(2000, 3000, 120, 17); 
+		ForkJoinPool testPool = new ForkJoinPool(4); 
+		
+		for (int lastIntersection : new int[] {0, 1500}) {
+			ArrayList<Long> expectedPairs = new ArrayList<Long>(); 
+			new AllPairsEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), lastIntersection, testRectangles.size(), (i, j) -> expectedPairs.add(((long) i << 32) | j));
+			ArrayList<Long> testPairs = new ArrayList<Long>(); 
+			new ParallelEngine(testPool).findOverlaps(RectangleStore.fromRectangles(testRectangles), lastIntersection, testRectangles.size(), (i, j) -> testPairs.add(((long) i << 32) | j));
+			
+			assertTrue(expectedPairs.size() > 0);
+			assertEquals(expectedPairs, testPairs);
+		}
+		testPool.shutdown();
+	}
+	
+	
+	@Test
+	public void testForStopCondition() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(3000, 400, 200, 11); 
+		ForkJoinPool testPool = new ForkJoinPool(4); 
+		int[] expectedCount = new int[1]; 
+		new AllPairsEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> expectedCount[0]++);
+		
+		//Stop condition holding from its second check on: 
+		AtomicInteger checks = new AtomicInteger(); 
+		AtomicInteger testCount = new AtomicInteger(); 
+		new ParallelEngine(testPool).findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> testCount.incrementAndGet(), 
+				() -> checks.incrementAndGet() > 1);
+		
+		assertTrue(checks.get() > 1);
+		assertTrue(testCount.get() < expectedCount[0]);
+		testPool.shutdown();
+	}
+	
+	
+	//Tests for IntersectionReporter with parallel engine: 
+	@Test
+	public void testForSameIntersectionsAsAllPairs() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(60, 400, 60, 3); 
+		
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(testRectangles).getIntersections(); 
+		ArrayList<Rectangle> testResults = new IntersectionReporter(testRectangles, new ParallelEngine()).getIntersections(); 
+		
+		assertTrue(expectedResults.size() > 0);
+		assertEquals(expectedResults.size(), testResults.size());
+		for (int i = 0; i < expectedResults.size(); i++) {
+			assertEquals(expectedResults.get(i).getX(), testResults.get(i).getX());
+			assertEquals(expectedResults.get(i).getY(), testResults.get(i).getY());
+			assertEquals(expectedResults.get(i).getDeltaX(), testResults.get(i).getDeltaX());
+			assertEquals(expectedResults.get(i).getDeltaY(), testResults.get(i).getDeltaY());
+			assertEquals(expectedResults.get(i).getContributorSet(), testResults.get(i).getContributorSet());
+		}
+	}
+	
+	
+	private static ArrayList<Rectangle> randomRectangles(int count, int canvas, int maxSize, long seed) {
+		Random random = new Random(seed); 
+		ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < count; i++) {
+			rectangles.add(new Rectangle(1 + random.nextInt(maxSize), 1 + random.nextInt(maxSize), 1 + random.nextInt(canvas), 1 + random.nextInt(canvas), i + 1)); 
+		}
+		return rectangles; 
+	}
+	
+}
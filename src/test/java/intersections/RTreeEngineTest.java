@@ -0,0 +1,141 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class RTreeEngineTest {
+
+	
+	//Tests for findOverlaps(): 
+	@Test
+	public void testForSameOverlapsAsAllPairs() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(300, 1000, 80, 7); 
+		
+		ArrayList<Long> expectedPairs = new ArrayList<Long>(); 
+		new AllPairsEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> expectedPairs.add(((long) i << 32) | j));
+		ArrayList<Long> testPairs = new ArrayList<Long>(); 
+		new RTreeEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> testPairs.add(((long) i << 32) | j));
+		
+		expectedPairs.sort(null);
+		testPairs.sort(null);
+		assertTrue(expectedPairs.size() > 0);
+		assertEquals(expectedPairs, testPairs);
+	}
+	
+	@Test
+	public void testForTouchingEdgesReported() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(100, 100, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(100, 100, 200, 100, 2)); 
+		testRectangles.add(new Rectangle(100, 100, 301, 100, 3)); 
+		
+		ArrayList<Long> testPairs = new ArrayList<Long>(); 
+		new RTreeEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> testPairs.add(((long) i << 32) | j));
+		
+		assertEquals(1, testPairs.size());
+		assertEquals(1L, (long) testPairs.get(0));
+	}
+	
+	@Test
+	public void testForOnlyNewestGenerationPairs() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(200, 600, 80, 11); 
+		int lastIntersection = 150; 
+		
+		ArrayList<Long> expectedPairs = new ArrayList<Long>(); 
+		new AllPairsEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), lastIntersection, testRectangles.size(), (i, j) -> expectedPairs.add(((long) i << 32) | j));
+		ArrayList<Long> testPairs = new ArrayList<Long>(); 
+		new RTreeEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), lastIntersection, testRectangles.size(), (i, j) -> testPairs.add(((long) i << 32) | j));
+		
+		expectedPairs.sort(null);
+		testPairs.sort(null);
+		assertEquals(expectedPairs, testPairs);
+	}
+	
+	
+	@Test
+	public void testForStopCondition() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(3000, 400, 200, 11); 
+		int[] expectedCount = new int[1]; 
+		new AllPairsEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> expectedCount[0]++);
+		
+		//Stop condition holding from its second check on: 
+		AtomicInteger checks = new AtomicInteger(); 
+		AtomicInteger testCount = new AtomicInteger(); 
+		new RTreeEngine().findOverlaps(RectangleStore.fromRectangles(testRectangles), 0, testRectangles.size(), (i, j) -> testCount.incrementAndGet(), 
+				() -> checks.incrementAndGet() > 1);
+		
+		assertTrue(checks.get() > 1);
+		assertTrue(testCount.get() < expectedCount[0]);
+	}
+	
+	
+	//Tests for IntersectionReporter with R-tree engine: 
+	@Test
+	public void testForSameIntersectionsAsAllPairs() throws Exception {
+		ArrayList<Rectangle> testRectangles = randomRectangles(60, 400, 60, 3); 
+		
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(testRectangles).getIntersections(); 
+		ArrayList<Rectangle> testResults = new IntersectionReporter(testRectangles, new RTreeEngine()).getIntersections(); 
+		
+		assertTrue(expectedResults.size() > 0);
+		assertEquals(expectedResults.size(), testResults.size());
+		for (int i = 0; i < expectedResults.size(); i++) {
+			Rectangle expectedRectangle = expectedResults.get(i); 
+			Rectangle testRectangle = testResults.get(i); 
+			assertEquals(expectedRectangle.getX(), testRectangle.getX());
+			assertEquals(expectedRectangle.getY(), testRectangle.getY());
+			assertEquals(expectedRectangle.getDeltaX(), testRectangle.getDeltaX());
+			assertEquals(expectedRectangle.getDeltaY(), testRectangle.getDeltaY());
+			assertEquals(expectedRectangle.getContributors(), testRectangle.getContributors());
+		}
+	}
+	
+	@Test
+	public void testForOriginalExampleIntersections() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		IntersectionReporter testReporter = new IntersectionReporter(testRectangles, new RTreeEngine()); 
+		
+		int[][] expectedContributors = {{1, 3}, {1, 4}, {2, 3}, {2, 4}, {3, 4}, {1, 3, 4}, {2, 3, 4}}; 
+		int[] resultXValues = {140, 160, 140, 160, 160, 160, 160};
+		int[] resultDeltaYValues = {20, 40, 60, 130, 100, 20, 60};
+		ArrayList<Rectangle> testResults = testReporter.getIntersections();
+		
+		assertEquals(expectedContributors.length, testResults.size());
+		for (int i = 0; i < expectedContributors.length; i++) {
+			assertEquals(resultXValues[i], testResults.get(i).getX());
+			assertEquals(resultDeltaYValues[i], testResults.get(i).getDeltaY());
+			for (int j = 0; j < expectedContributors[i].length; j++) {
+				assertEquals(expectedContributors[i][j], (int) testResults.get(i).getContributors().get(j));
+			}
+		}
+	}
+	
+	
+	/**
+	 * Builds random initial rectangles with even corners and odd sizes, so no two rectangles share an edge. 
+	 * */
+	private static ArrayList<Rectangle> randomRectangles(int count, int canvas, int maxSize, long seed) {
+		Random random = new Random(seed); 
+		ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>(); 
+		for (int i = 0; i < count; i++) {
+			int x = 2 * (1 + random.nextInt(canvas / 2)); 
+			int y = 2 * (1 + random.nextInt(canvas / 2)); 
+			int deltaX = 2 * random.nextInt(maxSize / 2) + 1; 
+			int deltaY = 2 * random.nextInt(maxSize / 2) + 1; 
+			rectangles.add(new Rectangle(deltaX, deltaY, x, y, i + 1)); 
+		}
+		return rectangles; 
+	}
+	
+}
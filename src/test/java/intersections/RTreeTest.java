@@ -0,0 +1,112 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RTreeTest {
+
+	
+	//Tests for RTree(): 
+	@Test
+	public void testForNullStore() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new RTree(null); 
+		});
+	}
+	
+	@Test
+	public void testForEmptyTree() throws Exception {
+		RTree testTree = new RTree(new RectangleStore()); 
+		
+		ArrayList<Integer> testRows = new ArrayList<Integer>(); 
+		testTree.query(0, 0, 1000, 1000, testRows::add);
+		
+		assertEquals(0, testTree.size());
+		assertEquals(0, testTree.height());
+		assertEquals(0, testRows.size());
+	}
+	
+	@Test
+	public void testForPackedHeight() throws Exception {
+		RTree testTree = new RTree(randomStore(5000, 10000, 50, 5)); 
+		
+		//5000 entries in 313 leaves, 20 nodes, 2 nodes and 1 root: 
+		assertEquals(5000, testTree.size());
+		assertEquals(4, testTree.height());
+	}
+	
+	
+	//Tests for query(): 
+	@Test
+	public void testForSameRowsAsScan() throws Exception {
+		RectangleStore testStore = randomStore(2000, 5000, 200, 9); 
+		RTree testTree = new RTree(testStore); 
+		
+		Random random = new Random(13); 
+		for (int query = 0; query < 200; query++) {
+			int minX = random.nextInt(5000); 
+			int minY = random.nextInt(5000); 
+			int maxX = minX + random.nextInt(400); 
+			int maxY = minY + random.nextInt(400); 
+			
+			ArrayList<Integer> expectedRows = new ArrayList<Integer>(); 
+			for (int row = 0; row < testStore.size(); row++) {
+				if (!(testStore.getMinX(row) > maxX || testStore.getMaxX(row) < minX || testStore.getMaxY(row) < minY || testStore.getMinY(row) > maxY))
+					expectedRows.add(row); 
+			}
+			ArrayList<Integer> testRows = new ArrayList<Integer>(); 
+			testTree.query(minX, minY, maxX, maxY, testRows::add);
+			
+			testRows.sort(null);
+			assertEquals(expectedRows, testRows);
+		}
+	}
+	
+	@Test
+	public void testForTouchingWindow() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(100, 100, 200, 200, 1); 
+		RTree testTree = new RTree(testStore); 
+		
+		ArrayList<Integer> testRows = new ArrayList<Integer>(); 
+		testTree.query(200, 200, 300, 300, testRows::add);
+		testTree.query(201, 100, 300, 200, testRows::add);
+		
+		assertEquals(1, testRows.size());
+		assertTrue(testRows.get(0) == 0);
+	}
+	
+	@Test
+	public void testForRowCountLimit() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(100, 100, 200, 200, 1); 
+		testStore.add(150, 150, 250, 250, 2); 
+		RTree testTree = new RTree(testStore, 1); 
+		
+		ArrayList<Integer> testRows = new ArrayList<Integer>(); 
+		testTree.query(testStore, 1, testRows::add);
+		
+		assertEquals(1, testTree.size());
+		assertEquals(1, testRows.size());
+	}
+	
+	
+	private static RectangleStore randomStore(int count, int canvas, int maxSize, long seed) {
+		Random random = new Random(seed); 
+		RectangleStore store = new RectangleStore(); 
+		for (int i = 0; i < count; i++) {
+			int x = 1 + random.nextInt(canvas); 
+			int y = 1 + random.nextInt(canvas); 
+			store.add(x, y, x + 1 + random.nextInt(maxSize), y + 1 + random.nextInt(maxSize), i + 1); 
+		}
+		return store; 
+	}
+	
+}
@@ -0,0 +1,105 @@
+package intersections;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RectangleCoverageTest {
+
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullList() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new RectangleCoverage((ArrayList<Rectangle>) null); 
+		});
+	}
+	
+	@Test
+	public void testForNullStore() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new RectangleCoverage((RectangleStore) null); 
+		});
+	}
+	
+	
+	//Tests for getUnionArea() and getAreaCoveredAtLeast(): 
+	@Test
+	public void testForOriginalExample() throws Exception {
+		ArrayList<Rectangle> testRectangles = App.readRectangles("src/main/resources/NormalCases/testRectanglesOriginal.json"); 
+		RectangleCoverage testCoverage = new RectangleCoverage(testRectangles); 
+		
+		long[] expectedAreas = gridAreas(testRectangles, 4); 
+		assertEquals(expectedAreas[1], testCoverage.getUnionArea());
+		assertEquals(expectedAreas[2], testCoverage.getAreaCoveredAtLeast(2));
+		assertEquals(expectedAreas[3], testCoverage.getAreaCoveredAtLeast(3));
+		assertEquals(0, testCoverage.getAreaCoveredAtLeast(4));
+		assertEquals(testCoverage.getUnionArea(), new RectangleCoverage(RectangleStore.fromRectangles(testRectangles)).getUnionArea());
+	}
+	
+	@Test
+	public void testForInvalidDepth() throws Exception {
+		RectangleCoverage testCoverage = new RectangleCoverage(new ArrayList<Rectangle>()); 
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testCoverage.getAreaCoveredAtLeast(0); 
+		});
+	}
+	
+	@Test
+	public void testForEmptyList() throws Exception {
+		RectangleCoverage testCoverage = new RectangleCoverage(new ArrayList<Rectangle>()); 
+		
+		assertEquals(0, testCoverage.getUnionArea());
+		assertArrayEquals(new long[] {0, 0}, testCoverage.getAreasByDepth());
+	}
+	
+	
+	//Tests for getAreasByDepth(): 
+	@Test
+	public void testForRandomLayouts() throws Exception {
+		Random random = new Random(23); 
+		for (int trial = 0; trial < 30; trial++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			int count = 1 + random.nextInt(25); 
+			for (int id = 1; id <= count; id++) 
+				testRectangles.add(new Rectangle(1 + random.nextInt(15), 1 + random.nextInt(15), 1 + random.nextInt(40), 1 + random.nextInt(40), id)); 
+			
+			long[] atLeast = gridAreas(testRectangles, testRectangles.size()); 
+			long[] testAreas = new RectangleCoverage(testRectangles).getAreasByDepth(); 
+			
+			//Exact areas of each depth up to the maximum depth, then nothing deeper: 
+			for (int k = 1; k < testAreas.length; k++) 
+				assertEquals(atLeast[k] - (k + 1 < atLeast.length ? atLeast[k + 1] : 0), testAreas[k]);
+			for (int k = testAreas.length; k < atLeast.length; k++) 
+				assertEquals(0, atLeast[k]);
+		}
+	}
+	
+	
+	/**
+	 * Counts unit cells covered at least k times, for k up to maxDepth. 
+	 * */
+	private static long[] gridAreas(ArrayList<Rectangle> rectangles, int maxDepth) {
+		int[][] depth = new int[600][600]; 
+		for (Rectangle rectangle : rectangles) {
+			for (int x = rectangle.getX(); x < rectangle.getX() + rectangle.getDeltaX(); x++) {
+				for (int y = rectangle.getY(); y < rectangle.getY() + rectangle.getDeltaY(); y++)
+					depth[x][y]++; 
+			}
+		}
+		long[] areas = new long[maxDepth + 1]; 
+		for (int x = 0; x < 600; x++) {
+			for (int y = 0; y < 600; y++) {
+				for (int k = 1; k <= Math.min(depth[x][y], maxDepth); k++)
+					areas[k]++; 
+			}
+		}
+		return areas; 
+	}
+	
+}
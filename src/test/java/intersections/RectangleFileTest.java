@@ -0,0 +1,109 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RectangleFileTest {
+
+	@TempDir
+	Path testDirectory; 
+	
+	
+	//Tests for write() and load(): 
+	@Test
+	public void testForRoundTrip() throws Exception {
+		RectangleStore expectedStore = new RectangleStore(); 
+		expectedStore.add(100, 100, 350, 180, 1); 
+		expectedStore.add(120, 200, 370, 350, 2); 
+		Path testPath = testDirectory.resolve("test.rects"); 
+		
+		RectangleFile.write(expectedStore, testPath);
+		RectangleStore testStore = RectangleFile.load(testPath); 
+		
+		assertEquals(16 + 2 * 16, Files.size(testPath));
+		assertEquals(2, testStore.size());
+		assertEquals(120, testStore.getMinX(1));
+		assertEquals(200, testStore.getMinY(1));
+		assertEquals(370, testStore.getMaxX(1));
+		assertEquals(350, testStore.getMaxY(1));
+		assertEquals(2, testStore.getContributor(1));
+	}
+	
+	@Test
+	public void testForLittleEndianLayout() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(1, 2, 4, 6, 1); 
+		Path testPath = testDirectory.resolve("test.rects"); 
+		
+		RectangleFile.write(testStore, testPath);
+		ByteBuffer testBytes = ByteBuffer.wrap(Files.readAllBytes(testPath)).order(ByteOrder.LITTLE_ENDIAN); 
+		
+		assertEquals('R', testBytes.get(0));
+		assertEquals('T', testBytes.get(3));
+		assertEquals(1, testBytes.getInt(4));
+		assertEquals(1, testBytes.getInt(8));
+		assertEquals(16, testBytes.getInt(12));
+		assertEquals(1, testBytes.getInt(16));
+		assertEquals(2, testBytes.getInt(20));
+		assertEquals(3, testBytes.getInt(24));
+		assertEquals(4, testBytes.getInt(28));
+	}
+	
+	@Test
+	public void testForCorruptFile() throws Exception {
+		RectangleStore testStore = new RectangleStore(); 
+		testStore.add(1, 2, 4, 6, 1); 
+		Path testPath = testDirectory.resolve("test.rects"); 
+		RectangleFile.write(testStore, testPath);
+		
+		byte[] truncated = Files.readAllBytes(testPath); 
+		Files.write(testPath, Arrays.copyOf(truncated, truncated.length - 4)); 
+		
+		Assertions.assertThrows(IOException.class, () -> {
+			RectangleFile.load(testPath); 
+		});
+	}
+	
+	
+	//Tests for convert() and isRectangleFile(): 
+	@Test
+	public void testForConvertedJSON() throws Exception {
+		String json = "{\"rects\": [{\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80}, {\"x\": 120, \"y\": 200, \"delta_x\": 250, \"delta_y\": 150}, " 
+					+ "{\"x\": 140, \"y\": 160, \"delta_x\": 250, \"delta_y\": 100}, {\"x\": 160, \"y\": 140, \"delta_x\": 350, \"delta_y\": 190}]}"; 
+		Path jsonPath = testDirectory.resolve("test.json"); 
+		Path testPath = testDirectory.resolve("test.rects"); 
+		Files.write(jsonPath, json.getBytes("UTF-8")); 
+		
+		int count = RectangleFile.convert(new StringReader(json), testPath); 
+		
+		assertEquals(4, count);
+		assertTrue(RectangleFile.isRectangleFile(testPath));
+		assertFalse(RectangleFile.isRectangleFile(jsonPath));
+		
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(new RectangleReader(new StringReader(json)).readRectangles()).getIntersections(); 
+		ArrayList<Rectangle> testResults = new IntersectionReporter(RectangleFile.load(testPath), new AllPairsEngine()).getIntersections(); 
+		
+		assertEquals(7, testResults.size());
+		for (int i = 0; i < expectedResults.size(); i++) {
+			assertEquals(expectedResults.get(i).getX(), testResults.get(i).getX());
+			assertEquals(expectedResults.get(i).getDeltaY(), testResults.get(i).getDeltaY());
+			assertEquals(expectedResults.get(i).getContributors(), testResults.get(i).getContributors());
+		}
+	}
+	
+}
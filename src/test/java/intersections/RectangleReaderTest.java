@@ -0,0 +1,177 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import org.everit.json.schema.ValidationException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RectangleReaderTest {
+
+	
+	//Tests for readRectangles(): 
+	@Test
+	public void testForCorrectRectangleSet() throws Exception {
+		String json = "{\n  \"rects\": [\n    {\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80},\n" 
+					+ "    {\"delta_y\": 150, \"delta_x\": 250, \"y\": 200, \"x\": 120, \"note\": {\"a\": [1, 2.5e3, true, null, \"\\u0041\"]}}\n  ]\n}\n"; 
+		
+		ArrayList<Rectangle> testRectangles = new RectangleReader(new StringReader(json)).readRectangles(); 
+		
+		assertEquals(2, testRectangles.size());
+		assertEquals(120, testRectangles.get(1).getX());
+		assertEquals(200, testRectangles.get(1).getY());
+		assertEquals(250, testRectangles.get(1).getDeltaX());
+		assertEquals(150, testRectangles.get(1).getDeltaY());
+		assertEquals(2, testRectangles.get(1).getId());
+	}
+	
+	@Test
+	public void testForLargeInputAcrossBuffers() throws Exception {
+		StringBuilder json = new StringBuilder("{\"rects\": ["); 
+		for (int i = 0; i < 5000; i++)
+			json.append(i == 0 ? "" : ", ").append("{\"x\": ").append(i + 1).append(", \"y\": 7, \"delta_x\": 10, \"delta_y\": 20}"); 
+		json.append("]}"); 
+		
+		ArrayList<Rectangle> testRectangles = new RectangleReader(new StringReader(json.toString())).readRectangles(); 
+		
+		assertEquals(5000, testRectangles.size());
+		assertEquals(5000, testRectangles.get(4999).getX());
+	}
+	
+	
+	//Tests for read(): 
+	@Test
+	public void testForStoppedRead() throws Exception {
+		String json = "{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}, {\"x\": -1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}, {]}"; 
+		int[] testCount = new int[1]; 
+		
+		boolean completed = new RectangleReader(new StringReader(json)).read((x, y, deltaX, deltaY) -> {
+			testCount[0]++; 
+			return x > 0; 
+		}); 
+		
+		assertFalse(completed);
+		assertEquals(2, testCount[0]);
+	}
+	
+	@Test
+	public void testForEmptyJSON() throws Exception {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\n\n}")).readRectangles(); 
+		});
+	}
+	
+	@Test
+	public void testForAdditionalProperty() throws Exception {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"id\": 10000, \"rects\": []}")).readRectangles(); 
+		});
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [], \"id\": 10000}")).readRectangles(); 
+		});
+	}
+	
+	@Test
+	public void testForBadRectangleElements() throws Exception {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1}]}")).readRectangles(); 
+		});
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [{\"x\": 1.5, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}")).readRectangles(); 
+		});
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [{\"x\": 99999999999, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}")).readRectangles(); 
+		});
+		Assertions.assertThrows(ValidationException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [5]}")).readRectangles(); 
+		});
+	}
+	
+	@Test
+	public void testForWrongType() throws Exception {
+		Assertions.assertThrows(JSONException.class, () -> {
+			new RectangleReader(new StringReader("This is a wrong file type. ")).readRectangles(); 
+		});
+		Assertions.assertThrows(JSONException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}")).readRectangles(); 
+		});
+		Assertions.assertThrows(JSONException.class, () -> {
+			new RectangleReader(new StringReader("{\"rects\": []} extra")).readRectangles(); 
+		});
+	}
+	
+	//Tests for agreement with RectangleSchema: 
+	@Test
+	public void testForSameRulesAsSchema() throws Exception {
+		String[] testFiles = {
+			"{\"rects\": []}", 
+			"{\"rects\": [{\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80}]}", 
+			"{\"rects\": [{\"x\": -3, \"y\": 0, \"delta_x\": 2147483647, \"delta_y\": -2147483648, \"note\": [1, 2.5]}]}", 
+			"{}", 
+			"{\"rects\": [], \"id\": 10000}", 
+			"{\"id\": 10000, \"rects\": []}", 
+			"{\"rects\": 5}", 
+			"{\"rects\": {}}", 
+			"{\"rects\": [5]}", 
+			"{\"rects\": [[1, 1, 1, 1]]}", 
+			"{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1}]}", 
+			"{\"rects\": [{\"x\": 1.5, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}", 
+			"{\"rects\": [{\"x\": \"1\", \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}", 
+			"{\"rects\": [{\"x\": true, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}", 
+			"{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1, \"delta_y\": null}]}", 
+			"{\"rects\": [{\"x\": 2147483648, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}]}", 
+			"{\"rects\": [{\"x\": 1, \"y\": -2147483649, \"delta_x\": 1, \"delta_y\": 1}]}", 
+			"{\"rects\": [{\"x\": 1, \"y\": 1, \"delta_x\": 1, \"delta_y\": 1}, {\"x\": 1}]}" 
+		}; 
+		
+		for (String testFile : testFiles) {
+			boolean schemaAccepts = true; 
+			try {
+				RectangleSchema.validate(new JSONObject(testFile));
+			} catch (ValidationException exception) {
+				schemaAccepts = false; 
+			}
+			boolean readerAccepts = true; 
+			try {
+				new RectangleReader(new StringReader(testFile)).read((x, y, deltaX, deltaY) -> true); 
+			} catch (ValidationException exception) {
+				readerAccepts = false; 
+			}
+			assertEquals(testFile, schemaAccepts, readerAccepts);
+		}
+	}
+	
+	@Test
+	public void testForSameResourceFilesAsSchema() throws Exception {
+		String[] testPaths = {"NormalCases/testRectanglesOriginal.json", "NormalCases/testRectanglesDuplicates.json", 
+							  "ErrorFiles/testBadFormat.json", "ErrorFiles/EmptyJSON.json", "ErrorFiles/negativeRectangles.json"}; 
+		
+		for (String testPath : testPaths) {
+			String testFile = new String(Files.readAllBytes(Paths.get("src/main/resources", testPath)), StandardCharsets.UTF_8); 
+			boolean schemaAccepts = true; 
+			try {
+				RectangleSchema.validate(new JSONObject(testFile));
+			} catch (ValidationException exception) {
+				schemaAccepts = false; 
+			}
+			boolean readerAccepts = true; 
+			try {
+				new RectangleReader(new StringReader(testFile)).read((x, y, deltaX, deltaY) -> true); 
+			} catch (ValidationException exception) {
+				readerAccepts = false; 
+			}
+			assertEquals(testPath, schemaAccepts, readerAccepts);
+		}
+	}
+	
+}
@@ -0,0 +1,73 @@
+package intersections;
+
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.everit.json.schema.ValidationException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RectangleSchemaTest {
+
+	private static final String GOOD_JSON = "{\"rects\": [{\"x\": 100, \"y\": 100, \"delta_x\": 250, \"delta_y\": 80}]}"; 
+	
+	
+	//Tests for get(): 
+	@Test
+	public void testForSingleInstance() throws Exception {
+		assertSame(RectangleSchema.get(), RectangleSchema.get());
+	}
+	
+	
+	//Tests for validate(): 
+	@Test
+	public void testForGoodFormat() throws Exception {
+		RectangleSchema.validate(new JSONObject(GOOD_JSON));
+	}
+	
+	@Test
+	public void testForExtraKey() throws Exception {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			RectangleSchema.validate(new JSONObject("{\"rects\": [], \"squares\": []}"));
+		});
+	}
+	
+	@Test
+	public void testForMissingRects() throws Exception {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			RectangleSchema.validate(new JSONObject("{}"));
+		});
+	}
+	
+	@Test
+	public void testForConcurrentValidation() throws Exception {
+		ExecutorService testExecutor = Executors.newFixedThreadPool(8); 
+		try {
+			List<Future<Boolean>> testResults = new ArrayList<Future<Boolean>>(); 
+			for (int i = 0; i < 200; i++) {
+				boolean good = i % 2 == 0; 
+				testResults.add(testExecutor.submit(() -> {
+					try {
+						RectangleSchema.validate(new JSONObject(good ? GOOD_JSON : "{\"rects\": 5}"));
+						return good; 
+					} catch (ValidationException exception) {
+						return !good; 
+					}
+				}));
+			}
+			for (Future<Boolean> testResult : testResults)
+				assertTrue(testResult.get());
+		} finally {
+			testExecutor.shutdown();
+		}
+	}
+	
+}
@@ -0,0 +1,73 @@
+package intersections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class RectangleStoreTest {
+
+
+	//Tests for fromRectangles():
+	@Test
+	public void testForEdgesAndIds() throws Exception {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>();
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1));
+		testRectangles.add(new Rectangle(140, 160, 120, 200, 2));
+
+		RectangleStore store = RectangleStore.fromRectangles(testRectangles);
+
+		assertEquals(2, store.size());
+		assertEquals(120, store.getMinX(1));
+		assertEquals(200, store.getMinY(1));
+		assertEquals(260, store.getMaxX(1));
+		assertEquals(360, store.getMaxY(1));
+		assertEquals(2, store.getContributor(1));
+	}
+
+
+	//Tests for add():
+	@Test
+	public void testForGrowth() throws Exception {
+		RectangleStore store = new RectangleStore(1);
+		for (int i = 0; i < 100; i++)
+			assertEquals(i, store.add(i, i, i + 10, i + 10, i + 1));
+
+		assertEquals(100, store.size());
+		assertEquals(99, store.getMinX(99));
+		assertEquals(100, store.getContributor(99));
+	}
+
+
+	//Tests for overlapPresent():
+	@Test
+	public void testForTouchingOverlap() throws Exception {
+		RectangleStore store = new RectangleStore();
+		store.add(10, 10, 20, 20, 1);
+		store.add(20, 15, 30, 25, 2);
+		store.add(31, 15, 40, 25, 3);
+
+		assertTrue(store.overlapPresent(0, 1));
+		assertFalse(store.overlapPresent(0, 2));
+	}
+
+
+	//Tests for toRectangle():
+	@Test
+	public void testForRoundTrip() throws Exception {
+		RectangleStore store = new RectangleStore();
+		store.add(100, 100, 350, 180, 1);
+
+		Rectangle rectangle = store.toRectangle(0);
+
+		assertEquals(100, rectangle.getX());
+		assertEquals(100, rectangle.getY());
+		assertEquals(250, rectangle.getDeltaX());
+		assertEquals(80, rectangle.getDeltaY());
+		assertEquals(1, rectangle.getId());
+	}
+
+}
@@ -0,0 +1,112 @@
+package intersections;
+
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * ReportLineFormatterBenchmark Class:  Measures report line throughput (lines/sec) of ReportLineFormatter against the previous
+ * string concatenation format, for lines with 2 to 500 contributors.  Output goes to a writer that discards it, so only
+ * formatting is measured.
+ * 
+ * Run after mvn test-compile with: 
+ * 
+ * 		java -cp target/classes:target/test-classes intersections.ReportLineFormatterBenchmark [seconds per case]
+ * 
+ * */
+public class ReportLineFormatterBenchmark {
+
+	private static final int[] CONTRIBUTOR_COUNTS = {2, 3, 10, 100, 500}; 
+	
+	
+	public static void main(String[] args) throws IOException {
+		double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1.0; 
+		DiscardWriter writer = new DiscardWriter(); 
+		
+		System.out.println(String.format("%-14s %18s %18s", "contributors", "formatter lines/s", "concat lines/s"));
+		for (int contributorCount : CONTRIBUTOR_COUNTS) {
+			ContributorSet contributors = new ContributorSet(); 
+			for (int id = 1; id <= contributorCount; id++)
+				contributors.add(id * 3); 
+			
+			//Warm up both paths, then measure: 
+			runFormatter(contributors, writer, seconds / 4);
+			runConcatenation(contributors, writer, seconds / 4);
+			double formatterRate = runFormatter(contributors, writer, seconds); 
+			double concatenationRate = runConcatenation(contributors, writer, seconds); 
+			System.out.println(String.format("%-14d %18.0f %18.0f", contributorCount, formatterRate, concatenationRate));
+		}
+		System.out.println("(" + writer.characters + " characters discarded)");
+	}
+	
+	
+	private static double runFormatter(ContributorSet contributors, Writer writer, double seconds) throws IOException {
+		ReportLineFormatter formatter = new ReportLineFormatter(); 
+		long end = System.nanoTime() + (long) (seconds * 1e9); 
+		long start = System.nanoTime(); 
+		int lines = 0; 
+		do {
+			for (int k = 0; k < 1000; k++) {
+				formatter.format(++lines, 140 + k, 160, 210, 20 + k, contributors);
+				formatter.writeTo(writer);
+			}
+		} while (System.nanoTime() < end); 
+		return lines / ((System.nanoTime() - start) / 1e9); 
+	}
+	
+	
+	/**
+	 * Previous printIntersections() line building, kept for comparison. 
+	 * */
+	private static double runConcatenation(ContributorSet contributors, Writer writer, double seconds) throws IOException {
+		long end = System.nanoTime() + (long) (seconds * 1e9); 
+		long start = System.nanoTime(); 
+		int lines = 0; 
+		do {
+			for (int k = 0; k < 1000; k++) {
+				StringBuilder outputBuilder = new StringBuilder();
+				outputBuilder.append("" + (++lines) + ": Between rectangle");
+				int remaining = contributors.size(); 
+				for (int contributor = contributors.nextContributor(0); contributor != -1; contributor = contributors.nextContributor(contributor + 1)) {
+					if (--remaining == 0)
+						outputBuilder.append(" and " + contributor); 
+					else 
+						outputBuilder.append(" " + contributor + ","); 
+				}
+				outputBuilder.append(" at (" + (140 + k) + "," + 160 + ")" +  "), " + "delta_x= " + 210 +  ",  delta_y= " + (20 + k) + ".");
+				writer.write(outputBuilder.toString() + System.lineSeparator());
+			}
+		} while (System.nanoTime() < end); 
+		return lines / ((System.nanoTime() - start) / 1e9); 
+	}
+	
+	
+	
+	/**
+	 * DiscardWriter Class:  Writer that only counts the characters written to it. 
+	 * */
+	private static final class DiscardWriter extends Writer {
+		
+		private long characters; 
+		
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			characters += length; 
+		}
+		
+		@Override
+		public void write(String text) {
+			characters += text.length(); 
+		}
+		
+		@Override
+		public void flush() {
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+}
@@ -0,0 +1,65 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class ReportLineFormatterTest {
+
+	private static final String NEW_LINE = System.lineSeparator(); 
+	
+	
+	//Tests for format(): 
+	@Test
+	public void testForTwoContributors() throws Exception {
+		ReportLineFormatter testFormatter = new ReportLineFormatter(); 
+		
+		testFormatter.format(1, 140, 160, 210, 20, ContributorSet.of(1, 3));
+		
+		assertEquals("1: Between rectangle 1, and 3 at (140,160)), delta_x= 210,  delta_y= 20." + NEW_LINE, testFormatter.toString());
+	}
+	
+	@Test
+	public void testForNegativeAndExtremeValues() throws Exception {
+		ReportLineFormatter testFormatter = new ReportLineFormatter(); 
+		
+		testFormatter.format(1000000000, -7, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, ContributorSet.of(9, 10, 99));
+		
+		assertEquals("1000000000: Between rectangle 9, 10, and 99 at (-7," + Integer.MIN_VALUE + ")), delta_x= " + Integer.MAX_VALUE 
+				+ ",  delta_y= 0." + NEW_LINE, testFormatter.toString());
+	}
+	
+	@Test
+	public void testForManyContributors() throws Exception {
+		ReportLineFormatter testFormatter = new ReportLineFormatter(); 
+		ContributorSet testContributors = new ContributorSet(); 
+		StringBuilder expectedLine = new StringBuilder("2: Between rectangle"); 
+		for (int id = 1; id <= 500; id++) {
+			testContributors.add(id); 
+			expectedLine.append(id == 500 ? " and 500" : " " + id + ","); 
+		}
+		expectedLine.append(" at (1,2)), delta_x= 3,  delta_y= 4.").append(NEW_LINE); 
+		
+		testFormatter.format(1, 0, 0, 1, 1, ContributorSet.of(1, 2));
+		testFormatter.format(2, 1, 2, 3, 4, testContributors);
+		
+		assertEquals(expectedLine.toString(), testFormatter.toString());
+	}
+	
+	
+	//Tests for writeTo(): 
+	@Test
+	public void testForWriteTo() throws Exception {
+		ReportLineFormatter testFormatter = new ReportLineFormatter(); 
+		StringWriter testWriter = new StringWriter(); 
+		
+		testFormatter.format(7, 160, 200, 210, 60, ContributorSet.of(2, 3, 4));
+		testFormatter.writeTo(testWriter);
+		
+		assertEquals("7: Between rectangle 2, 3, and 4 at (160,200)), delta_x= 210,  delta_y= 60." + NEW_LINE, testWriter.toString());
+	}
+	
+}
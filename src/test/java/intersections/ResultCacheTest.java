@@ -0,0 +1,261 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+
+	@TempDir
+	Path testDirectory; 
+	
+	
+	//Tests for Instance Creation: 
+	@Test
+	public void testForInvalidSize() throws Exception {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new ResultCache(0); 
+		});
+	}
+	
+	
+	//Tests for getIntersections(): 
+	@Test
+	public void testForSameResultsAsReporter() throws Exception {
+		ResultCache testCache = new ResultCache(4); 
+		
+		ArrayList<Rectangle> testResults = testCache.getIntersections(originalRectangles()); 
+		ArrayList<Rectangle> expectedResults = new IntersectionReporter(originalRectangles()).getIntersections(); 
+		
+		assertEquals(describeInOrder(expectedResults), describeInOrder(testResults));
+		assertEquals(1, testCache.getMisses());
+	}
+	
+	@Test
+	public void testForRenumberedInput() throws Exception {
+		ResultCache testCache = new ResultCache(4); 
+		testCache.getIntersections(originalRectangles()); 
+		
+		//Same geometry in the same order, with ids 10, 20, 30 and 40 for the original rectangles 1 to 4: 
+		ArrayList<Rectangle> renumberedRectangles = new ArrayList<Rectangle>(); 
+		for (Rectangle original : originalRectangles())
+			renumberedRectangles.add(new Rectangle(original.getDeltaX(), original.getDeltaY(), original.getX(), original.getY(), 10 * original.getId())); 
+		ArrayList<Rectangle> testResults = testCache.getIntersections(renumberedRectangles); 
+		
+		assertEquals(1, testCache.getHits());
+		assertEquals(7, testResults.size());
+		HashSet<String> testDescriptions = describe(testResults); 
+		assertTrue(testDescriptions.contains("140,160,210,20:[10, 30]"));
+		assertTrue(testDescriptions.contains("160,200,210,60:[20, 30, 40]"));
+	}
+	
+	@Test
+	public void testForReorderedInput() throws Exception {
+		Random random = new Random(18); 
+		for (int trial = 0; trial < 20; trial++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			for (int id = 1; id <= 12; id++)
+				testRectangles.add(new Rectangle(5 + random.nextInt(40), 5 + random.nextInt(40), 1 + random.nextInt(60), 1 + random.nextInt(60), id)); 
+			ArrayList<Rectangle> shuffledRectangles = new ArrayList<Rectangle>(testRectangles); 
+			Collections.shuffle(shuffledRectangles, random);
+			ResultCache testCache = new ResultCache(2); 
+			
+			//Generation mode results depend on the order, so each order has its own entry: 
+			testCache.getIntersections(testRectangles); 
+			ArrayList<Rectangle> testResults = testCache.getIntersections(shuffledRectangles); 
+			assertEquals(describeInOrder(new IntersectionReporter(shuffledRectangles).getIntersections()), describeInOrder(testResults));
+			assertEquals(describeInOrder(testResults), describeInOrder(testCache.getIntersections(shuffledRectangles)));
+			assertEquals(2, testCache.getMisses());
+			assertEquals(1, testCache.getHits());
+		}
+	}
+	
+	@Test
+	public void testForReorderedCliqueInput() throws Exception {
+		Random random = new Random(18); 
+		for (int trial = 0; trial < 20; trial++) {
+			ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+			for (int id = 1; id <= 12; id++)
+				testRectangles.add(new Rectangle(5 + random.nextInt(40), 5 + random.nextInt(40), 1 + random.nextInt(60), 1 + random.nextInt(60), id)); 
+			ArrayList<Rectangle> shuffledRectangles = new ArrayList<Rectangle>(testRectangles); 
+			Collections.shuffle(shuffledRectangles, random);
+			ResultCache testCache = new ResultCache(2); 
+			
+			//Clique mode results do not depend on the order, so each order shares one entry: 
+			testCache.getIntersections(testRectangles, "--mode=clique"); 
+			ArrayList<Rectangle> testResults = testCache.getIntersections(shuffledRectangles, "--mode=clique"); 
+			IntersectionReporter reporter = new IntersectionReporter(shuffledRectangles); 
+			reporter.setCliqueSearch(true);
+			assertEquals(describe(reporter.getIntersections()), describe(testResults));
+			assertEquals(testResults.size(), describe(testResults).size());
+			assertEquals(1, testCache.getMisses());
+			assertEquals(1, testCache.getHits());
+		}
+	}
+	
+	@Test
+	public void testForSharedIdsInCliqueMode() throws Exception {
+		//Rectangles 1 and 3 share an id, given last and first: 
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		testRectangles.set(2, new Rectangle(250, 100, 140, 160, 1)); 
+		ArrayList<Rectangle> reversedRectangles = new ArrayList<Rectangle>(testRectangles); 
+		Collections.reverse(reversedRectangles);
+		ResultCache testCache = new ResultCache(4); 
+		
+		testCache.getIntersections(testRectangles, "--mode=clique"); 
+		ArrayList<Rectangle> testResults = testCache.getIntersections(reversedRectangles, "--mode=clique"); 
+		
+		IntersectionReporter reporter = new IntersectionReporter(reversedRectangles); 
+		reporter.setCliqueSearch(true);
+		assertEquals(describe(reporter.getIntersections()), describe(testResults));
+		assertEquals(1, testCache.getHits());
+	}
+	
+	@Test
+	public void testForSharedIds() throws Exception {
+		//Rectangles 1 and 3 share an id, so their intersection has a single contributor, as without the cache: 
+		ArrayList<Rectangle> testRectangles = originalRectangles(); 
+		testRectangles.set(2, new Rectangle(250, 100, 140, 160, 1)); 
+		ResultCache testCache = new ResultCache(4); 
+		
+		ArrayList<Rectangle> testResults = testCache.getIntersections(testRectangles); 
+		
+		assertEquals(describeInOrder(new IntersectionReporter(testRectangles).getIntersections()), describeInOrder(testResults));
+		assertEquals(describeInOrder(testResults), describeInOrder(testCache.getIntersections(testRectangles)));
+		assertEquals(1, testCache.getHits());
+	}
+	
+	@Test
+	public void testForIncompleteResults() throws Exception {
+		ResultCache testCache = new ResultCache(4); 
+		
+		ArrayList<Rectangle> testResults = testCache.getIntersections(originalRectangles(), "--max-intersections=3"); 
+		testCache.getIntersections(originalRectangles(), "--max-intersections=3"); 
+		
+		IntersectionReporter reporter = new IntersectionReporter(originalRectangles()); 
+		reporter.setMaxIntersections(3);
+		assertEquals(describeInOrder(reporter.getIntersections()), describeInOrder(testResults));
+		assertEquals(0, testCache.size());
+		assertEquals(0, testCache.getHits());
+		assertEquals(2, testCache.getMisses());
+	}
+	
+	@Test
+	public void testForOptionsInKey() throws Exception {
+		ResultCache testCache = new ResultCache(4); 
+		
+		assertEquals(7, testCache.getIntersections(originalRectangles()).size());
+		IntersectionReporter reporter = new IntersectionReporter(originalRectangles()); 
+		reporter.setMaxContributors(2);
+		assertEquals(reporter.getIntersections().size(), testCache.getIntersections(originalRectangles(), "--max-contributors=2").size());
+		assertEquals(2, testCache.getMisses());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			testCache.getIntersections(originalRectangles(), "--unknown"); 
+		});
+	}
+	
+	@Test
+	public void testForLeastRecentlyUsedEviction() throws Exception {
+		ResultCache testCache = new ResultCache(2); 
+		ArrayList<Rectangle> first = originalRectangles(); 
+		ArrayList<Rectangle> second = shifted(1); 
+		ArrayList<Rectangle> third = shifted(2); 
+		
+		testCache.getIntersections(first); 
+		testCache.getIntersections(second); 
+		testCache.getIntersections(first); 
+		testCache.getIntersections(third); 
+		testCache.getIntersections(first); 
+		testCache.getIntersections(second); 
+		
+		assertEquals(2, testCache.size());
+		assertEquals(2, testCache.getEvictions());
+		assertEquals(2, testCache.getHits());
+		assertEquals(4, testCache.getMisses());
+	}
+	
+	@Test
+	public void testForSpillDirectory() throws Exception {
+		Path spillDirectory = testDirectory.resolve("spill"); 
+		ResultCache testCache = new ResultCache(1, spillDirectory); 
+		
+		testCache.getIntersections(originalRectangles()); 
+		testCache.getIntersections(shifted(1)); 
+		ArrayList<Rectangle> testResults = testCache.getIntersections(originalRectangles()); 
+		
+		assertEquals(1, testCache.getSpillHits());
+		assertEquals(2, testCache.getMisses());
+		assertEquals(describe(new IntersectionReporter(originalRectangles()).getIntersections()), describe(testResults));
+		
+		//The file read back is removed, leaving the one of the entry evicted by it: 
+		assertEquals(1, Files.list(spillDirectory).count());
+	}
+	
+	@Test
+	public void testForSpillBound() throws Exception {
+		Path spillDirectory = testDirectory.resolve("spill"); 
+		ResultCache testCache = new ResultCache(1, spillDirectory, 2); 
+		
+		for (int offset = 0; offset < 6; offset++)
+			testCache.getIntersections(shifted(offset)); 
+		assertEquals(2, Files.list(spillDirectory).count());
+		
+		//The two most recently evicted entries are kept, the older ones are computed again: 
+		testCache.getIntersections(shifted(4)); 
+		testCache.getIntersections(shifted(0)); 
+		assertEquals(1, testCache.getSpillHits());
+		assertEquals(7, testCache.getMisses());
+		assertEquals(2, Files.list(spillDirectory).count());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new ResultCache(1, spillDirectory, 0); 
+		});
+	}
+	
+	
+	private static HashSet<String> describe(ArrayList<Rectangle> rectangles) {
+		HashSet<String> descriptions = new HashSet<String>(); 
+		for (Rectangle rectangle : rectangles)
+			descriptions.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY() 
+				+ ":" + rectangle.getContributorSet().toList()); 
+		return descriptions; 
+	}
+	
+	private static ArrayList<String> describeInOrder(ArrayList<Rectangle> rectangles) {
+		ArrayList<String> descriptions = new ArrayList<String>(); 
+		for (Rectangle rectangle : rectangles)
+			descriptions.add(rectangle.getX() + "," + rectangle.getY() + "," + rectangle.getDeltaX() + "," + rectangle.getDeltaY() 
+				+ ":" + rectangle.getContributorSet().toList()); 
+		return descriptions; 
+	}
+	
+	private static ArrayList<Rectangle> shifted(int offset) {
+		ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>(); 
+		for (Rectangle rectangle : originalRectangles())
+			rectangles.add(new Rectangle(rectangle.getDeltaX(), rectangle.getDeltaY(), rectangle.getX() + offset, rectangle.getY(), rectangle.getId())); 
+		return rectangles; 
+	}
+	
+	/**
+	 * Input rectangles of the original example, numbered 1 to 4. 
+	 * */
+	private static ArrayList<Rectangle> originalRectangles() {
+		ArrayList<Rectangle> testRectangles = new ArrayList<Rectangle>(); 
+		testRectangles.add(new Rectangle(250, 80, 100, 100, 1)); 
+		testRectangles.add(new Rectangle(250, 150, 120, 200, 2)); 
+		testRectangles.add(new Rectangle(250, 100, 140, 160, 3)); 
+		testRectangles.add(new Rectangle(350, 190, 160, 140, 4)); 
+		return testRectangles; 
+	}
+	
+}
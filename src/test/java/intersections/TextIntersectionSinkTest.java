@@ -0,0 +1,50 @@
+package intersections;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TextIntersectionSinkTest {
+
+	private static final String NEW_LINE = System.lineSeparator(); 
+	
+	
+	//Tests for Instance Creation: 
+	@Test
+	public void testForNullWriter() throws Exception {
+		Assertions.assertThrows(NullPointerException.class, () -> {
+			new TextIntersectionSink(null); 
+		});
+	}
+	
+	
+	//Tests for accept() and flush(): 
+	@Test
+	public void testForPrintIntersectionsFormat() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		TextIntersectionSink testSink = new TextIntersectionSink(testWriter); 
+		
+		testSink.accept(140, 160, 210, 20, ContributorSet.of(1, 3));
+		testSink.accept(160, 200, 210, 130, ContributorSet.of(2, 3, 4));
+		testSink.flush();
+		
+		assertEquals("Intersections: " + NEW_LINE
+				+ "1: Between rectangle 1, and 3 at (140,160)), delta_x= 210,  delta_y= 20." + NEW_LINE
+				+ "2: Between rectangle 2, 3, and 4 at (160,200)), delta_x= 210,  delta_y= 130." + NEW_LINE, testWriter.toString());
+	}
+	
+	@Test
+	public void testForEmptyOutput() throws Exception {
+		StringWriter testWriter = new StringWriter(); 
+		TextIntersectionSink testSink = new TextIntersectionSink(testWriter); 
+		
+		testSink.flush();
+		
+		assertEquals("Intersections: " + NEW_LINE, testWriter.toString());
+	}
+	
+}